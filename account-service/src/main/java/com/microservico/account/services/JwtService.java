@@ -1,6 +1,7 @@
 package com.microservico.account.services;
 
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureAlgorithm;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
@@ -10,6 +11,10 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.KeyFactory;
 import java.security.PrivateKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.EdECPrivateKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.spec.InvalidKeySpecException;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.time.Instant;
 import java.util.Base64;
@@ -17,17 +22,28 @@ import java.util.Date;
 
 @Service
 public class JwtService {
+
+    // Tipos de chave aceitos; o algoritmo de assinatura é escolhido pelo tipo carregado
+    private static final String[] KEY_ALGORITHMS = {"RSA", "EC", "Ed25519"};
+
     @Value("${jwt.private-key-path}")
     private Resource privateKeyResource;
 
     @Value("${jwt.ttl-seconds:3600}")
     private long ttlSeconds;
 
+    // kid enviado no header; o gateway usa esse valor para escolher a chave de verificação
+    @Value("${jwt.key-id:}")
+    private String keyId;
+
     private PrivateKey privateKey;
 
+    private SignatureAlgorithm algorithm;
+
     @PostConstruct
     public void init() {
         this.privateKey = loadPrivateKey();
+        this.algorithm = algorithmFor(privateKey);
     }
 
     private PrivateKey loadPrivateKey() {
@@ -43,24 +59,67 @@ public class JwtService {
 
             var decodedKeyBytes = Base64.getDecoder().decode(pem);
             var keySpec = new PKCS8EncodedKeySpec(decodedKeyBytes);
-            return KeyFactory.getInstance("RSA").generatePrivate(keySpec);
+            return generatePrivate(keySpec);
 
         } catch (Exception e) {
             throw new IllegalStateException("Falha ao carregar RSA private key", e);
         }
     }
 
+    /**
+     * O PKCS#8 identifica o tipo da chave; cada KeyFactory rejeita os tipos que não reconhece.
+     */
+    private static PrivateKey generatePrivate(PKCS8EncodedKeySpec keySpec) throws Exception {
+        InvalidKeySpecException last = null;
+        for (String keyAlgorithm : KEY_ALGORITHMS) {
+            try {
+                return KeyFactory.getInstance(keyAlgorithm).generatePrivate(keySpec);
+            } catch (InvalidKeySpecException e) {
+                last = e;
+            }
+        }
+        throw last;
+    }
+
+    /**
+     * RS256 para chaves RSA (tokens legados), ES256/ES384/ES512 conforme a curva EC
+     * e EdDSA para Ed25519. ES256 e EdDSA assinam bem mais rápido que RSA-2048 e geram
+     * assinaturas de 64 bytes em vez de 256.
+     */
+    static SignatureAlgorithm algorithmFor(PrivateKey key) {
+        if (key instanceof RSAPrivateKey) {
+            return Jwts.SIG.RS256;
+        }
+        if (key instanceof ECPrivateKey ec) {
+            return switch (ec.getParams().getCurve().getField().getFieldSize()) {
+                case 256 -> Jwts.SIG.ES256;
+                case 384 -> Jwts.SIG.ES384;
+                case 521 -> Jwts.SIG.ES512;
+                default -> throw new IllegalStateException("Curva EC não suportada para assinatura de JWT");
+            };
+        }
+        if (key instanceof EdECPrivateKey) {
+            return Jwts.SIG.EdDSA;
+        }
+        throw new IllegalStateException("Tipo de chave não suportado para assinatura de JWT: " + key.getAlgorithm());
+    }
+
     public String generateToken(Long userId, String email, String role) {
         var now = Instant.now();
         var exp = now.plusSeconds(ttlSeconds);
 
-        return Jwts.builder()
+        var builder = Jwts.builder();
+        if (keyId != null && !keyId.isBlank()) {
+            builder = builder.header().keyId(keyId).and();
+        }
+
+        return builder
                 .subject(String.valueOf(userId))
                 .claim("email", email)
                 .claim("role", role)
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(exp))
-                .signWith(privateKey, Jwts.SIG.RS256)
+                .signWith(privateKey, algorithm)
                 .compact();
     }
 }
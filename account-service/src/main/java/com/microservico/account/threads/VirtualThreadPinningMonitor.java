@@ -0,0 +1,116 @@
+package com.microservico.account.threads;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Ativo com {@code spring.threads.virtual.enabled=true}: acompanha via JFR o evento
+ * {@code jdk.VirtualThreadPinned}, emitido quando uma virtual thread bloqueia sem liberar a carrier
+ * (ex.: I/O dentro de {@code synchronized}, comum em drivers JDBC). O ponto de código de cada
+ * ocorrência acima do limiar é registrado em log com a pilha resumida.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@EnableConfigurationProperties(PinningMonitorProperties.class)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private final PinningMonitorProperties properties;
+    private final ConcurrentMap<String, LogWindow> logWindows = new ConcurrentHashMap<>();
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(PinningMonitorProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(properties.threshold()).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::report);
+        recording.startAsync();
+        stream = recording;
+        log.info("Monitorando virtual threads presas à carrier por mais de {}ms", properties.threshold().toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void report(RecordedEvent event) {
+        List<RecordedFrame> frames = frames(event.getStackTrace());
+        String site = frames.isEmpty() ? "desconhecido" : describe(frames.getFirst());
+        long suppressed = logWindows.computeIfAbsent(site, key -> new LogWindow()).tryOpen(properties.logInterval().toNanos());
+        if (suppressed < 0) {
+            return;
+        }
+        log.warn("Virtual thread presa à carrier por {}ms em {} ({} ocorrências omitidas desde o último aviso):\n\t{}",
+                event.getDuration().toMillis(), site, suppressed,
+                frames.stream().map(VirtualThreadPinningMonitor::describe).collect(Collectors.joining("\n\t")));
+    }
+
+    private List<RecordedFrame> frames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return List.of();
+        }
+        return stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .limit(properties.stackDepth())
+                .toList();
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+
+    /**
+     * Limita os avisos de um mesmo ponto de código a um por intervalo, contando os omitidos.
+     */
+    private static final class LogWindow {
+
+        private final AtomicLong nextLogNanos = new AtomicLong(System.nanoTime());
+        private final AtomicLong suppressed = new AtomicLong();
+
+        /**
+         * @return ocorrências omitidas desde o último aviso, ou -1 se este também deve ser omitido
+         */
+        long tryOpen(long intervalNanos) {
+            long now = System.nanoTime();
+            long next = nextLogNanos.get();
+            if (now - next >= 0 && nextLogNanos.compareAndSet(next, now + intervalNanos)) {
+                return suppressed.getAndSet(0);
+            }
+            suppressed.incrementAndGet();
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.microservice.gateway.accesslog;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "gateway.access-log")
+public record AccessLogProperties(
+        boolean enabled,
+        String path,
+        int bufferCapacity,
+        long maxFileSizeBytes,
+        int maxHistory) {
+
+    public AccessLogProperties {
+        if (path == null || path.isBlank()) path = "logs/access.log";
+        if (bufferCapacity <= 0) bufferCapacity = 8192;
+        if (maxFileSizeBytes <= 0) maxFileSizeBytes = 50L * 1024 * 1024;
+        if (maxHistory <= 0) maxHistory = 5;
+    }
+}
@@ -0,0 +1,48 @@
+package com.microservice.gateway.accesslog;
+
+/**
+ * Slot pré-alocado do {@link AccessLogRingBuffer}. Os campos são reescritos a cada
+ * requisição, portanto nenhuma instância é criada no caminho quente.
+ */
+final class AccessLogRecord {
+
+    long timestampMillis;
+    String method;
+    String routeId;
+    int status;
+    long latencyNanos;
+    String userId;
+    long bytes;
+
+    void set(long timestampMillis, String method, String routeId, int status,
+             long latencyNanos, String userId, long bytes) {
+        this.timestampMillis = timestampMillis;
+        this.method = method;
+        this.routeId = routeId;
+        this.status = status;
+        this.latencyNanos = latencyNanos;
+        this.userId = userId;
+        this.bytes = bytes;
+    }
+
+    void clear() {
+        this.method = null;
+        this.routeId = null;
+        this.userId = null;
+    }
+
+    /**
+     * Formato compacto, separado por espaços:
+     * {@code <epochMillis> <method> <routeId> <status> <latencyMicros> <userId> <bytes>}
+     */
+    void appendTo(StringBuilder line) {
+        line.append(timestampMillis).append(' ')
+                .append(method).append(' ')
+                .append(routeId == null ? "-" : routeId).append(' ')
+                .append(status).append(' ')
+                .append(latencyNanos / 1_000).append(' ')
+                .append(userId == null ? "-" : userId).append(' ')
+                .append(bytes < 0 ? "-" : Long.toString(bytes))
+                .append('\n');
+    }
+}
@@ -0,0 +1,95 @@
+package com.microservice.gateway.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Fila circular limitada, sem locks, para múltiplos produtores (event loops do Netty)
+ * e um único consumidor (thread de escrita do access log).
+ * <p>
+ * Cada slot tem um número de sequência que indica se está livre para o produtor da
+ * volta atual ou publicado para o consumidor. Quando a fila está cheia o registro é
+ * descartado e contabilizado em {@link #dropped()}, nunca bloqueando a requisição.
+ */
+final class AccessLogRingBuffer {
+
+    private final AccessLogRecord[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    private final LongAdder dropped = new LongAdder();
+
+    AccessLogRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.slots = new AccessLogRecord[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new AccessLogRecord();
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(long timestampMillis, String method, String routeId, int status,
+                  long latencyNanos, String userId, long bytes) {
+        long position = tail.get();
+        int index;
+        for (; ; ) {
+            index = (int) (position & mask);
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                dropped.increment();
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+
+        slots[index].set(timestampMillis, method, routeId, status, latencyNanos, userId, bytes);
+        sequences.setRelease(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Consome até {@code max} registros publicados. Deve ser chamado sempre pela mesma thread.
+     *
+     * @return quantidade de registros consumidos
+     */
+    int drain(Consumer<AccessLogRecord> consumer, int max) {
+        int drained = 0;
+        while (drained < max) {
+            long position = head;
+            int index = (int) (position & mask);
+            if (sequences.getAcquire(index) != position + 1) {
+                break;
+            }
+
+            AccessLogRecord slot = slots[index];
+            consumer.accept(slot);
+            slot.clear();
+
+            sequences.setRelease(index, position + slots.length);
+            head = position + 1;
+            drained++;
+        }
+        return drained;
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+}
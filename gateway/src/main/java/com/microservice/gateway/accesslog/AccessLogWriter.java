@@ -0,0 +1,159 @@
+package com.microservice.gateway.accesslog;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Access log assíncrono do gateway. Os filtros apenas publicam registros no
+ * {@link AccessLogRingBuffer}; uma thread dedicada drena a fila e grava as linhas
+ * em um arquivo com rotação por tamanho.
+ */
+@Component
+@EnableConfigurationProperties(AccessLogProperties.class)
+public class AccessLogWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(AccessLogWriter.class);
+
+    private static final int DRAIN_BATCH_SIZE = 512;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long DROP_REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final AccessLogProperties properties;
+    private final AccessLogRingBuffer buffer;
+    private final StringBuilder line = new StringBuilder(128);
+
+    private RollingFileWriter fileWriter;
+    private Thread drainThread;
+    private volatile boolean running;
+    private long reportedDrops;
+    private long lastDropReportNanos;
+
+    public AccessLogWriter(AccessLogProperties properties) {
+        this.properties = properties;
+        this.buffer = new AccessLogRingBuffer(properties.bufferCapacity());
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.enabled()) {
+            log.info("Access log desabilitado (gateway.access-log.enabled=false)");
+            return;
+        }
+
+        try {
+            this.fileWriter = new RollingFileWriter(Path.of(properties.path()),
+                    properties.maxFileSizeBytes(), properties.maxHistory());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir arquivo de access log: " + properties.path(), e);
+        }
+
+        this.running = true;
+        this.drainThread = Thread.ofPlatform()
+                .name("gateway-access-log")
+                .daemon(true)
+                .start(this::drainLoop);
+        log.info("Access log assíncrono gravando em {} (buffer de {} registros)",
+                properties.path(), buffer.capacity());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(drainThread);
+        try {
+            drainThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Publica um registro sem bloquear. Retorna {@code false} quando o access log está
+     * desabilitado ou quando a fila está cheia (o descarte é contabilizado).
+     */
+    public boolean record(String method, String routeId, int status,
+                          long latencyNanos, String userId, long bytes) {
+        if (!running) {
+            return false;
+        }
+        return buffer.offer(System.currentTimeMillis(), method, routeId, status, latencyNanos, userId, bytes);
+    }
+
+    public long getDroppedCount() {
+        return buffer.dropped();
+    }
+
+    private void drainLoop() {
+        try {
+            while (running) {
+                if (drainOnce() == 0) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+            // Esvazia o que restou antes de encerrar
+            while (drainOnce() > 0) {
+                // continua até a fila ficar vazia
+            }
+        } finally {
+            closeQuietly();
+        }
+    }
+
+    int drainOnce() {
+        int drained = buffer.drain(this::write, DRAIN_BATCH_SIZE);
+        if (drained > 0) {
+            try {
+                fileWriter.flush();
+            } catch (IOException e) {
+                log.error("Falha ao gravar access log: {}", e.getMessage());
+            }
+        }
+        reportDrops();
+        return drained;
+    }
+
+    private void write(AccessLogRecord entry) {
+        line.setLength(0);
+        entry.appendTo(line);
+        try {
+            fileWriter.write(line);
+        } catch (IOException e) {
+            log.error("Falha ao gravar access log: {}", e.getMessage());
+        }
+    }
+
+    private void reportDrops() {
+        long now = System.nanoTime();
+        if (now - lastDropReportNanos < DROP_REPORT_INTERVAL_NANOS) {
+            return;
+        }
+        lastDropReportNanos = now;
+
+        long drops = buffer.dropped();
+        if (drops != reportedDrops) {
+            log.warn("Access log descartou {} registros por fila cheia (total: {})", drops - reportedDrops, drops);
+            reportedDrops = drops;
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            fileWriter.close();
+        } catch (IOException e) {
+            log.error("Falha ao fechar access log: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.microservice.gateway.accesslog;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Escritor de arquivo com rotação por tamanho: {@code access.log} é renomeado para
+ * {@code access.log.1}, os anteriores avançam um índice e o mais antigo é removido.
+ * Não é thread-safe; é usado apenas pela thread de escrita do access log.
+ */
+final class RollingFileWriter implements Closeable {
+
+    private final Path file;
+    private final long maxFileSizeBytes;
+    private final int maxHistory;
+
+    private BufferedWriter writer;
+    private long currentSize;
+
+    RollingFileWriter(Path file, long maxFileSizeBytes, int maxHistory) throws IOException {
+        this.file = file;
+        this.maxFileSizeBytes = maxFileSizeBytes;
+        this.maxHistory = maxHistory;
+        open();
+    }
+
+    void write(CharSequence line) throws IOException {
+        long lineBytes = utf8Length(line);
+        if (currentSize + lineBytes > maxFileSizeBytes && currentSize > 0) {
+            roll();
+        }
+        writer.append(line);
+        currentSize += lineBytes;
+    }
+
+    void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void open() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.currentSize = Files.size(file);
+    }
+
+    private void roll() throws IOException {
+        writer.close();
+
+        Files.deleteIfExists(historyFile(maxHistory));
+        for (int i = maxHistory - 1; i >= 1; i--) {
+            Path source = historyFile(i);
+            if (Files.exists(source)) {
+                Files.move(source, historyFile(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        // AccessLogProperties garante maxHistory >= 1
+        Files.move(file, historyFile(1), StandardCopyOption.REPLACE_EXISTING);
+
+        open();
+    }
+
+    /**
+     * Tamanho da linha em bytes UTF-8, calculado sem codificar a string: o limite do
+     * arquivo é em bytes e rotas ou usuários com caracteres não ASCII ocupam mais de um.
+     */
+    static long utf8Length(CharSequence text) {
+        long bytes = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                bytes += 1; // surrogate isolado vira '?' no encoder UTF-8
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private Path historyFile(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+}
@@ -0,0 +1,42 @@
+package com.microservice.gateway.batch;
+
+import com.microservice.gateway.support.ClientAddressResolver;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+
+/**
+ * Agrupa várias chamadas à API em uma única ida e volta (ex.: os produtos e as vendas de uma tela
+ * do app). Cada sub-resposta é enviada assim que fica pronta: em NDJSON, uma linha por resposta;
+ * em JSON, como elementos de um array escrito incrementalmente.
+ */
+@RestController
+public class BatchController {
+
+    private final BatchExecutor executor;
+    private final ClientAddressResolver clientAddressResolver;
+
+    public BatchController(BatchExecutor executor, ClientAddressResolver clientAddressResolver) {
+        this.executor = executor;
+        this.clientAddressResolver = clientAddressResolver;
+    }
+
+    @PostMapping(path = BatchExecutor.BATCH_PATH,
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<BatchResponseItem> batch(@RequestBody BatchRequest request, ServerWebExchange exchange) {
+        if (!executor.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        // Sub-requisição de outro lote, qualquer que seja a grafia do path que chegou aqui
+        if (exchange.getRequest().getHeaders().containsKey(BatchExecutor.LOOPBACK_HEADER)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Lotes aninhados não são permitidos");
+        }
+        return executor.execute(request.requests(), BatchOrigin.of(exchange.getRequest(), clientAddressResolver));
+    }
+}
@@ -0,0 +1,244 @@
+package com.microservice.gateway.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice.gateway.deadline.DeadlineGlobalFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerInitializedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Executa as sub-requisições de um lote contra o próprio gateway (loopback HTTP na porta local),
+ * de modo que cada uma passe pelo pipeline normal: autenticação JWT, rate limiting, deadline,
+ * cache, circuit breaker e balanceamento. O paralelismo por lote é limitado por
+ * {@link BatchProperties#concurrency()} e os resultados são emitidos na ordem em que terminam.
+ */
+@Component
+@EnableConfigurationProperties(BatchProperties.class)
+public class BatchExecutor {
+
+    static final String BATCH_PATH = "/api/batch";
+
+    /** Marca as chamadas de loopback do lote; o {@link BatchController} recusa lotes que o trazem. */
+    static final String LOOPBACK_HEADER = "X-Gateway-Batch";
+
+    private static final Logger log = LoggerFactory.getLogger(BatchExecutor.class);
+
+    private static final Set<HttpMethod> ALLOWED_METHODS =
+            Set.of(HttpMethod.GET, HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+
+    // Headers definidos pelo próprio lote ou pela conexão de loopback, nunca pela sub-requisição
+    private static final Set<String> RESERVED_REQUEST_HEADERS = Set.of(
+            "host", "content-length", "connection", "transfer-encoding", "keep-alive", "upgrade", "te",
+            "authorization", "x-forwarded-for", "forwarded", DeadlineGlobalFilter.TIMEOUT_HEADER.toLowerCase(Locale.ROOT),
+            LOOPBACK_HEADER.toLowerCase(Locale.ROOT));
+
+    private static final List<String> FORWARDED_RESPONSE_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG, HttpHeaders.CACHE_CONTROL, HttpHeaders.LOCATION,
+            HttpHeaders.RETRY_AFTER, "X-Cache", "X-Fallback-Reason");
+
+    private final BatchProperties properties;
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+    private final DistributionSummary batchSize;
+    private final Counter failedCalls;
+
+    private volatile String baseUrl;
+
+    public BatchExecutor(BatchProperties properties, WebClient.Builder webClientBuilder,
+                         ObjectMapper objectMapper, MeterRegistry registry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.webClient = webClientBuilder
+                .codecs(codecs -> codecs.defaultCodecs()
+                        .maxInMemorySize((int) Math.min(Integer.MAX_VALUE, properties.maxResponseBytes())))
+                .build();
+        this.batchSize = DistributionSummary.builder("gateway.batch.size")
+                .description("Sub-requisições por chamada a /api/batch")
+                .register(registry);
+        this.failedCalls = Counter.builder("gateway.batch.failed.calls")
+                .description("Sub-requisições que não obtiveram resposta do gateway (erro de conexão ou corpo acima do limite)")
+                .register(registry);
+    }
+
+    /**
+     * A porta real do servidor: {@code getLocalAddress()} da requisição reflete
+     * X-Forwarded-Host/Port quando o gateway está atrás de um balanceador.
+     */
+    @EventListener
+    public void onWebServerInitialized(ReactiveWebServerInitializedEvent event) {
+        this.baseUrl = "http://127.0.0.1:" + event.getWebServer().getPort();
+    }
+
+    void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    public Flux<BatchResponseItem> execute(List<BatchRequest.Item> items, BatchOrigin origin) {
+        validate(items);
+        batchSize.record(items.size());
+
+        return Flux.range(0, items.size())
+                .flatMap(index -> call(index, items.get(index), origin), properties.concurrency());
+    }
+
+    private void validate(List<BatchRequest.Item> items) {
+        if (items == null || items.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O lote deve conter ao menos uma requisição");
+        }
+        if (items.size() > properties.maxRequests()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "O lote aceita no máximo " + properties.maxRequests() + " requisições");
+        }
+        for (BatchRequest.Item item : items) {
+            String path = item == null ? null : item.path();
+            // Apenas paths locais: impede usar o lote para alcançar outros hosts ou aninhar lotes
+            if (path == null || !path.startsWith("/") || path.startsWith("//")
+                    || normalizedPath(path).startsWith(BATCH_PATH)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Path inválido para o lote: " + path);
+            }
+            if (!ALLOWED_METHODS.contains(methodOf(item))) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Método não permitido no lote: " + item.method());
+            }
+        }
+    }
+
+    /**
+     * Path decodificado e normalizado ({@code /api/%62atch}, {@code /api/./batch} e
+     * {@code /api//batch} viram {@code /api/batch}). O header {@link #LOOPBACK_HEADER}
+     * continua sendo a proteção definitiva contra lotes aninhados.
+     */
+    static String normalizedPath(String path) {
+        try {
+            String decoded = URI.create(path).getPath();
+            String normalized = new URI(null, null, decoded, null).normalize().getPath();
+            return normalized.replaceAll("/{2,}", "/");
+        } catch (IllegalArgumentException | URISyntaxException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Path inválido para o lote: " + path);
+        }
+    }
+
+    private Mono<BatchResponseItem> call(int index, BatchRequest.Item item, BatchOrigin origin) {
+        String id = item.id() != null ? item.id() : Integer.toString(index);
+
+        return Mono.defer(() -> {
+            long remainingMillis = origin.hasDeadline() ? origin.remainingMillis() : Long.MAX_VALUE;
+            if (remainingMillis <= 0) {
+                // Ficou na fila do lote além do orçamento do cliente
+                return Mono.just(errorItem(id, HttpStatus.GATEWAY_TIMEOUT, "Deadline do lote esgotado"));
+            }
+
+            WebClient.RequestBodySpec request = webClient.method(methodOf(item))
+                    .uri(URI.create(baseUrl + item.path()))
+                    .headers(headers -> {
+                        if (item.headers() != null) {
+                            item.headers().forEach((name, value) -> {
+                                if (!RESERVED_REQUEST_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                                    headers.set(name, value);
+                                }
+                            });
+                        }
+                        headers.addAll(origin.headers());
+                        headers.set(LOOPBACK_HEADER, "true");
+                        if (remainingMillis != Long.MAX_VALUE) {
+                            headers.set(DeadlineGlobalFilter.TIMEOUT_HEADER, Long.toString(remainingMillis));
+                        }
+                    });
+
+            WebClient.RequestHeadersSpec<?> withBody = request;
+            if (item.body() != null && !item.body().isNull()) {
+                withBody = request.contentType(MediaType.APPLICATION_JSON).bodyValue(item.body());
+            }
+            return withBody.exchangeToMono(response -> toItem(id, response));
+        }).onErrorResume(e -> {
+            failedCalls.increment();
+            if (e instanceof DataBufferLimitException) {
+                return Mono.just(errorItem(id, HttpStatus.BAD_GATEWAY,
+                        "Resposta acima de " + properties.maxResponseBytes() + " bytes"));
+            }
+            log.debug("Falha na sub-requisição {} do lote: {}", id, e.toString());
+            return Mono.just(errorItem(id, HttpStatus.BAD_GATEWAY, "Falha ao executar a requisição"));
+        });
+    }
+
+    private Mono<BatchResponseItem> toItem(String id, ClientResponse response) {
+        HttpHeaders upstream = response.headers().asHttpHeaders();
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : FORWARDED_RESPONSE_HEADERS) {
+            String value = upstream.getFirst(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+
+        MediaType contentType = upstream.getContentType();
+        return response.bodyToMono(byte[].class)
+                .map(bytes -> new BatchResponseItem(id, response.statusCode().value(), headers, rawBody(bytes, contentType)))
+                .defaultIfEmpty(new BatchResponseItem(id, response.statusCode().value(), headers, "null"));
+    }
+
+    /**
+     * JSON é repassado sem desserializar; outros tipos viram uma string JSON.
+     */
+    private String rawBody(byte[] bytes, MediaType contentType) {
+        if (bytes.length == 0) {
+            return "null";
+        }
+        if (contentType != null && (MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                || contentType.getSubtype().endsWith("+json"))) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        Charset charset = contentType != null && contentType.getCharset() != null
+                ? contentType.getCharset()
+                : StandardCharsets.UTF_8;
+        return jsonString(new String(bytes, charset));
+    }
+
+    private BatchResponseItem errorItem(String id, HttpStatus status, String message) {
+        return new BatchResponseItem(id, status.value(),
+                Map.of(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE),
+                "{\"error\":" + jsonString(message) + "}");
+    }
+
+    private String jsonString(String value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static HttpMethod methodOf(BatchRequest.Item item) {
+        return item.method() == null ? HttpMethod.GET : HttpMethod.valueOf(item.method().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,58 @@
+package com.microservice.gateway.batch;
+
+import com.microservice.gateway.deadline.DeadlineGlobalFilter;
+import com.microservice.gateway.support.ClientAddressResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * O que as sub-requisições herdam do {@code POST /api/batch}: credenciais, endereço do
+ * cliente (para o rate limiting por IP) e o deadline informado pelo cliente, se houver.
+ *
+ * @param headers       headers copiados para todas as sub-requisições
+ * @param deadlineNanos instante ({@link System#nanoTime()}) em que o orçamento do cliente acaba; 0 se não houver
+ */
+record BatchOrigin(HttpHeaders headers, long deadlineNanos) {
+
+    static BatchOrigin of(ServerHttpRequest request, ClientAddressResolver clientAddressResolver) {
+        HttpHeaders incoming = request.getHeaders();
+        HttpHeaders headers = new HttpHeaders();
+
+        String authorization = incoming.getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization != null) {
+            headers.set(HttpHeaders.AUTHORIZATION, authorization);
+        }
+
+        // O endereço já resolvido, não o header do cliente: o loopback é um proxy confiável
+        String clientAddress = clientAddressResolver.resolve(request);
+        if (clientAddress != null) {
+            headers.set("X-Forwarded-For", clientAddress);
+        }
+
+        String acceptLanguage = incoming.getFirst(HttpHeaders.ACCEPT_LANGUAGE);
+        if (acceptLanguage != null) {
+            headers.set(HttpHeaders.ACCEPT_LANGUAGE, acceptLanguage);
+        }
+
+        long deadlineNanos = 0;
+        String timeout = incoming.getFirst(DeadlineGlobalFilter.TIMEOUT_HEADER);
+        if (timeout != null) {
+            try {
+                deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Long.parseLong(timeout.trim()));
+            } catch (NumberFormatException ignored) {
+                // header inválido: as sub-requisições usam apenas o orçamento de cada rota
+            }
+        }
+        return new BatchOrigin(HttpHeaders.readOnlyHttpHeaders(headers), deadlineNanos);
+    }
+
+    boolean hasDeadline() {
+        return deadlineNanos != 0;
+    }
+
+    long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+    }
+}
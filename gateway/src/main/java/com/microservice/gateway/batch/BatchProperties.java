@@ -0,0 +1,23 @@
+package com.microservice.gateway.batch;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param enabled           liga/desliga o endpoint {@code POST /api/batch}
+ * @param maxRequests       máximo de sub-requisições aceitas em um lote
+ * @param concurrency       sub-requisições executadas em paralelo por lote
+ * @param maxResponseBytes  limite do corpo de cada sub-resposta mantido em memória
+ */
+@ConfigurationProperties(prefix = "gateway.batch")
+public record BatchProperties(
+        boolean enabled,
+        int maxRequests,
+        int concurrency,
+        long maxResponseBytes) {
+
+    public BatchProperties {
+        if (maxRequests <= 0) maxRequests = 20;
+        if (concurrency <= 0) concurrency = 6;
+        if (maxResponseBytes <= 0) maxResponseBytes = 1024L * 1024;
+    }
+}
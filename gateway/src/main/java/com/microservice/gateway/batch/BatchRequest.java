@@ -0,0 +1,22 @@
+package com.microservice.gateway.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Corpo de {@code POST /api/batch}: sub-requisições executadas pelas rotas do gateway.
+ *
+ * @param requests sub-requisições; {@code path} inclui o prefixo {@code /api} e a query string
+ */
+public record BatchRequest(List<Item> requests) {
+
+    public record Item(
+            String id,
+            String method,
+            String path,
+            Map<String, String> headers,
+            JsonNode body) {
+    }
+}
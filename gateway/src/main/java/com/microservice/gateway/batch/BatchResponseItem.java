@@ -0,0 +1,16 @@
+package com.microservice.gateway.batch;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.util.Map;
+
+/**
+ * Resultado de uma sub-requisição. O corpo é copiado como JSON sem ser desserializado;
+ * respostas que não são JSON chegam como string JSON.
+ */
+public record BatchResponseItem(
+        String id,
+        int status,
+        Map<String, String> headers,
+        @JsonRawValue String body) {
+}
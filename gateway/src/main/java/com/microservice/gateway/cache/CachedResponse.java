@@ -0,0 +1,16 @@
+package com.microservice.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, String etag, long expiresAtMillis) {
+
+    boolean isExpired(long nowMillis) {
+        return expiresAtMillis <= nowMillis;
+    }
+
+    int weight() {
+        // Estimativa simples do overhead de headers e objetos além do corpo
+        return body.length + 256;
+    }
+}
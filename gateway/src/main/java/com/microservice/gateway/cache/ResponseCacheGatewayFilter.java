@@ -0,0 +1,220 @@
+package com.microservice.gateway.cache;
+
+import com.google.common.hash.Hashing;
+import com.microservice.gateway.support.UpstreamResponseWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.lang.NonNull;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+class ResponseCacheGatewayFilter implements GatewayFilter {
+
+    static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private final ResponseCacheManager manager;
+    private final Duration ttl;
+    private final long maxEntryBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bytesSaved;
+
+    ResponseCacheGatewayFilter(ResponseCacheManager manager, String routeId, Duration ttl,
+                               long maxEntryBytes, MeterRegistry registry) {
+        this.manager = manager;
+        this.ttl = ttl;
+        this.maxEntryBytes = maxEntryBytes;
+        this.hits = Counter.builder("gateway.response.cache.requests")
+                .tag("route", routeId).tag("result", "hit").register(registry);
+        this.misses = Counter.builder("gateway.response.cache.requests")
+                .tag("route", routeId).tag("result", "miss").register(registry);
+        this.bytesSaved = Counter.builder("gateway.response.cache.bytes.saved")
+                .description("Bytes de corpo servidos pelo gateway sem consultar o serviço downstream")
+                .baseUnit("bytes")
+                .tag("route", routeId).register(registry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        HttpMethod method = request.getMethod();
+
+        if (HttpMethod.GET.equals(method)) {
+            return handleGet(exchange, chain);
+        }
+        if (isWrite(method)) {
+            String path = request.getURI().getRawPath();
+            return chain.filter(exchange)
+                    .doOnSuccess(ignored -> {
+                        HttpStatusCode status = exchange.getResponse().getStatusCode();
+                        if (status == null || status.is2xxSuccessful()) {
+                            manager.invalidate(path);
+                        }
+                    });
+        }
+        return chain.filter(exchange);
+    }
+
+    private Mono<Void> handleGet(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        ResponseCacheKey key = ResponseCacheKey.of(request);
+
+        if (!hasDirective(request.getHeaders().getCacheControl(), "no-cache")) {
+            CachedResponse cached = manager.get(key);
+            if (cached != null) {
+                hits.increment();
+                bytesSaved.increment(cached.body().length);
+                return writeCached(exchange, cached);
+            }
+        }
+
+        misses.increment();
+        ServerHttpResponse decorated = new CachingResponse(exchange.getResponse(), key, manager.versionOf(key.path()));
+        return chain.filter(exchange.mutate().response(decorated).build())
+                .then(Mono.defer(() -> UpstreamResponseWriter.writeBody(exchange, decorated)));
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        List<String> ifNoneMatch = exchange.getRequest().getHeaders().getIfNoneMatch();
+
+        if (matches(ifNoneMatch, cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            response.getHeaders().setETag(cached.etag());
+            response.getHeaders().set(CACHE_STATUS_HEADER, "HIT");
+            return response.setComplete();
+        }
+
+        response.setStatusCode(cached.status());
+        response.getHeaders().putAll(cached.headers());
+        response.getHeaders().setContentLength(cached.body().length);
+        response.getHeaders().set(CACHE_STATUS_HEADER, "HIT");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private static boolean matches(List<String> ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch) {
+            String normalized = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            if ("*".equals(normalized) || normalized.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWrite(HttpMethod method) {
+        return HttpMethod.PUT.equals(method)
+                || HttpMethod.DELETE.equals(method)
+                || HttpMethod.POST.equals(method)
+                || HttpMethod.PATCH.equals(method);
+    }
+
+    private static boolean hasDirective(String cacheControl, String directive) {
+        return cacheControl != null && cacheControl.toLowerCase(Locale.ROOT).contains(directive);
+    }
+
+    /**
+     * Calcula o TTL efetivo respeitando {@code Cache-Control} do serviço downstream;
+     * retorna {@code null} quando a resposta não pode ser armazenada.
+     */
+    Duration effectiveTtl(HttpHeaders headers) {
+        if (headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return null;
+        }
+        // A chave não inclui os headers da requisição; respostas com Vary não são compartilhadas
+        if (headers.containsKey(HttpHeaders.VARY)) {
+            return null;
+        }
+
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return ttl;
+        }
+
+        Duration effective = ttl;
+        for (String rawDirective : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            String directive = rawDirective.trim();
+            if (directive.equals("no-store") || directive.equals("private") || directive.equals("no-cache")) {
+                return null;
+            }
+            if (directive.startsWith("max-age=")) {
+                try {
+                    Duration maxAge = Duration.ofSeconds(Long.parseLong(directive.substring(8)));
+                    if (maxAge.compareTo(effective) < 0) {
+                        effective = maxAge;
+                    }
+                } catch (NumberFormatException ignored) {
+                    // max-age inválido: mantém o TTL da rota
+                }
+            }
+        }
+        return effective.isZero() ? null : effective;
+    }
+
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ResponseCacheKey key;
+        private final long version;
+
+        CachingResponse(ServerHttpResponse delegate, ResponseCacheKey key, long version) {
+            super(delegate);
+            this.key = key;
+            this.version = version;
+        }
+
+        @Override
+        @NonNull
+        public Mono<Void> writeWith(@NonNull Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            Duration entryTtl = effectiveTtl(getHeaders());
+            long contentLength = getHeaders().getContentLength();
+
+            if (status == null || status.value() != HttpStatus.OK.value()
+                    || entryTtl == null || contentLength > maxEntryBytes) {
+                return super.writeWith(body);
+            }
+
+            return DataBufferUtils.join(body).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                HttpHeaders headers = getHeaders();
+                String etag = headers.getETag();
+                if (etag == null) {
+                    etag = "\"" + Hashing.murmur3_128().hashBytes(bytes) + "\"";
+                    headers.setETag(etag);
+                }
+
+                if (bytes.length <= maxEntryBytes) {
+                    HttpHeaders stored = new HttpHeaders();
+                    stored.putAll(headers);
+                    stored.remove(HttpHeaders.TRANSFER_ENCODING);
+                    stored.remove(HttpHeaders.CONTENT_LENGTH);
+                    manager.put(key, new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(stored), bytes, etag,
+                            System.currentTimeMillis() + entryTtl.toMillis()), version);
+                }
+
+                headers.set(CACHE_STATUS_HEADER, "MISS");
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.microservice.gateway.cache;
+
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+record ResponseCacheKey(String method, String path, String query) {
+
+    static ResponseCacheKey of(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        return new ResponseCacheKey(request.getMethod().name(), request.getURI().getRawPath(), query == null ? "" : query);
+    }
+}
@@ -0,0 +1,129 @@
+package com.microservice.gateway.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cache em memória, limitado por bytes, das respostas GET das rotas configuradas em
+ * {@code gateway.response-cache.routes}. Cada rota recebe seu próprio filtro com TTL e
+ * métricas; escritas (PUT/POST/PATCH/DELETE) que passam pelo gateway invalidam o recurso
+ * e a coleção correspondentes.
+ */
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheManager {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCacheManager.class);
+
+    private static final int VERSION_STRIPES = 64;
+
+    private final ResponseCacheProperties properties;
+    private final MeterRegistry registry;
+    private final Cache<ResponseCacheKey, CachedResponse> cache;
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    public ResponseCacheManager(ResponseCacheProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+
+        long maxTtlSeconds = properties.routes().values().stream()
+                .mapToLong(Duration::toSeconds)
+                .max()
+                .orElse(60);
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(properties.maxSizeBytes())
+                .<ResponseCacheKey, CachedResponse>weigher((key, value) -> value.weight())
+                .expireAfterWrite(Math.max(1, maxTtlSeconds), TimeUnit.SECONDS)
+                .build();
+
+        Gauge.builder("gateway.response.cache.size", cache, Cache::size)
+                .description("Respostas atualmente em cache")
+                .register(registry);
+    }
+
+    /**
+     * Filtro de cache para a rota; quando a rota não está configurada (ou o cache está
+     * desligado) devolve um filtro que apenas repassa a requisição.
+     */
+    public GatewayFilter filterFor(String routeId) {
+        Duration ttl = properties.routes().get(routeId);
+        if (!properties.enabled() || ttl == null) {
+            return (exchange, chain) -> chain.filter(exchange);
+        }
+        log.info("Cache de respostas habilitado para a rota {} (TTL {})", routeId, ttl);
+        return new ResponseCacheGatewayFilter(this, routeId, ttl, properties.maxEntryBytes(), registry);
+    }
+
+    CachedResponse get(ResponseCacheKey key) {
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.isExpired(System.currentTimeMillis())) {
+            cache.invalidate(key);
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * Versão atual do path. O GET a captura antes de consultar o serviço downstream e a
+     * devolve em {@link #put}; as versões são agrupadas em faixas por hash do path, então
+     * uma colisão só causa um miss a mais.
+     */
+    long versionOf(String path) {
+        return versions.get(stripe(path));
+    }
+
+    /**
+     * Armazena a resposta apenas se nenhuma invalidação do path ocorreu desde que o GET
+     * começou; do contrário uma leitura iniciada antes de um PUT gravaria o corpo antigo.
+     */
+    void put(ResponseCacheKey key, CachedResponse response, long version) {
+        int stripe = stripe(key.path());
+        if (versions.get(stripe) != version) {
+            return;
+        }
+        cache.put(key, response);
+        // Invalidação concorrente entre a checagem e o put: desfaz a escrita
+        if (versions.get(stripe) != version) {
+            cache.asMap().remove(key, response);
+        }
+    }
+
+    /**
+     * Remove as entradas do próprio recurso e da coleção pai (ex.: {@code /products/5} e
+     * {@code /products}), com qualquer query string, e avança a versão de ambos.
+     */
+    void invalidate(String path) {
+        String parent = parentOf(path);
+        versions.incrementAndGet(stripe(path));
+        versions.incrementAndGet(stripe(parent));
+        cache.asMap().keySet().removeIf(key -> key.path().equals(path) || key.path().equals(parent));
+    }
+
+    long size() {
+        return cache.size();
+    }
+
+    private static int stripe(String path) {
+        return (path.hashCode() & Integer.MAX_VALUE) % VERSION_STRIPES;
+    }
+
+    static String parentOf(String path) {
+        String trimmed = path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+        int lastSlash = trimmed.lastIndexOf('/');
+        return lastSlash > 0 ? trimmed.substring(0, lastSlash) : trimmed;
+    }
+}
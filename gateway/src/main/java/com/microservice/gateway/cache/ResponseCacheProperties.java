@@ -0,0 +1,26 @@
+package com.microservice.gateway.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * @param enabled        liga/desliga o cache de respostas
+ * @param maxSizeBytes   limite total de bytes (corpos + estimativa de headers) em memória
+ * @param maxEntryBytes  respostas maiores que este limite não são armazenadas
+ * @param routes         TTL por id de rota; rotas ausentes não são cacheadas
+ */
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public record ResponseCacheProperties(
+        boolean enabled,
+        long maxSizeBytes,
+        long maxEntryBytes,
+        Map<String, Duration> routes) {
+
+    public ResponseCacheProperties {
+        if (maxSizeBytes <= 0) maxSizeBytes = 64L * 1024 * 1024;
+        if (maxEntryBytes <= 0) maxEntryBytes = 1024L * 1024;
+        routes = routes == null ? Map.of() : Map.copyOf(routes);
+    }
+}
@@ -0,0 +1,35 @@
+package com.microservice.gateway.coalescing;
+
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chamada downstream em andamento para uma chave. O líder publica a resposta no sink;
+ * quando ela não pode ser compartilhada o sink completa vazio e cada espera segue sozinha.
+ */
+final class InFlightRequest {
+
+    private final Sinks.One<SharedResponse> sink = Sinks.one();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    boolean tryJoin(int maxWaiters) {
+        for (; ; ) {
+            int current = waiters.get();
+            if (current >= maxWaiters) {
+                return false;
+            }
+            if (waiters.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    Sinks.One<SharedResponse> sink() {
+        return sink;
+    }
+
+    int waiters() {
+        return waiters.get();
+    }
+}
@@ -0,0 +1,199 @@
+package com.microservice.gateway.coalescing;
+
+import com.microservice.gateway.support.UpstreamResponseWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.lang.NonNull;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Single-flight para GETs idênticos e simultâneos: a primeira requisição (líder) segue para
+ * o serviço downstream e as demais aguardam a resposta dela, que é bufferizada e replicada.
+ * Só respostas 2xx públicas são compartilhadas: com {@code Set-Cookie}, {@code Cache-Control}
+ * {@code private}/{@code no-store} ou {@code Vary} em {@code Authorization}/{@code Cookie}, a
+ * resposta pertence ao usuário do líder. Nesses casos, quando a resposta excede o limite, o limite
+ * de esperas é atingido ou o líder é cancelado, as requisições seguem normalmente pela cadeia.
+ */
+class RequestCoalescingGatewayFilter implements GatewayFilter {
+
+    static final String COALESCED_HEADER = "X-Coalesced";
+
+    private final RequestCoalescingManager manager;
+    private final long maxResponseBytes;
+    private final int maxWaiters;
+
+    private final Counter leaders;
+    private final Counter followers;
+    private final Counter bypassed;
+
+    RequestCoalescingGatewayFilter(RequestCoalescingManager manager, String routeId,
+                                   long maxResponseBytes, int maxWaiters, MeterRegistry registry) {
+        this.manager = manager;
+        this.maxResponseBytes = maxResponseBytes;
+        this.maxWaiters = maxWaiters;
+        this.leaders = counter(registry, routeId, "leader");
+        this.followers = counter(registry, routeId, "follower");
+        this.bypassed = counter(registry, routeId, "bypass");
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            return chain.filter(exchange);
+        }
+
+        String key = keyOf(request);
+        InFlightRequest candidate = new InFlightRequest();
+        InFlightRequest existing = manager.register(key, candidate);
+
+        if (existing == null) {
+            leaders.increment();
+            return lead(exchange, chain, key, candidate);
+        }
+
+        if (!existing.tryJoin(maxWaiters)) {
+            bypassed.increment();
+            return chain.filter(exchange);
+        }
+
+        followers.increment();
+        // writeShared completa vazio; só o sink vazio (resposta não compartilhável) volta à cadeia
+        return existing.sink().asMono()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(shared -> shared.isPresent()
+                        ? writeShared(exchange, shared.get())
+                        : chain.filter(exchange));
+    }
+
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain, String key, InFlightRequest flight) {
+        ServerHttpResponse decorated = new SharingResponse(exchange.getResponse(), key, flight);
+
+        return chain.filter(exchange.mutate().response(decorated).build())
+                .then(Mono.defer(() -> UpstreamResponseWriter.writeBody(exchange, decorated)))
+                .doFinally(signal -> {
+                    // Garante que ninguém fica aguardando se o líder falhar ou for cancelado
+                    manager.complete(key, flight);
+                    flight.sink().tryEmitEmpty();
+                });
+    }
+
+    private static Mono<Void> writeShared(ServerWebExchange exchange, SharedResponse shared) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(shared.status());
+        response.getHeaders().putAll(shared.headers());
+        response.getHeaders().setContentLength(shared.body().length);
+        response.getHeaders().set(COALESCED_HEADER, "true");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    /**
+     * Chave da chamada: método, path, query e negociação de conteúdo. Não inclui o usuário;
+     * respostas específicas de um usuário não são compartilhadas (ver {@link #isShareable}).
+     */
+    static String keyOf(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        String query = request.getURI().getRawQuery();
+        return request.getMethod().name()
+                + ' ' + request.getURI().getRawPath()
+                + (query == null ? "" : '?' + query)
+                + '|' + headers.getFirst(HttpHeaders.ACCEPT)
+                + '|' + headers.getFirst(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    /**
+     * Mesmo critério do cache de respostas: nada que identifique ou dependa do usuário do líder.
+     */
+    static boolean isShareable(HttpHeaders headers) {
+        if (headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null) {
+            String directives = cacheControl.toLowerCase(Locale.ROOT);
+            if (directives.contains("private") || directives.contains("no-store")) {
+                return false;
+            }
+        }
+        for (String vary : headers.getVary()) {
+            if (vary.equals("*")
+                    || vary.equalsIgnoreCase(HttpHeaders.AUTHORIZATION)
+                    || vary.equalsIgnoreCase(HttpHeaders.COOKIE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Counter counter(MeterRegistry registry, String routeId, String role) {
+        return Counter.builder("gateway.request.coalescing")
+                .description("Requisições por papel na coalescência (líder, seguidor ou sem coalescência)")
+                .tag("route", routeId)
+                .tag("role", role)
+                .register(registry);
+    }
+
+    private class SharingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final InFlightRequest flight;
+
+        SharingResponse(ServerHttpResponse delegate, String key, InFlightRequest flight) {
+            super(delegate);
+            this.key = key;
+            this.flight = flight;
+        }
+
+        @Override
+        @NonNull
+        public Mono<Void> writeWith(@NonNull Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            if (status == null || !status.is2xxSuccessful() || !isShareable(getHeaders())
+                    || getHeaders().getContentLength() > maxResponseBytes) {
+                release();
+                return super.writeWith(body);
+            }
+
+            return DataBufferUtils.join(body).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                manager.complete(key, flight);
+                if (bytes.length <= maxResponseBytes) {
+                    HttpHeaders shared = new HttpHeaders();
+                    shared.putAll(getHeaders());
+                    shared.remove(HttpHeaders.TRANSFER_ENCODING);
+                    shared.remove(HttpHeaders.CONTENT_LENGTH);
+                    flight.sink().tryEmitValue(
+                            new SharedResponse(status, HttpHeaders.readOnlyHttpHeaders(shared), bytes));
+                } else {
+                    flight.sink().tryEmitEmpty();
+                }
+
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+
+        private void release() {
+            manager.complete(key, flight);
+            flight.sink().tryEmitEmpty();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.microservice.gateway.coalescing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Mantém as chamadas downstream em andamento (single-flight) e cria os filtros de
+ * coalescência para as rotas configuradas em {@code gateway.request-coalescing.routes}.
+ */
+@Component
+@EnableConfigurationProperties(RequestCoalescingProperties.class)
+public class RequestCoalescingManager {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestCoalescingManager.class);
+
+    private final RequestCoalescingProperties properties;
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, InFlightRequest> inFlight = new ConcurrentHashMap<>();
+
+    public RequestCoalescingManager(RequestCoalescingProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+
+        Gauge.builder("gateway.request.coalescing.in.flight", inFlight, ConcurrentMap::size)
+                .description("Chamadas downstream compartilháveis em andamento")
+                .register(registry);
+    }
+
+    public GatewayFilter filterFor(String routeId) {
+        if (!properties.enabled() || !properties.routes().contains(routeId)) {
+            return (exchange, chain) -> chain.filter(exchange);
+        }
+        log.info("Coalescência de requisições habilitada para a rota {}", routeId);
+        return new RequestCoalescingGatewayFilter(this, routeId,
+                properties.maxResponseBytes(), properties.maxWaiters(), registry);
+    }
+
+    InFlightRequest register(String key, InFlightRequest candidate) {
+        return inFlight.putIfAbsent(key, candidate);
+    }
+
+    void complete(String key, InFlightRequest request) {
+        inFlight.remove(key, request);
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+}
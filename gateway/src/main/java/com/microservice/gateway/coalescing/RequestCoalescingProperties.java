@@ -0,0 +1,25 @@
+package com.microservice.gateway.coalescing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * @param enabled          liga/desliga a coalescência de requisições
+ * @param maxResponseBytes respostas maiores não são compartilhadas; cada espera faz a própria chamada
+ * @param maxWaiters       limite de requisições aguardando a mesma chamada downstream
+ * @param routes           ids das rotas (idempotentes) onde a coalescência é aplicada
+ */
+@ConfigurationProperties(prefix = "gateway.request-coalescing")
+public record RequestCoalescingProperties(
+        boolean enabled,
+        long maxResponseBytes,
+        int maxWaiters,
+        List<String> routes) {
+
+    public RequestCoalescingProperties {
+        if (maxResponseBytes <= 0) maxResponseBytes = 256L * 1024;
+        if (maxWaiters <= 0) maxWaiters = 1000;
+        routes = routes == null ? List.of() : List.copyOf(routes);
+    }
+}
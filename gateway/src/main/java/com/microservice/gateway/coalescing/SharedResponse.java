@@ -0,0 +1,7 @@
+package com.microservice.gateway.coalescing;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+}
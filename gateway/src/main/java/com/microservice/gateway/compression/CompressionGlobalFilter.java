@@ -0,0 +1,281 @@
+package com.microservice.gateway.compression;
+
+import com.microservice.gateway.support.UpstreamResponseWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.buffer.ByteBuf;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Comprime (gzip ou brotli) as respostas das rotas conforme o {@code Accept-Encoding} do
+ * cliente, o tipo de conteúdo e o tamanho mínimo configurados em {@code gateway.compression}.
+ *
+ * <p>Executa antes de todos os outros filtros, então o response decorado fica mais próximo da
+ * conexão: cache, coalescência e o {@code NettyWriteResponseFilter} continuam vendo o corpo sem
+ * compressão. Cada pedaço recebido do serviço downstream passa pelo encoder Netty e é escrito em
+ * seguida ({@link StreamingCompressor}), sem acumular o corpo inteiro.
+ */
+@Component
+@EnableConfigurationProperties(CompressionProperties.class)
+public class CompressionGlobalFilter implements GlobalFilter, Ordered {
+
+    static final String UNMATCHED_ROUTE = "unmatched";
+
+    private static final Logger log = LoggerFactory.getLogger(CompressionGlobalFilter.class);
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME_SUPPORTED = THREADS.isCurrentThreadCpuTimeSupported();
+
+    private final CompressionProperties properties;
+    private final List<MediaType> mimeTypes;
+    private final boolean brotli;
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, CompressionMeters> meters = new ConcurrentHashMap<>();
+
+    public CompressionGlobalFilter(CompressionProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.mimeTypes = MediaType.parseMediaTypes(properties.mimeTypes());
+        this.brotli = properties.brotli() && ContentCoding.brotliAvailable();
+        this.registry = registry;
+        if (properties.enabled() && properties.brotli() && !brotli) {
+            log.info("Brotli indisponível (brotli4j ausente do classpath); respostas usarão apenas gzip");
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.enabled() || HttpMethod.HEAD.equals(exchange.getRequest().getMethod())) {
+            return chain.filter(exchange);
+        }
+        ContentCoding coding = negotiate(exchange.getRequest().getHeaders().get(HttpHeaders.ACCEPT_ENCODING), brotli);
+        ServerHttpResponse decorated = new CompressingResponse(exchange.getResponse(), coding, metersFor(exchange));
+        return chain.filter(exchange.mutate().response(decorated).build());
+    }
+
+    /**
+     * Escolhe a codificação de maior {@code q} aceita pelo cliente; em empate o brotli vence por
+     * comprimir melhor JSON. Sem {@code Accept-Encoding}, a resposta segue sem compressão.
+     *
+     * @return a codificação escolhida, ou {@code null} se nenhuma for aceita
+     */
+    static ContentCoding negotiate(List<String> acceptEncoding, boolean brotliEnabled) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return null;
+        }
+        double gzip = -1;
+        double br = -1;
+        double any = -1;
+        for (String header : acceptEncoding) {
+            for (String part : header.split(",")) {
+                String[] params = part.trim().split(";");
+                String coding = params[0].trim().toLowerCase(Locale.ROOT);
+                double q = quality(params);
+                switch (coding) {
+                    case "gzip", "x-gzip" -> gzip = Math.max(gzip, q);
+                    case "br" -> br = Math.max(br, q);
+                    case "*" -> any = q;
+                    default -> {
+                    }
+                }
+            }
+        }
+        gzip = gzip >= 0 ? gzip : Math.max(any, 0);
+        br = br >= 0 ? br : Math.max(any, 0);
+
+        if (brotliEnabled && br > 0 && br >= gzip) {
+            return ContentCoding.BROTLI;
+        }
+        return gzip > 0 ? ContentCoding.GZIP : null;
+    }
+
+    private static double quality(String[] params) {
+        for (int i = 1; i < params.length; i++) {
+            String param = params[i].trim();
+            if (param.startsWith("q=") || param.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    CompressionMeters metersFor(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : UNMATCHED_ROUTE;
+
+        CompressionMeters existing = meters.get(routeId);
+        return existing != null ? existing : meters.computeIfAbsent(routeId, id -> new CompressionMeters(registry, id));
+    }
+
+    private boolean isCompressible(MediaType contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        for (MediaType mimeType : mimeTypes) {
+            if (mimeType.isCompatibleWith(contentType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long cpuTime() {
+        return CPU_TIME_SUPPORTED ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    private class CompressingResponse extends ServerHttpResponseDecorator {
+
+        private final ContentCoding coding;
+        private final CompressionMeters routeMeters;
+
+        CompressingResponse(ServerHttpResponse delegate, ContentCoding coding, CompressionMeters routeMeters) {
+            super(delegate);
+            this.coding = coding;
+            this.routeMeters = routeMeters;
+        }
+
+        /**
+         * A decisão é tomada aqui, quando status e headers do serviço downstream já são conhecidos.
+         * Respostas escritas com {@code writeAndFlushWith} (SSE, NDJSON) seguem sem compressão:
+         * o flush por elemento anularia o ganho e atrasaria os eventos.
+         */
+        @Override
+        @NonNull
+        public Mono<Void> writeWith(@NonNull Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            if (!isCompressible(headers.getContentType()) || !hasBody(getStatusCode())) {
+                return super.writeWith(body);
+            }
+            headers.addIfAbsent(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+            CompressionMeters.SkipReason skip = skipReason(headers);
+            if (skip != null) {
+                routeMeters.skipped(skip);
+                return super.writeWith(body);
+            }
+
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            headers.set(HttpHeaders.CONTENT_ENCODING, coding.token());
+            String etag = headers.getETag();
+            if (etag != null && !etag.startsWith("W/")) {
+                // O corpo enviado deixa de ser byte a byte igual ao representado pelo ETag forte
+                headers.setETag("W/" + etag);
+            }
+            return super.writeWith(compress(Flux.from(body)));
+        }
+
+        private CompressionMeters.SkipReason skipReason(HttpHeaders headers) {
+            if (coding == null) {
+                return CompressionMeters.SkipReason.NOT_ACCEPTED;
+            }
+            if (headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+                return CompressionMeters.SkipReason.ALREADY_ENCODED;
+            }
+            String cacheControl = headers.getCacheControl();
+            if (cacheControl != null && cacheControl.toLowerCase(Locale.ROOT).contains("no-transform")) {
+                return CompressionMeters.SkipReason.NO_TRANSFORM;
+            }
+            long contentLength = headers.getContentLength();
+            if (contentLength >= 0 && contentLength < properties.minResponseSize()) {
+                return CompressionMeters.SkipReason.TOO_SMALL;
+            }
+            return null;
+        }
+
+        private Flux<DataBuffer> compress(Flux<? extends DataBuffer> body) {
+            return Flux.defer(() -> {
+                StreamingCompressor compressor = new StreamingCompressor(coding.newEncoder(properties.gzipLevel()));
+                long[] totals = new long[3]; // bytes in, bytes out, nanos de CPU
+
+                Flux<DataBuffer> chunks = body.<DataBuffer>handle((buffer, sink) -> {
+                    totals[0] += buffer.readableByteCount();
+                    ByteBuf chunk = toByteBuf(buffer);
+                    long start = cpuTime();
+                    ByteBuf out = compressor.encode(chunk);
+                    totals[2] += cpuTime() - start;
+
+                    DataBuffer compressed = emit(out, totals);
+                    if (compressed != null) {
+                        sink.next(compressed);
+                    }
+                });
+                Mono<DataBuffer> trailer = Mono.fromSupplier(() -> {
+                    long start = cpuTime();
+                    ByteBuf out = compressor.finish();
+                    totals[2] += cpuTime() - start;
+                    return emit(out, totals);
+                });
+
+                return chunks.concatWith(trailer)
+                        .doOnComplete(() -> routeMeters.compressed(coding, totals[0], totals[1], totals[2]))
+                        .doFinally(signal -> compressor.close());
+            });
+        }
+
+        private DataBuffer emit(ByteBuf out, long[] totals) {
+            totals[1] += out.readableBytes();
+            if (!out.isReadable()) {
+                out.release();
+                return null;
+            }
+            return UpstreamResponseWriter.wrap(out, bufferFactory());
+        }
+    }
+
+    /**
+     * Buffers Netty são entregues ao encoder sem cópia; os demais (respostas montadas em
+     * memória fora do Netty) são copiados e liberados.
+     */
+    private static ByteBuf toByteBuf(DataBuffer buffer) {
+        ByteBuf byteBuf = NettyDataBufferFactory.toByteBuf(buffer);
+        if (!(buffer instanceof NettyDataBuffer)) {
+            DataBufferUtils.release(buffer);
+        }
+        return byteBuf;
+    }
+
+    private static boolean hasBody(HttpStatusCode status) {
+        return status == null
+                || !(status.is1xxInformational()
+                || status.value() == HttpStatus.NO_CONTENT.value()
+                || status.value() == HttpStatus.NOT_MODIFIED.value());
+    }
+
+    @Override
+    public int getOrder() {
+        return -4;
+    }
+}
@@ -0,0 +1,84 @@
+package com.microservice.gateway.compression;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Medidores de compressão de uma rota, criados uma vez por rota e codificação para não
+ * montar tags a cada resposta.
+ */
+final class CompressionMeters {
+
+    /** Por que uma resposta elegível pelo tipo de conteúdo não foi comprimida. */
+    enum SkipReason {
+        NOT_ACCEPTED, TOO_SMALL, ALREADY_ENCODED, NO_TRANSFORM
+    }
+
+    private final Map<ContentCoding, PerCoding> byCoding = new EnumMap<>(ContentCoding.class);
+    private final Map<SkipReason, Counter> skipped = new EnumMap<>(SkipReason.class);
+
+    CompressionMeters(MeterRegistry registry, String routeId) {
+        for (ContentCoding coding : ContentCoding.values()) {
+            byCoding.put(coding, new PerCoding(registry, routeId, coding.token()));
+        }
+        for (SkipReason reason : SkipReason.values()) {
+            skipped.put(reason, Counter.builder("gateway.compression.skipped")
+                    .description("Respostas de tipo comprimível enviadas sem compressão")
+                    .tag("route", routeId)
+                    .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+    }
+
+    void skipped(SkipReason reason) {
+        skipped.get(reason).increment();
+    }
+
+    void compressed(ContentCoding coding, long bytesIn, long bytesOut, long cpuNanos) {
+        PerCoding meters = byCoding.get(coding);
+        meters.bytesIn.increment(bytesIn);
+        meters.bytesOut.increment(bytesOut);
+        meters.cpu.record(cpuNanos, TimeUnit.NANOSECONDS);
+        if (bytesIn > 0) {
+            meters.ratio.record((double) bytesOut / bytesIn);
+        }
+    }
+
+    private static final class PerCoding {
+
+        private final Counter bytesIn;
+        private final Counter bytesOut;
+        private final DistributionSummary ratio;
+        private final Timer cpu;
+
+        private PerCoding(MeterRegistry registry, String routeId, String encoding) {
+            this.bytesIn = Counter.builder("gateway.compression.bytes")
+                    .description("Bytes de corpo antes (in) e depois (out) da compressão")
+                    .baseUnit("bytes")
+                    .tag("route", routeId).tag("encoding", encoding).tag("direction", "in")
+                    .register(registry);
+            this.bytesOut = Counter.builder("gateway.compression.bytes")
+                    .description("Bytes de corpo antes (in) e depois (out) da compressão")
+                    .baseUnit("bytes")
+                    .tag("route", routeId).tag("encoding", encoding).tag("direction", "out")
+                    .register(registry);
+            this.ratio = DistributionSummary.builder("gateway.compression.ratio")
+                    .description("Tamanho comprimido dividido pelo original, por resposta")
+                    .tag("route", routeId).tag("encoding", encoding)
+                    .publishPercentiles(0.5, 0.95)
+                    .register(registry);
+            this.cpu = Timer.builder("gateway.compression.cpu")
+                    .description("Tempo de CPU gasto comprimindo cada resposta")
+                    .tag("route", routeId).tag("encoding", encoding)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.microservice.gateway.compression;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * @param enabled          liga/desliga a compressão das respostas no gateway
+ * @param minResponseSize  respostas com {@code Content-Length} menor que este valor seguem sem compressão;
+ *                         respostas sem tamanho conhecido (chunked) são sempre comprimidas
+ * @param mimeTypes        tipos de conteúdo comprimidos (parâmetros como {@code charset} são ignorados)
+ * @param gzipLevel        nível do gzip (1 a 9)
+ * @param brotli           oferece {@code br} quando o brotli4j (e o binário nativo) está no classpath
+ */
+@ConfigurationProperties(prefix = "gateway.compression")
+public record CompressionProperties(
+        boolean enabled,
+        long minResponseSize,
+        List<String> mimeTypes,
+        int gzipLevel,
+        boolean brotli) {
+
+    public CompressionProperties {
+        if (minResponseSize <= 0) minResponseSize = 1024;
+        if (mimeTypes == null || mimeTypes.isEmpty()) {
+            mimeTypes = List.of("application/json", "application/problem+json", "text/plain", "text/html");
+        }
+        mimeTypes = List.copyOf(mimeTypes);
+        if (gzipLevel < 1 || gzipLevel > 9) gzipLevel = 6;
+    }
+}
@@ -0,0 +1,41 @@
+package com.microservice.gateway.compression;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.handler.codec.compression.Brotli;
+import io.netty.handler.codec.compression.BrotliEncoder;
+import io.netty.handler.codec.compression.ZlibCodecFactory;
+import io.netty.handler.codec.compression.ZlibWrapper;
+
+/**
+ * Codificações de conteúdo suportadas, com o encoder Netty correspondente — os mesmos
+ * usados pelo {@code HttpContentCompressor} do Netty.
+ */
+enum ContentCoding {
+
+    GZIP("gzip"),
+    BROTLI("br");
+
+    private final String token;
+
+    ContentCoding(String token) {
+        this.token = token;
+    }
+
+    String token() {
+        return token;
+    }
+
+    ChannelHandler newEncoder(int gzipLevel) {
+        return switch (this) {
+            case GZIP -> ZlibCodecFactory.newZlibEncoder(ZlibWrapper.GZIP, gzipLevel);
+            case BROTLI -> new BrotliEncoder();
+        };
+    }
+
+    /**
+     * O brotli depende do brotli4j e do binário nativo da plataforma, que são opcionais.
+     */
+    static boolean brotliAvailable() {
+        return Brotli.isAvailable();
+    }
+}
@@ -0,0 +1,63 @@
+package com.microservice.gateway.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * Comprime um corpo pedaço a pedaço com um encoder Netty, do mesmo modo que o
+ * {@code HttpContentCompressor}: cada {@link #encode} faz um flush do encoder, de modo que
+ * os bytes comprimidos de um pedaço saem antes de o próximo chegar e o corpo nunca é
+ * acumulado inteiro em memória. Não é thread-safe; os sinais de um {@code Flux} já são serializados.
+ */
+final class StreamingCompressor {
+
+    private final EmbeddedChannel channel;
+    private boolean finished;
+
+    StreamingCompressor(ChannelHandler encoder) {
+        this.channel = new EmbeddedChannel(encoder);
+    }
+
+    /**
+     * @param chunk bytes descomprimidos; a posse passa para o encoder, que os libera
+     * @return bytes comprimidos produzidos até aqui (possivelmente vazio)
+     */
+    ByteBuf encode(ByteBuf chunk) {
+        channel.writeOutbound(chunk);
+        return drain();
+    }
+
+    /**
+     * Encerra o stream (trailer do gzip, último bloco do brotli).
+     */
+    ByteBuf finish() {
+        finished = true;
+        channel.finish();
+        return drain();
+    }
+
+    /**
+     * Libera o que ficou no encoder quando a escrita é cancelada ou falha.
+     */
+    void close() {
+        if (!finished) {
+            finished = true;
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    private ByteBuf drain() {
+        CompositeByteBuf out = channel.alloc().compositeBuffer();
+        ByteBuf buf;
+        while ((buf = channel.readOutbound()) != null) {
+            if (buf.isReadable()) {
+                out.addComponent(true, buf);
+            } else {
+                buf.release();
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,76 @@
+package com.microservice.gateway.concurrency;
+
+import com.microservice.gateway.metrics.UpstreamTimingGlobalFilter;
+import com.microservice.gateway.resilience.FallbackController;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Admite a requisição apenas se houver vaga no limite atual da rota; caso contrário responde
+ * {@code 503} imediatamente, sem enfileirar. A latência downstream medida pelo
+ * {@link UpstreamTimingGlobalFilter} alimenta o ajuste do limite.
+ */
+class ConcurrencyLimitGatewayFilter implements GatewayFilter {
+
+    private final RouteConcurrencyLimiter limiter;
+    private final Counter rejected;
+
+    ConcurrencyLimitGatewayFilter(RouteConcurrencyLimiter limiter, String routeId, MeterRegistry registry) {
+        this.limiter = limiter;
+        this.rejected = Counter.builder("gateway.concurrency.rejected")
+                .description("Requisições rejeitadas pelo limite adaptativo de concorrência")
+                .tag("route", routeId)
+                .register(registry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        // a vaga só é ocupada na assinatura, garantindo o release correspondente no doFinally
+        return Mono.defer(() -> admit(exchange, chain));
+    }
+
+    private Mono<Void> admit(ServerWebExchange exchange, GatewayFilterChain chain) {
+        int inFlightAtStart = limiter.tryAcquire();
+        if (inFlightAtStart < 0) {
+            rejected.increment();
+            exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            return exchange.getResponse().setComplete();
+        }
+
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    limiter.release();
+                    if (signal == SignalType.CANCEL) {
+                        return;
+                    }
+                    if (isOverloadSignal(exchange, signal)) {
+                        limiter.onDrop();
+                        return;
+                    }
+                    Long upstreamNanos = exchange.getAttribute(UpstreamTimingGlobalFilter.UPSTREAM_NANOS_ATTR);
+                    if (upstreamNanos != null) {
+                        limiter.onSample(upstreamNanos, inFlightAtStart);
+                    }
+                });
+    }
+
+    private static boolean isOverloadSignal(ServerWebExchange exchange, SignalType signal) {
+        if (signal == SignalType.ON_ERROR) {
+            return true;
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (status != null && status.value() == HttpStatus.GATEWAY_TIMEOUT.value()) {
+            return true;
+        }
+        // Timeout do circuit breaker: a resposta vem do /fallback com o motivo no header
+        return "timeout".equals(exchange.getResponse().getHeaders()
+                .getFirst(FallbackController.FALLBACK_REASON_HEADER));
+    }
+}
@@ -0,0 +1,46 @@
+package com.microservice.gateway.concurrency;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cria os filtros de limite adaptativo de concorrência para as rotas configuradas em
+ * {@code gateway.concurrency-limit.routes}, cada uma com o próprio {@link GradientLimit}.
+ */
+@Component
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitManager {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyLimitManager.class);
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry registry;
+
+    public ConcurrencyLimitManager(ConcurrencyLimitProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    public GatewayFilter filterFor(String routeId) {
+        if (!properties.enabled() || !properties.routes().contains(routeId)) {
+            return (exchange, chain) -> chain.filter(exchange);
+        }
+        log.info("Limite adaptativo de concorrência habilitado para a rota {}", routeId);
+
+        RouteConcurrencyLimiter limiter = new RouteConcurrencyLimiter(new GradientLimit(
+                properties.initialLimit(), properties.minLimit(), properties.maxLimit(),
+                properties.smoothing(), properties.rttTolerance()));
+
+        Gauge.builder("gateway.concurrency.limit", limiter, RouteConcurrencyLimiter::limit)
+                .description("Limite atual de requisições simultâneas encaminhadas à rota")
+                .tag("route", routeId)
+                .register(registry);
+
+        return new ConcurrencyLimitGatewayFilter(limiter, routeId, registry);
+    }
+}
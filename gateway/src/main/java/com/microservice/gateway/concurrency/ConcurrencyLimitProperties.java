@@ -0,0 +1,38 @@
+package com.microservice.gateway.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * @param enabled       liga/desliga o limite adaptativo de concorrência
+ * @param initialLimit  limite de requisições simultâneas antes de haver amostras de latência
+ * @param minLimit      piso do limite, mesmo com o serviço degradado
+ * @param maxLimit      teto do limite
+ * @param smoothing     peso (0..1) de cada novo cálculo sobre o limite atual
+ * @param rttTolerance  aumento tolerado da latência recente sobre a latência de referência (ex.: 1.5 = +50%)
+ * @param routes        ids das rotas protegidas
+ */
+@ConfigurationProperties(prefix = "gateway.concurrency-limit")
+public record ConcurrencyLimitProperties(
+        boolean enabled,
+        int initialLimit,
+        int minLimit,
+        int maxLimit,
+        double smoothing,
+        double rttTolerance,
+        List<String> routes) {
+
+    public ConcurrencyLimitProperties {
+        if (minLimit <= 0) minLimit = 4;
+        if (maxLimit <= 0) maxLimit = 500;
+        if (maxLimit < minLimit) {
+            throw new IllegalArgumentException("max-limit deve ser maior ou igual a min-limit");
+        }
+        if (initialLimit <= 0) initialLimit = 20;
+        initialLimit = Math.min(maxLimit, Math.max(minLimit, initialLimit));
+        if (smoothing <= 0 || smoothing > 1) smoothing = 0.2;
+        if (rttTolerance < 1) rttTolerance = 1.5;
+        routes = routes == null ? List.of() : List.copyOf(routes);
+    }
+}
@@ -0,0 +1,80 @@
+package com.microservice.gateway.concurrency;
+
+/**
+ * Estimativa do limite de concorrência de um serviço pelo gradiente de latência
+ * (mesma ideia do Gradient2 do concurrency-limits da Netflix).
+ * <p>
+ * Compara a latência da amostra com uma média longa (referência "sem fila"):
+ * enquanto a latência fica dentro da tolerância o limite cresce {@code sqrt(limite)} por amostra;
+ * quando sobe, o limite é reduzido proporcionalmente ao gradiente {@code referência / atual}.
+ * Timeouts e erros de sobrecarga reduzem o limite multiplicativamente.
+ */
+final class GradientLimit {
+
+    // média longa de ~100 amostras: acompanha mudanças lentas sem absorver picos de fila
+    private static final double LONG_RTT_ALPHA = 0.01;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+
+    private double estimatedLimit;
+    private double longRttNanos;
+    private volatile int limit;
+
+    GradientLimit(int initialLimit, int minLimit, int maxLimit, double smoothing, double rttTolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    /**
+     * @param rttNanos  latência observada da chamada downstream
+     * @param inFlight  requisições em andamento quando a chamada foi admitida
+     */
+    synchronized void onSample(long rttNanos, int inFlight) {
+        if (rttNanos <= 0) {
+            return;
+        }
+
+        double shortRtt = rttNanos;
+        if (longRttNanos == 0) {
+            longRttNanos = shortRtt;
+        } else {
+            longRttNanos += (shortRtt - longRttNanos) * LONG_RTT_ALPHA;
+        }
+
+        // Referência muito acima da latência atual (ex.: após um período degradado): converge mais rápido
+        if (longRttNanos / shortRtt > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        // Tráfego abaixo da metade do limite não prova que o serviço aguenta mais
+        if (inFlight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * longRttNanos / shortRtt));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        update(estimatedLimit * (1 - smoothing) + target * smoothing);
+    }
+
+    synchronized void onDrop() {
+        update(estimatedLimit * DROP_BACKOFF);
+    }
+
+    private void update(double newLimit) {
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,51 @@
+package com.microservice.gateway.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Contador de requisições em andamento de uma rota, admitidas até o limite atual do {@link GradientLimit}.
+ */
+final class RouteConcurrencyLimiter {
+
+    private final GradientLimit limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    RouteConcurrencyLimiter(GradientLimit limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * @return requisições em andamento incluindo esta, ou {@code -1} se o limite foi atingido
+     */
+    int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.limit()) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    void onSample(long rttNanos, int inFlightAtStart) {
+        limit.onSample(rttNanos, inFlightAtStart);
+    }
+
+    void onDrop() {
+        limit.onDrop();
+    }
+
+    int limit() {
+        return limit.limit();
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+}
@@ -1,40 +1,78 @@
 package com.microservice.gateway.config;
 
+import com.microservice.gateway.cache.ResponseCacheManager;
+import com.microservice.gateway.coalescing.RequestCoalescingManager;
+import com.microservice.gateway.concurrency.ConcurrencyLimitManager;
+import com.microservice.gateway.hedging.HedgingManager;
+import com.microservice.gateway.upstream.UpstreamHttpClients;
+import org.springframework.cloud.gateway.filter.factory.SpringCloudCircuitBreakerFilterFactory;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.function.Consumer;
+
 @Configuration
 public class GatewayRoutesConfig {
 
     private static final String PATH_REGEX = "/api/(?<remaining>.*)";
     private static final String PATH_REPLACEMENT = "/${remaining}";
+    private static final String FALLBACK_URI = "forward:/fallback/";
 
     @Bean
-    public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
+    public RouteLocator customRouteLocator(RouteLocatorBuilder builder,
+                                           ResponseCacheManager responseCache,
+                                           RequestCoalescingManager requestCoalescing,
+                                           ConcurrencyLimitManager concurrencyLimit,
+                                           HedgingManager hedging,
+                                           UpstreamHttpClients upstream) {
         return builder.routes()
                 .route("account-service", r -> r
                         .path("/api/accounts/**")
                         .filters(f -> f
+                                .filter(concurrencyLimit.filterFor("account-service"))
+                                .circuitBreaker(circuitBreaker("account-service"))
                                 .rewritePath(PATH_REGEX, PATH_REPLACEMENT)
                         )
+                        .metadata(upstream.metadataFor("account-service"))
                         .uri("lb://account-service")
                 )
                 .route("product-service", r -> r
                         .path("/api/products/**")
                         .filters(f -> f
+                                .filter(responseCache.filterFor("product-service"))
+                                .filter(requestCoalescing.filterFor("product-service"))
+                                .filter(hedging.filterFor("product-service"))
+                                .filter(concurrencyLimit.filterFor("product-service"))
+                                .circuitBreaker(circuitBreaker("product-service"))
                                 .rewritePath(PATH_REGEX, PATH_REPLACEMENT)
                         )
+                        .metadata(upstream.metadataFor("product-service"))
                         .uri("lb://product-service")
                 )
                 .route("sales-service", r -> r
                         .path("/api/sales/**")
                         .filters(f -> f
+                                .filter(concurrencyLimit.filterFor("sales-service"))
+                                .circuitBreaker(circuitBreaker("sales-service"))
                                 .rewritePath(PATH_REGEX, PATH_REPLACEMENT)
                         )
+                        .metadata(upstream.metadataFor("sales-service"))
                         .uri("lb://sales-service")
                 )
                 .build();
     }
+
+    /**
+     * Circuit breaker nomeado pelo id da rota (configurado em {@code gateway.circuit-breaker}),
+     * tratando também respostas 5xx de gateway/indisponibilidade como falha.
+     */
+    private static Consumer<SpringCloudCircuitBreakerFilterFactory.Config> circuitBreaker(String routeId) {
+        return c -> c.setName(routeId)
+                .setFallbackUri(FALLBACK_URI + routeId)
+                .addStatusCode("502")
+                .addStatusCode("503")
+                .addStatusCode("504");
+    }
 }
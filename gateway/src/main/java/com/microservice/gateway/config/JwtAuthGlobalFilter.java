@@ -1,6 +1,8 @@
 package com.microservice.gateway.config;
 
 import com.microservice.gateway.security.JwtValidator;
+import com.microservice.gateway.security.PublicRouteMatcher;
+import com.microservice.gateway.security.UserPrincipal;
 import io.jsonwebtoken.Claims;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,16 +23,18 @@ public class JwtAuthGlobalFilter implements GlobalFilter, Ordered {
     private static final Logger log = LoggerFactory.getLogger(JwtAuthGlobalFilter.class);
 
     private final JwtValidator jwtValidator;
+    private final PublicRouteMatcher publicRouteMatcher;
 
-    public JwtAuthGlobalFilter(JwtValidator jwtValidator) {
+    public JwtAuthGlobalFilter(JwtValidator jwtValidator, PublicRouteMatcher publicRouteMatcher) {
         this.jwtValidator = jwtValidator;
+        this.publicRouteMatcher = publicRouteMatcher;
     }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         String path = exchange.getRequest().getURI().getPath();
 
-        if (isPublicPath(path)) {
+        if (publicRouteMatcher.matches(path)) {
             return chain.filter(exchange);
         }
 
@@ -45,43 +49,39 @@ public class JwtAuthGlobalFilter implements GlobalFilter, Ordered {
 
         try {
             Claims claims = jwtValidator.parse(token);
+            UserPrincipal principal = UserPrincipal.from(claims);
 
-            ServerHttpRequest mutatedRequest = exchange.getRequest().mutate()
-                    .header("X-User-Id", claims.getSubject())
-                    .header("X-User-Email", String.valueOf(claims.get("email")))
-                    .header("X-User-Role", String.valueOf(claims.get("role")))
-                    .build();
+            // Único ponto onde os headers de identidade são escritos para os serviços downstream
+            ServerHttpRequest.Builder requestBuilder = exchange.getRequest().mutate()
+                    .headers(headers -> headers.keySet().removeIf(name ->
+                            name.regionMatches(true, 0, UserPrincipal.HEADER_PREFIX, 0, UserPrincipal.HEADER_PREFIX.length())));
+            if (principal.id() != null)
+                requestBuilder.header(UserPrincipal.HEADER_USER_ID, principal.id());
+
+            if (principal.email() != null)
+                requestBuilder.header(UserPrincipal.HEADER_USER_EMAIL, principal.email());
+
+            if (principal.role() != null)
+                requestBuilder.header(UserPrincipal.HEADER_USER_ROLE, principal.role());
 
             ServerWebExchange mutatedExchange = exchange.mutate()
-                    .request(mutatedRequest)
+                    .request(requestBuilder.build())
                     .build();
 
             mutatedExchange.getAttributes().put("jwtClaims", claims);
+            mutatedExchange.getAttributes().put(UserPrincipal.EXCHANGE_ATTRIBUTE, principal);
 
-            log.debug("JWT válido para usuário: {}", claims.getSubject());
+            log.debug("JWT válido para usuário: {}", principal.id());
             return chain.filter(mutatedExchange);
 
         } catch (Exception e) {
-            log.warn("Token JWT inválido: {}", e.getMessage());
+            // Motivos são contados em gateway.jwt.rejections; um warn por tentativa inundaria o log
+            log.debug("Token JWT inválido: {}", e.getMessage());
             exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
             return exchange.getResponse().setComplete();
         }
     }
 
-    private boolean isPublicPath(String path) {
-        String normalized = path.toLowerCase().replaceAll("/+$", "");
-
-        return normalized.startsWith("/v3/api-docs")
-                || normalized.startsWith("/swagger-ui")
-                || normalized.startsWith("/webjars")
-                || normalized.equals("/api/accounts/login")
-                || normalized.equals("/accounts/login")
-                || normalized.equals("/api/accounts/register")
-                || normalized.equals("/accounts/register")
-                || normalized.startsWith("/actuator")
-                || normalized.startsWith("/fallback");
-    }
-
     @Override
     public int getOrder() {
         return -1;
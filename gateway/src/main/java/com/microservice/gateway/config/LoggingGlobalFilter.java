@@ -1,58 +1,95 @@
 package com.microservice.gateway.config;
 
-import io.jsonwebtoken.Claims;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.microservice.gateway.accesslog.AccessLogWriter;
+import com.microservice.gateway.security.UserPrincipal;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.reactivestreams.Publisher;
 import org.springframework.core.Ordered;
-import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 @Component
 public class LoggingGlobalFilter implements GlobalFilter, Ordered {
 
-    private static final Logger log = LoggerFactory.getLogger(LoggingGlobalFilter.class);
+    private final AccessLogWriter accessLogWriter;
+
+    public LoggingGlobalFilter(AccessLogWriter accessLogWriter) {
+        this.accessLogWriter = accessLogWriter;
+    }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        String path = exchange.getRequest().getURI().getPath();
-        String method = exchange.getRequest().getMethod().name();
+        long start = System.nanoTime();
+        CountingResponse response = new CountingResponse(exchange.getResponse());
 
-        log.info("➡️ [{}] {}", method, path);
+        // Executa antes da autenticação para registrar também as requisições rejeitadas (401)
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> record(exchange, response, System.nanoTime() - start));
+    }
 
-        Claims claims = exchange.getAttribute("jwtClaims");
+    private void record(ServerWebExchange exchange, CountingResponse response, long latencyNanos) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        UserPrincipal principal = exchange.getAttribute(UserPrincipal.EXCHANGE_ATTRIBUTE);
+        HttpStatusCode status = response.getStatusCode();
 
-        ServerHttpRequest.Builder mutatedRequest = exchange.getRequest().mutate();
-        if (claims != null) {
-            if (claims.get("email") != null)
-                mutatedRequest.header("X-User-Email", claims.get("email").toString());
+        accessLogWriter.record(
+                exchange.getRequest().getMethod().name(),
+                route != null ? route.getId() : null,
+                status != null ? status.value() : 0,
+                latencyNanos,
+                principal != null ? principal.id() : null,
+                response.bytesWritten()
+        );
+    }
+
+    @Override
+    public int getOrder() {
+        // Fora do CompressionGlobalFilter (-4): conta os bytes que de fato vão para o cliente
+        return -5;
+    }
 
-            if (claims.get("sub") != null)
-                mutatedRequest.header("X-User-Id", claims.get("sub").toString());
+    /**
+     * Soma os bytes escritos no corpo; o Content-Length não existe em respostas
+     * chunked nem nas comprimidas pelo gateway.
+     */
+    private static final class CountingResponse extends ServerHttpResponseDecorator {
 
-            if (claims.get("role") != null)
-                mutatedRequest.header("X-User-Role", claims.get("role").toString());
+        private final AtomicLong bytes = new AtomicLong();
+
+        CountingResponse(ServerHttpResponse delegate) {
+            super(delegate);
         }
 
-        ServerWebExchange mutatedExchange = exchange.mutate()
-                .request(mutatedRequest.build())
-                .build();
+        @Override
+        @NonNull
+        public Mono<Void> writeWith(@NonNull Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(this::count));
+        }
 
-        long start = System.currentTimeMillis();
+        @Override
+        @NonNull
+        public Mono<Void> writeAndFlushWith(@NonNull Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return super.writeAndFlushWith(Flux.from(body).map(chunk -> Flux.from(chunk).doOnNext(this::count)));
+        }
 
-        return chain.filter(mutatedExchange)
-                .then(Mono.fromRunnable(() -> {
-                    long time = System.currentTimeMillis() - start;
-                    log.info("⬅️ [{} ms] Response {} {}", time,
-                            exchange.getResponse().getStatusCode(), path);
-                }));
-    }
+        private void count(DataBuffer buffer) {
+            bytes.addAndGet(buffer.readableByteCount());
+        }
 
-    @Override
-    public int getOrder() {
-        return 0;
+        long bytesWritten() {
+            return bytes.get();
+        }
     }
-}
\ No newline at end of file
+}
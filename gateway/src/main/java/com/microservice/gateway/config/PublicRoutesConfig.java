@@ -0,0 +1,16 @@
+package com.microservice.gateway.config;
+
+import com.microservice.gateway.security.PublicRouteMatcher;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PublicRoutesProperties.class)
+public class PublicRoutesConfig {
+
+    @Bean
+    public PublicRouteMatcher publicRouteMatcher(PublicRoutesProperties properties) {
+        return PublicRouteMatcher.of(properties.prefixes(), properties.exact());
+    }
+}
@@ -0,0 +1,14 @@
+package com.microservice.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+@ConfigurationProperties(prefix = "gateway.public-routes")
+public record PublicRoutesProperties(List<String> prefixes, List<String> exact) {
+
+    public PublicRoutesProperties {
+        prefixes = prefixes == null ? List.of() : List.copyOf(prefixes);
+        exact = exact == null ? List.of() : List.copyOf(exact);
+    }
+}
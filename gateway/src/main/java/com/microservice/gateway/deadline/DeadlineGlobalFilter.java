@@ -0,0 +1,73 @@
+package com.microservice.gateway.deadline;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Define o deadline da requisição na chegada ao gateway: o orçamento da rota
+ * ou, se menor, o orçamento já informado pelo cliente em {@link #TIMEOUT_HEADER}.
+ * Requisições que chegam com o orçamento esgotado são rejeitadas com {@code 504}.
+ * O header com o tempo restante é escrito pelo {@link DeadlineHeaderGlobalFilter}.
+ */
+@Component
+@EnableConfigurationProperties(DeadlineProperties.class)
+public class DeadlineGlobalFilter implements GlobalFilter, Ordered {
+
+    /** Tempo restante em milissegundos; relativo, para não depender do relógio de cada host. */
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+    public static final String DEADLINE_NANOS_ATTR = DeadlineGlobalFilter.class.getName() + ".deadlineNanos";
+
+    private static final Logger log = LoggerFactory.getLogger(DeadlineGlobalFilter.class);
+
+    private final DeadlineProperties properties;
+
+    public DeadlineGlobalFilter(DeadlineProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.enabled()) {
+            return chain.filter(exchange);
+        }
+
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        long budgetMillis = properties.timeoutFor(route != null ? route.getId() : null).toMillis();
+
+        String incoming = exchange.getRequest().getHeaders().getFirst(TIMEOUT_HEADER);
+        if (incoming != null) {
+            try {
+                budgetMillis = Math.min(budgetMillis, Long.parseLong(incoming.trim()));
+            } catch (NumberFormatException e) {
+                log.debug("Header {} inválido ignorado: {}", TIMEOUT_HEADER, incoming);
+            }
+        }
+
+        if (budgetMillis <= 0) {
+            exchange.getResponse().setStatusCode(HttpStatus.GATEWAY_TIMEOUT);
+            return exchange.getResponse().setComplete();
+        }
+
+        exchange.getAttributes().put(DEADLINE_NANOS_ATTR, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis));
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        // Antes dos filtros da rota (ordem 0: hedge, circuit breaker): cada tentativa copia os
+        // atributos do exchange e precisa herdar o deadline já definido, não começar um novo
+        return -1;
+    }
+}
@@ -0,0 +1,47 @@
+package com.microservice.gateway.deadline;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escreve o tempo restante do deadline no header enviado ao serviço downstream,
+ * imediatamente antes do roteamento. Executa em cada tentativa (ex.: hedge), de modo que
+ * o orçamento reflete o tempo já gasto no gateway. Sem tempo restante, a chamada não é feita.
+ */
+@Component
+public class DeadlineHeaderGlobalFilter implements GlobalFilter, Ordered {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Long deadlineNanos = exchange.getAttribute(DeadlineGlobalFilter.DEADLINE_NANOS_ATTR);
+        if (deadlineNanos == null) {
+            return chain.filter(exchange);
+        }
+
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+        if (remainingMillis <= 0) {
+            exchange.getResponse().setStatusCode(HttpStatus.GATEWAY_TIMEOUT);
+            return exchange.getResponse().setComplete();
+        }
+
+        ServerWebExchange stamped = exchange.mutate()
+                .request(request -> request.headers(headers ->
+                        headers.set(DeadlineGlobalFilter.TIMEOUT_HEADER, Long.toString(remainingMillis))))
+                .build();
+        return chain.filter(stamped);
+    }
+
+    @Override
+    public int getOrder() {
+        // Antes do UpstreamTimingGlobalFilter (NettyRoutingFilter.ORDER - 1)
+        return NettyRoutingFilter.ORDER - 2;
+    }
+}
@@ -0,0 +1,29 @@
+package com.microservice.gateway.deadline;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * @param enabled         liga/desliga a propagação de deadline para os serviços downstream
+ * @param defaultTimeout  orçamento de tempo das rotas sem configuração própria
+ * @param routes          orçamento por id de rota
+ */
+@ConfigurationProperties(prefix = "gateway.deadline")
+public record DeadlineProperties(
+        boolean enabled,
+        Duration defaultTimeout,
+        Map<String, Duration> routes) {
+
+    public DeadlineProperties {
+        if (defaultTimeout == null || defaultTimeout.isNegative() || defaultTimeout.isZero()) {
+            defaultTimeout = Duration.ofSeconds(5);
+        }
+        routes = routes == null ? Map.of() : Map.copyOf(routes);
+    }
+
+    public Duration timeoutFor(String routeId) {
+        return routeId == null ? defaultTimeout : routes.getOrDefault(routeId, defaultTimeout);
+    }
+}
@@ -0,0 +1,180 @@
+package com.microservice.gateway.hedging;
+
+import com.microservice.gateway.support.UpstreamResponseWriter;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.lang.NonNull;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.netty.Connection;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR;
+
+/**
+ * Uma tentativa (primária ou hedge) executada sobre uma cópia isolada do exchange: atributos
+ * próprios (rota, instância escolhida, conexão downstream) e um response que apenas registra
+ * status, headers e corpo. Somente a tentativa vencedora é reproduzida no response real.
+ */
+final class HedgeAttempt {
+
+    private final AttemptExchange exchange;
+
+    HedgeAttempt(ServerWebExchange original) {
+        this.exchange = new AttemptExchange(original);
+    }
+
+    Map<String, Object> attributes() {
+        return exchange.getAttributes();
+    }
+
+    /**
+     * Resposta 5xx do serviço, do limitador de concorrência ou do fallback do circuit breaker:
+     * não deve vencer uma tentativa que ainda pode ter sucesso.
+     */
+    boolean failed() {
+        HttpStatusCode status = exchange.response.status;
+        return status != null && status.is5xxServerError();
+    }
+
+    Mono<HedgeAttempt> run(GatewayFilterChain chain) {
+        return chain.filter(exchange)
+                .then(Mono.just(this))
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL) {
+                        discard();
+                    }
+                });
+    }
+
+    /**
+     * Copia status, headers e atributos para o exchange original e escreve o corpo
+     * (capturado ou ainda pendente na conexão downstream).
+     */
+    Mono<Void> replayTo(ServerWebExchange original) {
+        AttemptResponse captured = exchange.response;
+        ServerHttpResponse response = original.getResponse();
+
+        if (captured.status != null) {
+            response.setStatusCode(captured.status);
+        }
+        response.getHeaders().putAll(captured.headers);
+
+        Mono<Void> body = captured.body != null
+                ? response.writeWith(Mono.just(response.bufferFactory().wrap(captured.body)))
+                : UpstreamResponseWriter.writeBody(exchange, response);
+
+        original.getAttributes().putAll(exchange.getAttributes());
+        return body;
+    }
+
+    void discard() {
+        Connection connection = (Connection) exchange.getAttributes().remove(CLIENT_RESPONSE_CONN_ATTR);
+        UpstreamResponseWriter.dispose(connection);
+    }
+
+    private static final class AttemptExchange extends ServerWebExchangeDecorator {
+
+        private final Map<String, Object> attributes;
+        private final AttemptResponse response;
+
+        AttemptExchange(ServerWebExchange delegate) {
+            super(delegate);
+            this.attributes = new ConcurrentHashMap<>(delegate.getAttributes());
+            this.response = new AttemptResponse(delegate.getResponse());
+        }
+
+        @Override
+        @NonNull
+        public ServerHttpResponse getResponse() {
+            return response;
+        }
+
+        @Override
+        @NonNull
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getAttribute(@NonNull String name) {
+            return (T) attributes.get(name);
+        }
+    }
+
+    private static final class AttemptResponse extends ServerHttpResponseDecorator {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private volatile HttpStatusCode status;
+        private volatile byte[] body;
+
+        AttemptResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public boolean setStatusCode(HttpStatusCode status) {
+            this.status = status;
+            return true;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return status;
+        }
+
+        @Override
+        @Deprecated
+        public boolean setRawStatusCode(Integer value) {
+            return setStatusCode(value != null ? HttpStatusCode.valueOf(value) : null);
+        }
+
+        @Override
+        @NonNull
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public boolean isCommitted() {
+            return false;
+        }
+
+        @Override
+        @NonNull
+        public Mono<Void> writeWith(@NonNull Publisher<? extends DataBuffer> body) {
+            return DataBufferUtils.join(body)
+                    .doOnNext(joined -> {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+                        this.body = bytes;
+                    })
+                    .then();
+        }
+
+        @Override
+        @NonNull
+        public Mono<Void> writeAndFlushWith(@NonNull Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return writeWith(Flux.from(body).concatMap(Flux::from));
+        }
+
+        @Override
+        @NonNull
+        public Mono<Void> setComplete() {
+            return Mono.empty();
+        }
+    }
+}
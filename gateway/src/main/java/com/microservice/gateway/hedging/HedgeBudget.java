@@ -0,0 +1,48 @@
+package com.microservice.gateway.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Orçamento de hedges no estilo do retry budget do Finagle: cada requisição deposita uma fração
+ * de token ({@code budgetPercent / 100}) e cada hedge consome um token inteiro. Assim os hedges
+ * nunca passam da porcentagem configurada de carga extra, com uma pequena folga ({@code burst}).
+ */
+final class HedgeBudget {
+
+    // saldo em milésimos de token para evitar ponto flutuante no caminho quente
+    private static final long TOKEN = 1_000;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    HedgeBudget(double budgetPercent, int burst) {
+        this.depositPerRequest = Math.round(budgetPercent * TOKEN / 100);
+        this.maxBalance = burst * TOKEN;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    void deposit() {
+        if (depositPerRequest == 0) {
+            return;
+        }
+        long current;
+        do {
+            current = balance.get();
+            if (current >= maxBalance) {
+                return;
+            }
+        } while (!balance.compareAndSet(current, Math.min(maxBalance, current + depositPerRequest)));
+    }
+
+    boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+}
@@ -0,0 +1,68 @@
+package com.microservice.gateway.hedging;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Espera antes do hedge, derivada do percentil configurado da latência observada da rota.
+ * O snapshot do histograma é recalculado no máximo uma vez por segundo.
+ */
+final class HedgeDelay {
+
+    private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long MIN_SAMPLES = 100;
+
+    private final Timer latency;
+    private final double percentile;
+    private final long minNanos;
+    private final long maxNanos;
+
+    private volatile long currentNanos;
+    private volatile long refreshAtNanos;
+
+    HedgeDelay(String routeId, double percentile, Duration minDelay, Duration maxDelay, MeterRegistry registry) {
+        this.percentile = percentile;
+        this.minNanos = minDelay.toNanos();
+        this.maxNanos = maxDelay.toNanos();
+        this.currentNanos = maxNanos;
+        this.refreshAtNanos = System.nanoTime();
+        this.latency = Timer.builder("gateway.hedging.latency")
+                .description("Latência até a primeira resposta nas rotas com hedge")
+                .tag("route", routeId)
+                .publishPercentiles(percentile)
+                .distributionStatisticExpiry(Duration.ofMinutes(1))
+                .register(registry);
+    }
+
+    void record(long nanos) {
+        latency.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    Duration current() {
+        long now = System.nanoTime();
+        if (now - refreshAtNanos >= 0) {
+            refreshAtNanos = now + REFRESH_NANOS;
+            currentNanos = compute();
+        }
+        return Duration.ofNanos(currentNanos);
+    }
+
+    private long compute() {
+        HistogramSnapshot snapshot = latency.takeSnapshot();
+        if (snapshot.count() < MIN_SAMPLES) {
+            return maxNanos;
+        }
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            if (value.percentile() == percentile) {
+                long nanos = (long) value.value(TimeUnit.NANOSECONDS);
+                return Math.max(minNanos, Math.min(maxNanos, nanos));
+            }
+        }
+        return maxNanos;
+    }
+}
@@ -0,0 +1,125 @@
+package com.microservice.gateway.hedging;
+
+import com.microservice.gateway.loadbalancer.LatencyAwareLoadBalancer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+
+/**
+ * Hedge de leituras idempotentes: se a tentativa primária não responder dentro da espera
+ * derivada do p95 da rota, uma segunda tentativa é enviada a outra instância. A primeira
+ * resposta bem-sucedida (sem erro e sem status 5xx) vence e a outra tentativa é cancelada; uma
+ * falha rápida (ex.: 503 do limitador ou do circuit breaker) só é devolvida se as duas falharem.
+ * O {@link HedgeBudget} limita a carga extra.
+ */
+class HedgingGatewayFilter implements GatewayFilter {
+
+    private final HedgeDelay delay;
+    private final HedgeBudget budget;
+    private final Counter sent;
+    private final Counter won;
+    private final Counter denied;
+
+    HedgingGatewayFilter(String routeId, HedgeDelay delay, HedgeBudget budget, MeterRegistry registry) {
+        this.delay = delay;
+        this.budget = budget;
+        this.sent = counter(registry, routeId, "sent");
+        this.won = counter(registry, routeId, "won");
+        this.denied = counter(registry, routeId, "budget-exhausted");
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        HttpMethod method = exchange.getRequest().getMethod();
+        if (!HttpMethod.GET.equals(method) && !HttpMethod.HEAD.equals(method)) {
+            return chain.filter(exchange);
+        }
+
+        budget.deposit();
+        long start = System.nanoTime();
+
+        HedgeAttempt primary = new HedgeAttempt(exchange);
+        // Se a primária terminar (mesmo com falha) antes da espera, o hedge não é enviado
+        Sinks.One<Boolean> primaryFinished = Sinks.one();
+        Mono<Outcome> primaryOutcome = outcomeOf(primary, chain)
+                .doOnNext(ignored -> primaryFinished.tryEmitValue(true));
+        Mono<Outcome> hedgeOutcome = Mono.delay(delay.current())
+                .takeUntilOther(primaryFinished.asMono())
+                .flatMap(ignored -> {
+                    if (!budget.tryWithdraw()) {
+                        denied.increment();
+                        return Mono.empty();
+                    }
+                    sent.increment();
+                    return outcomeOf(hedgeFor(exchange, primary), chain);
+                });
+
+        return Flux.merge(primaryOutcome, hedgeOutcome)
+                .takeUntil(Outcome::succeeded)
+                .collectList()
+                .flatMap(outcomes -> {
+                    // A última é a primeira bem-sucedida ou, se todas falharam, a última falha
+                    Outcome chosen = outcomes.get(outcomes.size() - 1);
+                    for (Outcome outcome : outcomes) {
+                        if (outcome != chosen) {
+                            outcome.attempt().discard();
+                        }
+                    }
+                    if (chosen.succeeded()) {
+                        delay.record(System.nanoTime() - start);
+                        if (chosen.attempt() != primary) {
+                            won.increment();
+                        }
+                    }
+                    return chosen.error() != null
+                            ? Mono.error(chosen.error())
+                            : chosen.attempt().replayTo(exchange);
+                });
+    }
+
+    private static Mono<Outcome> outcomeOf(HedgeAttempt attempt, GatewayFilterChain chain) {
+        return attempt.run(chain)
+                .map(completed -> new Outcome(completed, null))
+                .onErrorResume(error -> Mono.just(new Outcome(attempt, error)));
+    }
+
+    /**
+     * A tentativa hedge leva a instância escolhida para a primária, que o
+     * {@link LatencyAwareLoadBalancer} evita ao escolher a próxima.
+     */
+    @SuppressWarnings("unchecked")
+    private static HedgeAttempt hedgeFor(ServerWebExchange exchange, HedgeAttempt primary) {
+        HedgeAttempt hedge = new HedgeAttempt(exchange);
+        Response<ServiceInstance> chosen = (Response<ServiceInstance>) primary.attributes()
+                .get(GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (chosen != null && chosen.hasServer()) {
+            hedge.attributes().put(LatencyAwareLoadBalancer.EXCLUDED_INSTANCE_ATTR, chosen.getServer());
+        }
+        return hedge;
+    }
+
+    private record Outcome(HedgeAttempt attempt, Throwable error) {
+
+        boolean succeeded() {
+            return error == null && !attempt.failed();
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String routeId, String result) {
+        return Counter.builder("gateway.hedging.requests")
+                .description("Hedges enviados, vencedores e negados pelo orçamento")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(registry);
+    }
+}
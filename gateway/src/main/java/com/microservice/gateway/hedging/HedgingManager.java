@@ -0,0 +1,40 @@
+package com.microservice.gateway.hedging;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cria os filtros de hedge para as rotas listadas em {@code gateway.hedging.routes}
+ * (opt-in: somente rotas cujas leituras são idempotentes).
+ */
+@Component
+@EnableConfigurationProperties(HedgingProperties.class)
+public class HedgingManager {
+
+    private static final Logger log = LoggerFactory.getLogger(HedgingManager.class);
+
+    private final HedgingProperties properties;
+    private final MeterRegistry registry;
+
+    public HedgingManager(HedgingProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    public GatewayFilter filterFor(String routeId) {
+        if (!properties.enabled() || !properties.routes().contains(routeId)) {
+            return (exchange, chain) -> chain.filter(exchange);
+        }
+        log.info("Hedge de requisições habilitado para a rota {} (orçamento de {}%)",
+                routeId, properties.budgetPercent());
+
+        HedgeDelay delay = new HedgeDelay(routeId, properties.percentile(),
+                properties.minDelay(), properties.maxDelay(), registry);
+        HedgeBudget budget = new HedgeBudget(properties.budgetPercent(), properties.budgetBurst());
+        return new HedgingGatewayFilter(routeId, delay, budget, registry);
+    }
+}
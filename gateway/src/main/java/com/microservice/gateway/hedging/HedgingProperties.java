@@ -0,0 +1,40 @@
+package com.microservice.gateway.hedging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @param enabled        liga/desliga o envio de requisições "hedge"
+ * @param routes         ids das rotas (idempotentes) onde o hedge é permitido
+ * @param percentile     percentil da latência da rota usado como espera antes do hedge (ex.: 0.95)
+ * @param minDelay       espera mínima antes do hedge, mesmo com a rota muito rápida
+ * @param maxDelay       espera máxima; usada também enquanto não há amostras suficientes
+ * @param budgetPercent  carga extra máxima gerada pelos hedges, em % das requisições da rota
+ * @param budgetBurst    hedges que podem ser disparados em sequência com saldo acumulado
+ */
+@ConfigurationProperties(prefix = "gateway.hedging")
+public record HedgingProperties(
+        boolean enabled,
+        List<String> routes,
+        double percentile,
+        Duration minDelay,
+        Duration maxDelay,
+        double budgetPercent,
+        int budgetBurst) {
+
+    public HedgingProperties {
+        routes = routes == null ? List.of() : List.copyOf(routes);
+        if (percentile <= 0 || percentile >= 1) percentile = 0.95;
+        if (minDelay == null || minDelay.isNegative()) minDelay = Duration.ofMillis(5);
+        if (maxDelay == null) maxDelay = Duration.ofMillis(500);
+        if (maxDelay.compareTo(minDelay) < 0) {
+            throw new IllegalArgumentException("max-delay deve ser maior ou igual a min-delay");
+        }
+        if (budgetPercent < 0 || budgetPercent > 100) {
+            throw new IllegalArgumentException("budget-percent deve estar entre 0 e 100");
+        }
+        if (budgetBurst <= 0) budgetBurst = 10;
+    }
+}
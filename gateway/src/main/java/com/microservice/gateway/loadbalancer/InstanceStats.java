@@ -0,0 +1,84 @@
+package com.microservice.gateway.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Estatísticas de uma instância para o balanceamento: latência "peak EWMA"
+ * (sobe imediatamente com picos e decai exponencialmente) e requisições em andamento.
+ * O custo {@code latência × (em andamento + 1)} estima quanto uma nova requisição esperaria.
+ */
+final class InstanceStats {
+
+    // custo de uma instância ainda sem amostras, mas já ocupada: evita inundar instâncias recém-registradas
+    private static final double PENALTY = Long.MAX_VALUE >> 16;
+
+    private final double decayNanos;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private double ewmaNanos;
+    private long lastSampleNanos;
+    // System.nanoTime() pode ser negativo: sem a flag, o valor inicial 0 ejetaria a instância
+    private volatile boolean ejected;
+    private volatile long ejectedUntilNanos;
+
+    InstanceStats(long decayNanos) {
+        this.decayNanos = decayNanos;
+    }
+
+    void onStart() {
+        outstanding.incrementAndGet();
+    }
+
+    /**
+     * @return {@code true} se a falha fez a instância ser ejetada
+     */
+    boolean onComplete(long latencyNanos, boolean failed, long nowNanos, int failureThreshold, long ejectionNanos) {
+        outstanding.decrementAndGet();
+        observe(latencyNanos, nowNanos);
+
+        if (!failed) {
+            consecutiveFailures.set(0);
+            return false;
+        }
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            consecutiveFailures.set(0);
+            ejectedUntilNanos = nowNanos + ejectionNanos;
+            ejected = true;
+            return true;
+        }
+        return false;
+    }
+
+    double cost(long nowNanos) {
+        int active = outstanding.get();
+        double latency = latency(nowNanos);
+        if (latency == 0) {
+            return active == 0 ? 0 : PENALTY + active;
+        }
+        return latency * (active + 1);
+    }
+
+    boolean isEjected(long nowNanos) {
+        return ejected && nowNanos - ejectedUntilNanos < 0;
+    }
+
+    int outstanding() {
+        return outstanding.get();
+    }
+
+    private synchronized void observe(long latencyNanos, long nowNanos) {
+        if (latencyNanos > ewmaNanos) {
+            ewmaNanos = latencyNanos;
+        } else {
+            double weight = Math.exp(-Math.max(0, nowNanos - lastSampleNanos) / decayNanos);
+            ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+        }
+        lastSampleNanos = nowNanos;
+    }
+
+    private synchronized double latency(long nowNanos) {
+        // sem amostras recentes o custo decai, permitindo que uma instância recuperada volte a ser testada
+        return ewmaNanos * Math.exp(-Math.max(0, nowNanos - lastSampleNanos) / decayNanos);
+    }
+}
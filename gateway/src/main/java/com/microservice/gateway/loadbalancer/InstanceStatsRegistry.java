@@ -0,0 +1,62 @@
+package com.microservice.gateway.loadbalancer;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Estatísticas por instância compartilhadas entre o {@link LatencyAwareLoadBalancer} (leitura)
+ * e o {@link LoadBalancerStatsGlobalFilter} (registro das chamadas).
+ */
+@Component
+@EnableConfigurationProperties(LoadBalancerProperties.class)
+public class InstanceStatsRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(InstanceStatsRegistry.class);
+
+    private final LoadBalancerProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, InstanceStats> stats;
+
+    public InstanceStatsRegistry(LoadBalancerProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.stats = CacheBuilder.newBuilder()
+                .expireAfterAccess(properties.statsExpiry())
+                .build();
+    }
+
+    InstanceStats statsFor(ServiceInstance instance) {
+        try {
+            return stats.get(key(instance), () -> new InstanceStats(properties.decayTime().toNanos()));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    void onComplete(ServiceInstance instance, long latencyNanos, boolean failed) {
+        boolean ejected = statsFor(instance).onComplete(latencyNanos, failed, System.nanoTime(),
+                properties.failureThreshold(), properties.ejectionDuration().toNanos());
+        if (ejected) {
+            log.warn("Instância {} de {} ejetada por {} após falhas consecutivas",
+                    key(instance), instance.getServiceId(), properties.ejectionDuration());
+            Counter.builder("gateway.load.balancer.ejections")
+                    .description("Instâncias retiradas temporariamente do balanceamento por falhas")
+                    .tag("service", String.valueOf(instance.getServiceId()))
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getServiceId() + "/" + instance.getHost() + ":" + instance.getPort();
+    }
+}
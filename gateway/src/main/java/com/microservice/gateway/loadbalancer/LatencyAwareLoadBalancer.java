@@ -0,0 +1,117 @@
+package com.microservice.gateway.loadbalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Seleção "power of two choices": sorteia duas instâncias e escolhe a de menor custo
+ * (latência EWMA × requisições em andamento), ignorando as instâncias ejetadas por falhas.
+ * Uma réplica lenta (ex.: em pausa de GC) deixa de receber sua fatia fixa do round-robin.
+ */
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    /**
+     * Atributo do exchange com uma {@link ServiceInstance} a ser evitada (ex.: a instância
+     * da tentativa primária quando o hedge é enviado), se houver alternativa.
+     */
+    public static final String EXCLUDED_INSTANCE_ATTR = LatencyAwareLoadBalancer.class.getName() + ".excludedInstance";
+
+    private static final Logger log = LoggerFactory.getLogger(LatencyAwareLoadBalancer.class);
+
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final String serviceId;
+    private final InstanceStatsRegistry stats;
+
+    public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+                                    String serviceId, InstanceStatsRegistry stats) {
+        this.supplierProvider = supplierProvider;
+        this.serviceId = serviceId;
+        this.stats = stats;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request)
+                .next()
+                .map(instances -> {
+                    ServiceInstance chosen = choose(withoutExcluded(instances, request), System.nanoTime());
+                    if (chosen == null) {
+                        log.warn("Nenhuma instância disponível para o serviço {}", serviceId);
+                        return new EmptyResponse();
+                    }
+                    return new DefaultResponse(chosen);
+                });
+    }
+
+    ServiceInstance choose(List<ServiceInstance> instances, long nowNanos) {
+        if (instances.isEmpty()) {
+            return null;
+        }
+
+        List<ServiceInstance> candidates = available(instances, nowNanos);
+        int size = candidates.size();
+        if (size == 1) {
+            return candidates.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        ServiceInstance a = candidates.get(first);
+        ServiceInstance b = candidates.get(second);
+        return stats.statsFor(a).cost(nowNanos) <= stats.statsFor(b).cost(nowNanos) ? a : b;
+    }
+
+    private static List<ServiceInstance> withoutExcluded(List<ServiceInstance> instances, Request<?> request) {
+        if (!(request.getContext() instanceof RequestDataContext context) || context.getClientRequest() == null) {
+            return instances;
+        }
+        Object excluded = context.getClientRequest().getAttributes().get(EXCLUDED_INSTANCE_ATTR);
+        if (!(excluded instanceof ServiceInstance excludedInstance) || instances.size() < 2) {
+            return instances;
+        }
+
+        List<ServiceInstance> remaining = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            if (!sameAddress(instance, excludedInstance)) {
+                remaining.add(instance);
+            }
+        }
+        return remaining.isEmpty() ? instances : remaining;
+    }
+
+    private static boolean sameAddress(ServiceInstance a, ServiceInstance b) {
+        return a.getPort() == b.getPort() && a.getHost().equals(b.getHost());
+    }
+
+    private List<ServiceInstance> available(List<ServiceInstance> instances, long nowNanos) {
+        List<ServiceInstance> available = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            if (!stats.statsFor(instance).isEjected(nowNanos)) {
+                available.add(instance);
+            }
+        }
+        // Todas ejetadas: melhor tentar alguma do que falhar sem chamar ninguém
+        return available.isEmpty() ? instances : available;
+    }
+}
@@ -0,0 +1,28 @@
+package com.microservice.gateway.loadbalancer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @param enabled           substitui o round-robin padrão pelo {@link LatencyAwareLoadBalancer}
+ * @param decayTime         janela do EWMA de latência; sem amostras, o custo de uma instância decai nesse tempo
+ * @param failureThreshold  falhas consecutivas que ejetam temporariamente a instância
+ * @param ejectionDuration  tempo que a instância fica fora da seleção após ser ejetada
+ * @param statsExpiry       estatísticas de instâncias sem tráfego são descartadas após esse tempo
+ */
+@ConfigurationProperties(prefix = "gateway.load-balancer")
+public record LoadBalancerProperties(
+        boolean enabled,
+        Duration decayTime,
+        int failureThreshold,
+        Duration ejectionDuration,
+        Duration statsExpiry) {
+
+    public LoadBalancerProperties {
+        if (decayTime == null || decayTime.isNegative() || decayTime.isZero()) decayTime = Duration.ofSeconds(10);
+        if (failureThreshold <= 0) failureThreshold = 3;
+        if (ejectionDuration == null || ejectionDuration.isNegative()) ejectionDuration = Duration.ofSeconds(30);
+        if (statsExpiry == null || statsExpiry.isNegative() || statsExpiry.isZero()) statsExpiry = Duration.ofMinutes(10);
+    }
+}
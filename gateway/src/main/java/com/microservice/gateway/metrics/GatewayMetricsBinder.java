@@ -0,0 +1,66 @@
+package com.microservice.gateway.metrics;
+
+import com.microservice.gateway.accesslog.AccessLogWriter;
+import com.microservice.gateway.security.JwtRejection;
+import com.microservice.gateway.security.JwtValidator;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exporta contadores já mantidos pelos componentes do gateway (cache de JWT e access log).
+ */
+@Component
+public class GatewayMetricsBinder implements MeterBinder {
+
+    private final JwtValidator jwtValidator;
+    private final AccessLogWriter accessLogWriter;
+
+    public GatewayMetricsBinder(JwtValidator jwtValidator, AccessLogWriter accessLogWriter) {
+        this.jwtValidator = jwtValidator;
+        this.accessLogWriter = accessLogWriter;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("gateway.jwt.cache.requests", jwtValidator, JwtValidator::getCacheHits)
+                .description("Tokens servidos pelo cache de tokens verificados")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("gateway.jwt.cache.requests", jwtValidator, JwtValidator::getCacheMisses)
+                .description("Tokens que exigiram verificação de assinatura")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("gateway.jwt.cache.size", jwtValidator, JwtValidator::getCacheSize)
+                .description("Tokens verificados atualmente em cache")
+                .register(registry);
+        FunctionCounter.builder("gateway.jwt.cache.requests", jwtValidator, JwtValidator::getNegativeCacheHits)
+                .description("Tokens recusados pelo cache negativo, sem verificação de assinatura")
+                .tag("result", "negative_hit")
+                .register(registry);
+        for (JwtRejection reason : JwtRejection.values()) {
+            FunctionCounter.builder("gateway.jwt.rejections", jwtValidator, validator -> validator.getRejections(reason))
+                    .description("Tokens recusados, por motivo")
+                    .tag("reason", reason.tag())
+                    .register(registry);
+        }
+        Gauge.builder("gateway.jwt.key.set.size", jwtValidator, JwtValidator::getKeySetSize)
+                .description("Chaves de verificação no conjunto indexado por kid")
+                .register(registry);
+        FunctionCounter.builder("gateway.jwt.key.set.reloads", jwtValidator, JwtValidator::getKeySetReloads)
+                .description("Recargas do conjunto de chaves publicadas após mudança na origem")
+                .tag("result", "success")
+                .register(registry);
+        FunctionCounter.builder("gateway.jwt.key.set.reloads", jwtValidator, JwtValidator::getKeySetReloadFailures)
+                .description("Recargas rejeitadas; o conjunto anterior continua em uso")
+                .tag("result", "failure")
+                .register(registry);
+
+        FunctionCounter.builder("gateway.access.log.dropped", accessLogWriter, AccessLogWriter::getDroppedCount)
+                .description("Registros de access log descartados por fila cheia")
+                .register(registry);
+    }
+}
@@ -0,0 +1,82 @@
+package com.microservice.gateway.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Medidores de uma rota. Os timers por status são criados sob demanda e guardados em um
+ * array indexado pelo código HTTP, evitando montar tags a cada requisição.
+ */
+final class RouteMeters {
+
+    private static final int MAX_STATUS = 600;
+
+    private final MeterRegistry registry;
+    private final String routeId;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Timer[] totalByStatus = new Timer[MAX_STATUS];
+    private final Timer upstream;
+    private final Timer overhead;
+
+    RouteMeters(MeterRegistry registry, String routeId) {
+        this.registry = registry;
+        this.routeId = routeId;
+
+        Gauge.builder("gateway.route.in.flight", inFlight, AtomicInteger::get)
+                .description("Requisições em andamento por rota")
+                .tag("route", routeId)
+                .register(registry);
+
+        this.upstream = histogram("gateway.route.upstream.latency",
+                "Tempo até a resposta do serviço downstream", routeId)
+                .register(registry);
+
+        this.overhead = histogram("gateway.route.overhead.latency",
+                "Tempo gasto no próprio gateway (total menos downstream)", routeId)
+                .register(registry);
+    }
+
+    void begin() {
+        inFlight.incrementAndGet();
+    }
+
+    void end(int status, long totalNanos, long upstreamNanos) {
+        inFlight.decrementAndGet();
+        totalTimer(status).record(totalNanos, TimeUnit.NANOSECONDS);
+        if (upstreamNanos >= 0) {
+            upstream.record(upstreamNanos, TimeUnit.NANOSECONDS);
+            overhead.record(Math.max(0, totalNanos - upstreamNanos), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private Timer totalTimer(int status) {
+        int index = status > 0 && status < MAX_STATUS ? status : 0;
+        Timer timer = totalByStatus[index];
+        if (timer == null) {
+            // Corrida benigna: o registry devolve o mesmo timer para o mesmo id e tags
+            timer = histogram("gateway.route.latency", "Latência total no gateway por rota e status", routeId)
+                    .tag("status", index == 0 ? "UNKNOWN" : Integer.toString(index))
+                    .register(registry);
+            totalByStatus[index] = timer;
+        }
+        return timer;
+    }
+
+    private static Timer.Builder histogram(String name, String description, String routeId) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("route", routeId)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,64 @@
+package com.microservice.gateway.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registra, por rota, histogramas de latência total (por status), latência do serviço
+ * downstream, tempo gasto no gateway e quantidade de requisições em andamento.
+ * A latência downstream é medida pelo {@link UpstreamTimingGlobalFilter}.
+ */
+@Component
+public class RouteMetricsGlobalFilter implements GlobalFilter, Ordered {
+
+    static final String UNMATCHED_ROUTE = "unmatched";
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, RouteMeters> meters = new ConcurrentHashMap<>();
+
+    public RouteMetricsGlobalFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        RouteMeters routeMeters = metersFor(exchange);
+        routeMeters.begin();
+        long start = System.nanoTime();
+
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    Long upstreamNanos = exchange.getAttribute(UpstreamTimingGlobalFilter.UPSTREAM_NANOS_ATTR);
+                    routeMeters.end(
+                            status != null ? status.value() : 0,
+                            System.nanoTime() - start,
+                            upstreamNanos != null ? upstreamNanos : -1
+                    );
+                });
+    }
+
+    RouteMeters metersFor(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : UNMATCHED_ROUTE;
+
+        RouteMeters existing = meters.get(routeId);
+        return existing != null ? existing : meters.computeIfAbsent(routeId, id -> new RouteMeters(registry, id));
+    }
+
+    @Override
+    public int getOrder() {
+        return -3;
+    }
+}
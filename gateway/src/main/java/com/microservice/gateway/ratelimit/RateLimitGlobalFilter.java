@@ -0,0 +1,80 @@
+package com.microservice.gateway.ratelimit;
+
+import com.microservice.gateway.security.UserPrincipal;
+import com.microservice.gateway.support.ClientAddressResolver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controle de admissão por usuário: usa o {@code sub} do JWT (via {@link UserPrincipal})
+ * e, em rotas públicas, o IP do cliente resolvido pelo {@link ClientAddressResolver}. Excedentes recebem {@code 429} com {@code Retry-After}.
+ */
+@Component
+public class RateLimitGlobalFilter implements GlobalFilter, Ordered {
+
+    static final String UNMATCHED_ROUTE = "unmatched";
+
+    private final RateLimiter rateLimiter;
+    private final ClientAddressResolver clientAddressResolver;
+    private final Counter allowed;
+    private final Counter rejected;
+
+    public RateLimitGlobalFilter(RateLimiter rateLimiter, ClientAddressResolver clientAddressResolver,
+                                 MeterRegistry registry) {
+        this.rateLimiter = rateLimiter;
+        this.clientAddressResolver = clientAddressResolver;
+        this.allowed = Counter.builder("gateway.rate.limit.requests").tag("result", "allowed").register(registry);
+        this.rejected = Counter.builder("gateway.rate.limit.requests").tag("result", "rejected").register(registry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!rateLimiter.isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : UNMATCHED_ROUTE;
+
+        long waitNanos = rateLimiter.tryAcquire(routeId, clientKey(exchange));
+        if (waitNanos == 0) {
+            allowed.increment();
+            return chain.filter(exchange);
+        }
+
+        rejected.increment();
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return exchange.getResponse().setComplete();
+    }
+
+    String clientKey(ServerWebExchange exchange) {
+        UserPrincipal principal = exchange.getAttribute(UserPrincipal.EXCHANGE_ATTRIBUTE);
+        if (principal != null && principal.id() != null) {
+            return principal.id();
+        }
+
+        // Rotas públicas: X-Forwarded-For só vale quando a conexão vem de um proxy confiável
+        String address = clientAddressResolver.resolve(exchange.getRequest());
+        return "ip:" + (address != null ? address : "unknown");
+    }
+
+    @Override
+    public int getOrder() {
+        // Logo após o JwtAuthGlobalFilter (-1), quando o principal já está disponível
+        return 0;
+    }
+}
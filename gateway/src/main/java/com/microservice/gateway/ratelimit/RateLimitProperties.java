@@ -0,0 +1,46 @@
+package com.microservice.gateway.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * @param enabled       liga/desliga o rate limiting
+ * @param defaultQuota  cota aplicada às rotas sem configuração própria
+ * @param routes        cotas por id de rota
+ * @param idleEviction  tempo sem uso após o qual o bucket de um usuário é removido da memória
+ */
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public record RateLimitProperties(
+        boolean enabled,
+        Quota defaultQuota,
+        Map<String, Quota> routes,
+        Duration idleEviction) {
+
+    public RateLimitProperties {
+        if (defaultQuota == null) defaultQuota = new Quota(50, 100);
+        routes = routes == null ? Map.of() : Map.copyOf(routes);
+        if (idleEviction == null || idleEviction.isNegative() || idleEviction.isZero()) {
+            idleEviction = Duration.ofMinutes(5);
+        }
+    }
+
+    /**
+     * @param requestsPerSecond taxa sustentada de reposição de tokens
+     * @param burst             capacidade do bucket (rajada máxima)
+     */
+    public record Quota(double requestsPerSecond, int burst) {
+
+        public Quota {
+            if (requestsPerSecond <= 0) {
+                throw new IllegalArgumentException("requests-per-second deve ser maior que zero");
+            }
+            if (burst <= 0) burst = 1;
+        }
+    }
+
+    public Quota quotaFor(String routeId) {
+        return routes.getOrDefault(routeId, defaultQuota);
+    }
+}
@@ -0,0 +1,104 @@
+package com.microservice.gateway.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limiter em memória: um mapa de buckets por rota, indexado pelo usuário (ou IP).
+ * Buckets ociosos são removidos periodicamente para limitar o uso de memória.
+ */
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimiter {
+
+    private final RateLimitProperties properties;
+    private final ConcurrentMap<String, RouteBuckets> routes = new ConcurrentHashMap<>();
+    private ScheduledExecutorService evictor;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+
+        Gauge.builder("gateway.rate.limit.buckets", routes,
+                        map -> map.values().stream().mapToInt(RouteBuckets::size).sum())
+                .description("Buckets de rate limiting mantidos em memória")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        long periodMillis = Math.max(1_000, properties.idleEviction().toMillis() / 2);
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable ->
+                Thread.ofPlatform().name("gateway-rate-limit-evictor").daemon(true).unstarted(runnable));
+        evictor.scheduleWithFixedDelay(this::evictIdle, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * @return {@code 0} se admitida; caso contrário, nanos até a próxima requisição ser aceita
+     */
+    public long tryAcquire(String routeId, String clientKey) {
+        RouteBuckets buckets = routes.get(routeId);
+        if (buckets == null) {
+            buckets = routes.computeIfAbsent(routeId, id -> new RouteBuckets(properties.quotaFor(id)));
+        }
+        return buckets.tryAcquire(clientKey, System.nanoTime());
+    }
+
+    void evictIdle() {
+        long now = System.nanoTime();
+        long idleNanos = properties.idleEviction().toNanos();
+        routes.values().forEach(buckets -> buckets.evictIdle(now, idleNanos));
+    }
+
+    int bucketCount() {
+        return routes.values().stream().mapToInt(RouteBuckets::size).sum();
+    }
+
+    private static final class RouteBuckets {
+
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+        RouteBuckets(RateLimitProperties.Quota quota) {
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / quota.requestsPerSecond());
+            this.burstNanos = intervalNanos * quota.burst();
+        }
+
+        long tryAcquire(String clientKey, long nowNanos) {
+            TokenBucket bucket = buckets.get(clientKey);
+            if (bucket == null) {
+                bucket = buckets.computeIfAbsent(clientKey, key -> new TokenBucket(nowNanos));
+            }
+            return bucket.tryAcquire(nowNanos, intervalNanos, burstNanos);
+        }
+
+        void evictIdle(long nowNanos, long idleNanos) {
+            buckets.values().removeIf(bucket -> bucket.isIdle(nowNanos, idleNanos));
+        }
+
+        int size() {
+            return buckets.size();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.microservice.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sem locks no formato GCRA: o estado inteiro é um único instante teórico de
+ * chegada (TAT), atualizado por CAS. Um bucket cujo TAT já passou está cheio.
+ */
+final class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(long nowNanos) {
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return {@code 0} se a requisição foi admitida; caso contrário, nanos até haver um token
+     */
+    long tryAcquire(long nowNanos, long intervalNanos, long burstNanos) {
+        for (; ; ) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long excess = next - nowNanos - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    boolean isIdle(long nowNanos, long idleNanos) {
+        return theoreticalArrival.get() + idleNanos < nowNanos;
+    }
+}
@@ -0,0 +1,46 @@
+package com.microservice.gateway.resilience;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Contabiliza as transições de estado dos circuit breakers ({@code CLOSED -> OPEN} etc.).
+ * O estado atual, taxas e chamadas já são exportados pelo módulo resilience4j-micrometer.
+ */
+@Component
+public class CircuitBreakerMetricsBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreakerMetricsBinder.class);
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final MeterRegistry meterRegistry;
+
+    public CircuitBreakerMetricsBinder(CircuitBreakerRegistry circuitBreakerRegistry, MeterRegistry meterRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void bind() {
+        circuitBreakerRegistry.getAllCircuitBreakers().forEach(this::bind);
+        circuitBreakerRegistry.getEventPublisher()
+                .onEntryAdded(event -> bind(event.getAddedEntry()));
+    }
+
+    void bind(CircuitBreaker circuitBreaker) {
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            CircuitBreaker.StateTransition transition = event.getStateTransition();
+            log.warn("Circuit breaker {} mudou de {} para {}",
+                    event.getCircuitBreakerName(), transition.getFromState(), transition.getToState());
+            meterRegistry.counter("gateway.circuit.breaker.transitions",
+                    "name", event.getCircuitBreakerName(),
+                    "from", transition.getFromState().name(),
+                    "to", transition.getToState().name()).increment();
+        });
+    }
+}
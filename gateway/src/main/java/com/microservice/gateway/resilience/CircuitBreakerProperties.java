@@ -0,0 +1,80 @@
+package com.microservice.gateway.resilience;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuração dos circuit breakers das rotas: {@code defaults} vale para todas as rotas
+ * e {@code routes} sobrescreve, campo a campo, apenas os valores informados para a rota.
+ */
+@ConfigurationProperties(prefix = "gateway.circuit-breaker")
+public record CircuitBreakerProperties(Settings defaults, Map<String, Settings> routes) {
+
+    public CircuitBreakerProperties {
+        defaults = defaults == null ? Settings.DEFAULT : defaults.over(Settings.DEFAULT);
+        Settings base = defaults;
+        Map<String, Settings> merged = new HashMap<>();
+        if (routes != null) {
+            routes.forEach((routeId, settings) -> merged.put(routeId, settings.over(base)));
+        }
+        routes = Map.copyOf(merged);
+    }
+
+    public Settings settingsFor(String routeId) {
+        return routes.getOrDefault(routeId, defaults);
+    }
+
+    /**
+     * Campos não informados ({@code null}) herdam o valor de {@code defaults}.
+     *
+     * @param slidingWindowSize               quantidade de chamadas na janela deslizante
+     * @param minimumNumberOfCalls            chamadas mínimas antes de calcular as taxas
+     * @param failureRateThreshold            % de falhas que abre o circuito
+     * @param slowCallRateThreshold           % de chamadas lentas que abre o circuito
+     * @param slowCallDurationThreshold       duração a partir da qual a chamada é considerada lenta
+     * @param waitDurationInOpenState         tempo em aberto antes de testar (half-open)
+     * @param permittedCallsInHalfOpenState   chamadas de teste no estado half-open
+     * @param timeout                         tempo máximo de espera pela resposta downstream
+     */
+    public record Settings(
+            Integer slidingWindowSize,
+            Integer minimumNumberOfCalls,
+            Float failureRateThreshold,
+            Float slowCallRateThreshold,
+            Duration slowCallDurationThreshold,
+            Duration waitDurationInOpenState,
+            Integer permittedCallsInHalfOpenState,
+            Duration timeout) {
+
+        static final Settings DEFAULT = new Settings(50, 20, 50f, 80f,
+                Duration.ofSeconds(2), Duration.ofSeconds(10), 5, Duration.ofSeconds(5));
+
+        public Settings {
+            if (slidingWindowSize != null && slidingWindowSize <= 0) slidingWindowSize = null;
+            if (minimumNumberOfCalls != null && minimumNumberOfCalls <= 0) minimumNumberOfCalls = null;
+            if (failureRateThreshold != null && failureRateThreshold <= 0) failureRateThreshold = null;
+            if (slowCallRateThreshold != null && slowCallRateThreshold <= 0) slowCallRateThreshold = null;
+            if (permittedCallsInHalfOpenState != null && permittedCallsInHalfOpenState <= 0) {
+                permittedCallsInHalfOpenState = null;
+            }
+        }
+
+        /**
+         * Estas configurações sobre {@code base}: cada campo não informado herda o valor da base.
+         */
+        Settings over(Settings base) {
+            return new Settings(
+                    slidingWindowSize != null ? slidingWindowSize : base.slidingWindowSize,
+                    minimumNumberOfCalls != null ? minimumNumberOfCalls : base.minimumNumberOfCalls,
+                    failureRateThreshold != null ? failureRateThreshold : base.failureRateThreshold,
+                    slowCallRateThreshold != null ? slowCallRateThreshold : base.slowCallRateThreshold,
+                    slowCallDurationThreshold != null ? slowCallDurationThreshold : base.slowCallDurationThreshold,
+                    waitDurationInOpenState != null ? waitDurationInOpenState : base.waitDurationInOpenState,
+                    permittedCallsInHalfOpenState != null ? permittedCallsInHalfOpenState : base.permittedCallsInHalfOpenState,
+                    timeout != null ? timeout : base.timeout);
+        }
+    }
+}
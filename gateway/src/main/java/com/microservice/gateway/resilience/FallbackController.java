@@ -0,0 +1,83 @@
+package com.microservice.gateway.resilience;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeoutException;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR;
+
+/**
+ * Respostas degradadas para as rotas com circuit breaker aberto ou que falharam/expiraram.
+ * O corpo é montado uma única vez por serviço e devolvido com {@code Cache-Control}
+ * curto, permitindo que clientes e proxies reaproveitem a resposta enquanto o circuito
+ * estiver aberto em vez de repetir a chamada.
+ */
+@RestController
+@RequestMapping("/fallback")
+public class FallbackController {
+
+    public static final String FALLBACK_REASON_HEADER = "X-Fallback-Reason";
+    static final Duration MAX_AGE = Duration.ofSeconds(5);
+    // /fallback é público: limita os corpos memorizados para paths arbitrários não crescerem o mapa
+    private static final int MAX_CACHED_BODIES = 64;
+
+    private static final String CACHE_CONTROL = CacheControl.maxAge(MAX_AGE).cachePublic().getHeaderValue();
+
+    private final ConcurrentMap<String, byte[]> bodies = new ConcurrentHashMap<>();
+
+    @RequestMapping("/{service}")
+    public Mono<Void> fallback(@PathVariable String service, ServerWebExchange exchange) {
+        byte[] body = bodies.get(service);
+        if (body == null) {
+            body = degradedBody(service);
+            if (bodies.size() < MAX_CACHED_BODIES) {
+                bodies.putIfAbsent(service, body);
+            }
+        }
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        HttpHeaders headers = response.getHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(body.length);
+        headers.set(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(MAX_AGE.toSeconds()));
+        headers.set(FALLBACK_REASON_HEADER, reason(exchange.getAttribute(CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR)));
+
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    static String reason(Throwable error) {
+        if (error instanceof CallNotPermittedException) {
+            return "circuit-open";
+        }
+        if (error instanceof TimeoutException) {
+            return "timeout";
+        }
+        return error != null ? "upstream-error" : "unavailable";
+    }
+
+    private static byte[] degradedBody(String service) {
+        // nomes de serviço vêm do path; mantém apenas caracteres seguros para o JSON literal
+        String safeService = service.replaceAll("[^A-Za-z0-9._-]", "");
+        String json = "{\"status\":503,\"error\":\"Service Unavailable\",\"service\":\"" + safeService
+                + "\",\"message\":\"O serviço está temporariamente indisponível. Tente novamente em instantes.\"}";
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
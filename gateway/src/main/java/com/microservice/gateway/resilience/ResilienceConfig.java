@@ -0,0 +1,56 @@
+package com.microservice.gateway.resilience;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JConfigBuilder;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CircuitBreakerProperties.class)
+public class ResilienceConfig {
+
+    @Bean
+    public Customizer<ReactiveResilience4JCircuitBreakerFactory> circuitBreakerCustomizer(
+            CircuitBreakerProperties properties) {
+        return factory -> {
+            factory.configureDefault(id -> build(id, properties.defaults()));
+            properties.routes().forEach((routeId, settings) ->
+                    factory.configure(builder -> builder
+                            .circuitBreakerConfig(circuitBreakerConfig(settings))
+                            .timeLimiterConfig(timeLimiterConfig(settings)), routeId));
+        };
+    }
+
+    private static Resilience4JConfigBuilder.Resilience4JCircuitBreakerConfiguration build(
+            String id, CircuitBreakerProperties.Settings settings) {
+        return new Resilience4JConfigBuilder(id)
+                .circuitBreakerConfig(circuitBreakerConfig(settings))
+                .timeLimiterConfig(timeLimiterConfig(settings))
+                .build();
+    }
+
+    static CircuitBreakerConfig circuitBreakerConfig(CircuitBreakerProperties.Settings settings) {
+        return CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(settings.slidingWindowSize())
+                .minimumNumberOfCalls(settings.minimumNumberOfCalls())
+                .failureRateThreshold(settings.failureRateThreshold())
+                .slowCallRateThreshold(settings.slowCallRateThreshold())
+                .slowCallDurationThreshold(settings.slowCallDurationThreshold())
+                .waitDurationInOpenState(settings.waitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(settings.permittedCallsInHalfOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build();
+    }
+
+    static TimeLimiterConfig timeLimiterConfig(CircuitBreakerProperties.Settings settings) {
+        return TimeLimiterConfig.custom()
+                .timeoutDuration(settings.timeout())
+                .cancelRunningFuture(true)
+                .build();
+    }
+}
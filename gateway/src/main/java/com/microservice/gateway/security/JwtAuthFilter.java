@@ -14,9 +14,11 @@ public class JwtAuthFilter implements WebFilter {
 
     private static final Logger log = LoggerFactory.getLogger(JwtAuthFilter.class);
     private final JwtValidator jwtValidator;
+    private final PublicRouteMatcher publicRouteMatcher;
 
-    public JwtAuthFilter(JwtValidator jwtValidator) {
+    public JwtAuthFilter(JwtValidator jwtValidator, PublicRouteMatcher publicRouteMatcher) {
         this.jwtValidator = jwtValidator;
+        this.publicRouteMatcher = publicRouteMatcher;
     }
 
     @Override
@@ -25,7 +27,7 @@ public class JwtAuthFilter implements WebFilter {
         String path = exchange.getRequest().getURI().getPath();
 
         // Permitir rotas públicas
-        if (isPublicPath(path)) {
+        if (publicRouteMatcher.matches(path)) {
             log.debug("🟢 Rota pública detectada: {}", path);
             return chain.filter(exchange);
         }
@@ -39,24 +41,15 @@ public class JwtAuthFilter implements WebFilter {
         try {
             Claims claims = jwtValidator.parse(token);
             exchange.getAttributes().put("jwtClaims", claims);
+            exchange.getAttributes().put(UserPrincipal.EXCHANGE_ATTRIBUTE, UserPrincipal.from(claims));
             log.debug(" JWT válido para usuário: {}", claims.getSubject());
             return chain.filter(exchange);
         } catch (Exception e) {
-            log.warn(" Falha ao validar token JWT em {}: {}", path, e.getMessage());
+            log.debug(" Falha ao validar token JWT em {}: {}", path, e.getMessage());
             return handleUnauthorized(exchange);
         }
     }
 
-    private boolean isPublicPath(String path) {
-        String normalized = path.toLowerCase().replaceAll("/+$", "");
-        return normalized.startsWith("/v3/api-docs")
-                || normalized.startsWith("/swagger-ui")
-                || normalized.equals("/api/accounts/login")
-                || normalized.equals("/api/accounts/register")
-                || normalized.startsWith("/actuator")
-                || normalized.startsWith("/fallback");
-    }
-
     private String extractToken(ServerWebExchange exchange) {
         String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -0,0 +1,39 @@
+package com.microservice.gateway.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+
+import java.security.Key;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Seleciona a chave de verificação pelo {@code kid} do token. Tokens sem {@code kid}
+ * (emitidos antes da troca de algoritmo) são verificados com a chave padrão; os demais,
+ * com o conjunto de chaves vigente, lido a cada token para acompanhar as recargas.
+ */
+class JwtKeyLocator extends LocatorAdapter<Key> {
+
+    private final VerificationKey defaultKey;
+    private final Supplier<Map<String, VerificationKey>> keySet;
+
+    JwtKeyLocator(VerificationKey defaultKey, Supplier<Map<String, VerificationKey>> keySet) {
+        this.defaultKey = defaultKey;
+        this.keySet = keySet;
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String kid = header.getKeyId();
+        VerificationKey candidate = kid == null || kid.equals(defaultKey.kid()) ? defaultKey : keySet.get().get(kid);
+        if (candidate == null) {
+            throw new UnsupportedJwtException("Chave de verificação desconhecida: kid=" + kid);
+        }
+        if (!candidate.supports(header.getAlgorithm())) {
+            throw new UnsupportedJwtException("Algoritmo " + header.getAlgorithm()
+                    + " não permitido para a chave kid=" + candidate.kid());
+        }
+        return candidate.key();
+    }
+}
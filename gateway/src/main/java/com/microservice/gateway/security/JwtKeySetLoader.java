@@ -0,0 +1,152 @@
+package com.microservice.gateway.security;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Lê o conjunto de chaves públicas de verificação, indexado por {@code kid}, a partir de
+ * um diretório de arquivos PEM ({@code kid} = nome do arquivo sem a extensão) ou de um
+ * arquivo JWKS ({@code .json}, {@code kid} = campo "kid" de cada chave).
+ */
+final class JwtKeySetLoader {
+
+    // Tipos de chave aceitos; o algoritmo JWS permitido é derivado do tipo (ver VerificationKey)
+    private static final String[] KEY_ALGORITHMS = {"RSA", "EC", "Ed25519"};
+
+    private JwtKeySetLoader() {
+    }
+
+    static Map<String, VerificationKey> load(Path location) {
+        if (Files.isDirectory(location)) {
+            return loadPemDirectory(location);
+        }
+        if (isJwks(location)) {
+            return loadJwks(location);
+        }
+        throw new IllegalStateException("Conjunto de chaves deve ser um diretório de PEMs ou um arquivo JWKS (.json): "
+                + location);
+    }
+
+    /**
+     * Hash dos nomes e do conteúdo da origem, para que o recarregamento só aconteça quando
+     * algo mudou. Comparar conteúdo (poucos KB) evita depender da resolução do mtime e
+     * funciona com a troca de symlinks usada por volumes de ConfigMap/Secret.
+     */
+    static String fingerprint(Path location) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        try {
+            List<Path> files = Files.isDirectory(location) ? pemFiles(location) : List.of(location);
+            for (Path file : files) {
+                hasher.putString(file.getFileName().toString(), StandardCharsets.UTF_8)
+                        .putBytes(Files.readAllBytes(file));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return hasher.hash().toString();
+    }
+
+    static PublicKey fromPem(String pemContent) throws NoSuchAlgorithmException, InvalidKeySpecException {
+        String pem = pemContent
+                .replace("-----BEGIN PUBLIC KEY-----", "")
+                .replace("-----END PUBLIC KEY-----", "")
+                .replaceAll("\\s+", "");
+
+        byte[] decodedKey = Base64.getDecoder().decode(pem);
+        return generatePublic(new X509EncodedKeySpec(decodedKey));
+    }
+
+    /**
+     * O SubjectPublicKeyInfo identifica o tipo da chave; cada KeyFactory rejeita os tipos
+     * que não reconhece, então basta tentar RSA, EC e Ed25519 em sequência.
+     */
+    private static PublicKey generatePublic(X509EncodedKeySpec keySpec)
+            throws NoSuchAlgorithmException, InvalidKeySpecException {
+        InvalidKeySpecException last = null;
+        for (String algorithm : KEY_ALGORITHMS) {
+            try {
+                return KeyFactory.getInstance(algorithm).generatePublic(keySpec);
+            } catch (InvalidKeySpecException e) {
+                last = e;
+            }
+        }
+        throw last;
+    }
+
+    private static Map<String, VerificationKey> loadPemDirectory(Path directory) {
+        Map<String, VerificationKey> keys = new HashMap<>();
+        try {
+            for (Path file : pemFiles(directory)) {
+                String filename = file.getFileName().toString();
+                String kid = filename.substring(0, filename.lastIndexOf('.'));
+                PublicKey key = fromPem(Files.readString(file, StandardCharsets.UTF_8));
+                keys.put(kid, VerificationKey.of(kid, key));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException | InvalidKeySpecException | IllegalArgumentException e) {
+            throw new IllegalStateException("Chave pública inválida em " + directory, e);
+        }
+        return Map.copyOf(keys);
+    }
+
+    private static Map<String, VerificationKey> loadJwks(Path file) {
+        JwkSet jwkSet;
+        try {
+            jwkSet = Jwks.setParser().build().parse(Files.readString(file, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Map<String, VerificationKey> keys = new HashMap<>();
+        for (Jwk<?> jwk : jwkSet.getKeys()) {
+            String kid = jwk.getId();
+            Key key = jwk.toKey();
+            if (kid == null || kid.isBlank()) {
+                throw new IllegalStateException("Chave sem \"kid\" no JWKS " + file);
+            }
+            if (!(key instanceof PublicKey publicKey)) {
+                throw new IllegalStateException("O JWKS do gateway deve conter apenas chaves públicas: kid=" + kid);
+            }
+            if (keys.put(kid, VerificationKey.of(kid, publicKey)) != null) {
+                throw new IllegalStateException("kid duplicado no JWKS " + file + ": " + kid);
+            }
+        }
+        return Map.copyOf(keys);
+    }
+
+    private static List<Path> pemFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(Files::isRegularFile)
+                    .filter(file -> file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".pem"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static boolean isJwks(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json");
+    }
+}
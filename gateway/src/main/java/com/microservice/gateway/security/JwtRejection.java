@@ -0,0 +1,55 @@
+package com.microservice.gateway.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+
+/**
+ * Motivo pelo qual um token foi recusado, usado como tag das métricas de rejeição.
+ */
+public enum JwtRejection {
+
+    EXPIRED("expired"),
+    BAD_SIGNATURE("bad_signature"),
+    MALFORMED("malformed"),
+    // kid desconhecido ou algoritmo não permitido para a chave
+    UNSUPPORTED("unsupported"),
+    OTHER("other");
+
+    private final String tag;
+
+    // Uma instância por motivo: requisições repetidas são recusadas sem criar exceções
+    private final RejectedTokenException exception;
+
+    JwtRejection(String tag) {
+        this.tag = tag;
+        this.exception = new RejectedTokenException(this);
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    RejectedTokenException exception() {
+        return exception;
+    }
+
+    static JwtRejection of(Exception e) {
+        if (e instanceof ExpiredJwtException) {
+            return EXPIRED;
+        }
+        if (e instanceof SignatureException) {
+            return BAD_SIGNATURE;
+        }
+        if (e instanceof MalformedJwtException
+                || e instanceof io.jsonwebtoken.io.IOException
+                || e instanceof IllegalArgumentException) {
+            return MALFORMED;
+        }
+        if (e instanceof UnsupportedJwtException) {
+            return UNSUPPORTED;
+        }
+        return OTHER;
+    }
+}
@@ -1,8 +1,14 @@
 package com.microservice.gateway.security;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,11 +17,16 @@ import org.springframework.stereotype.Component;
 
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.security.KeyFactory;
+import java.nio.file.Path;
 import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
-import java.security.spec.X509EncodedKeySpec;
-import java.util.Base64;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 @Component
 public class JwtValidator {
@@ -25,24 +36,141 @@ public class JwtValidator {
     @Value("${jwt.public-key-path}")
     private Resource publicKeyResource;
 
+    // kid da chave padrão; tokens sem kid continuam sendo verificados com ela
+    @Value("${jwt.public-key-id:}")
+    private String publicKeyId = "";
+
+    // Diretório de PEMs (kid = nome do arquivo) ou arquivo JWKS, recarregado sem reiniciar o gateway
+    @Value("${jwt.key-set-path:}")
+    private String keySetPath = "";
+
+    @Value("${jwt.key-set-refresh-seconds:10}")
+    private long keySetRefreshSeconds = 10;
+
+    @Value("${jwt.cache.max-size:10000}")
+    private long cacheMaxSize = 10_000;
+
+    @Value("${jwt.cache.max-ttl-seconds:3600}")
+    private long cacheMaxTtlSeconds = 3600;
+
+    @Value("${jwt.negative-cache.max-size:10000}")
+    private long negativeCacheMaxSize = 10_000;
+
+    @Value("${jwt.negative-cache.ttl-seconds:30}")
+    private long negativeCacheTtlSeconds = 30;
+
     private PublicKey publicKey;
 
+    // Conjunto imutável trocado por inteiro a cada recarga: a leitura no caminho quente é um read volátil
+    private volatile Map<String, VerificationKey> keySet = Map.of();
+    private String keySetFingerprint;
+    private ScheduledExecutorService keySetWatcher;
+
+    // Parser imutável e thread-safe, reconstruído apenas quando a chave pública muda
+    private volatile KeyedParser keyedParser;
+
+    // Tokens já verificados, indexados pelo SHA-256 do token; a expiração real é o "exp" de cada token
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    // Tokens recusados há pouco, pelo mesmo digest: clientes presos a um token expirado ou forjado
+    // costumam repetir a requisição em laço, e cada repetição custaria uma verificação completa
+    private Cache<String, JwtRejection> rejectedTokens;
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder keySetReloads = new LongAdder();
+    private final LongAdder keySetReloadFailures = new LongAdder();
+    private final LongAdder negativeCacheHits = new LongAdder();
+    private final Map<JwtRejection, LongAdder> rejections = rejectionCounters();
+
     @PostConstruct
     public void init() {
         this.publicKey = loadPublicKey();
-        log.info("Chave pública RSA carregada com sucesso para validação de tokens");
+        this.keyedParser = buildParser(publicKey);
+        this.verifiedTokens = CacheBuilder.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheMaxTtlSeconds, TimeUnit.SECONDS)
+                .build();
+        this.rejectedTokens = CacheBuilder.newBuilder()
+                .maximumSize(negativeCacheMaxSize)
+                .expireAfterWrite(negativeCacheTtlSeconds, TimeUnit.SECONDS)
+                .build();
+        log.info("Chave pública {} carregada com sucesso para validação de tokens", publicKey.getAlgorithm());
+
+        Path keySetLocation = keySetLocation();
+        if (keySetLocation != null) {
+            // Na inicialização, um conjunto inválido impede o gateway de subir
+            String fingerprint = JwtKeySetLoader.fingerprint(keySetLocation);
+            this.keySet = JwtKeySetLoader.load(keySetLocation);
+            this.keySetFingerprint = fingerprint;
+            log.info("Conjunto de chaves carregado de {}: kids {}", keySetLocation, keySet.keySet());
+
+            long periodSeconds = Math.max(1, keySetRefreshSeconds);
+            keySetWatcher = Executors.newSingleThreadScheduledExecutor(runnable ->
+                    Thread.ofPlatform().name("gateway-jwt-key-set-watcher").daemon(true).unstarted(runnable));
+            keySetWatcher.scheduleWithFixedDelay(this::reloadKeySet, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (keySetWatcher != null) {
+            keySetWatcher.shutdownNow();
+        }
+    }
+
+    /**
+     * Relê o conjunto de chaves quando o conteúdo da origem mudou e o publica de uma vez.
+     * Verificações em andamento continuam com o conjunto anterior; se a nova versão for
+     * inválida (ex.: arquivo ainda sendo escrito), o conjunto atual é mantido e a leitura
+     * é tentada de novo no próximo ciclo.
+     */
+    void reloadKeySet() {
+        Path location = keySetLocation();
+        if (location == null) {
+            return;
+        }
+        try {
+            String fingerprint = JwtKeySetLoader.fingerprint(location);
+            if (fingerprint.equals(keySetFingerprint)) {
+                return;
+            }
+
+            Map<String, VerificationKey> loaded = JwtKeySetLoader.load(location);
+            keySet = loaded;
+            keySetFingerprint = fingerprint;
+            keySetReloads.increment();
+
+            // Tokens de chaves removidas não podem continuar sendo aceitos pelo cache,
+            // e tokens recusados por kid desconhecido podem ter passado a ser válidos
+            Cache<String, VerifiedToken> cache = verifiedTokens;
+            if (cache != null) {
+                cache.invalidateAll();
+            }
+            Cache<String, JwtRejection> rejected = rejectedTokens;
+            if (rejected != null) {
+                rejected.invalidateAll();
+            }
+            log.info("Conjunto de chaves recarregado de {}: kids {}", location, loaded.keySet());
+        } catch (RuntimeException e) {
+            keySetReloadFailures.increment();
+            log.error("Falha ao recarregar o conjunto de chaves de {}; mantendo kids {}", location, keySet.keySet(), e);
+        }
+    }
+
+    private Path keySetLocation() {
+        if (keySetPath == null || keySetPath.isBlank()) {
+            return null;
+        }
+        String location = keySetPath.trim();
+        return Path.of(location.startsWith("file:") ? location.substring("file:".length()) : location);
     }
 
     public PublicKey loadPublicKey() {
         try (InputStream inputStream = publicKeyResource.getInputStream()) {
 
             byte[] keyBytes = inputStream.readAllBytes();
-            String pem = sanitizePem(new String(keyBytes, StandardCharsets.UTF_8));
-
-            byte[] decodedKey = Base64.getDecoder().decode(pem);
-            X509EncodedKeySpec keySpec = new X509EncodedKeySpec(decodedKey);
-
-            return KeyFactory.getInstance("RSA").generatePublic(keySpec);
+            return JwtKeySetLoader.fromPem(new String(keyBytes, StandardCharsets.UTF_8));
 
         } catch (NoSuchAlgorithmException e) {
             log.error("Falha ao carregar chave pública RSA: algoritmo RSA não encontrado.");
@@ -58,19 +186,127 @@ public class JwtValidator {
         }
     }
 
-    private String sanitizePem(String pemContent) {
-        return pemContent
-                .replace("-----BEGIN PUBLIC KEY-----", "")
-                .replace("-----END PUBLIC KEY-----", "")
-                .replaceAll("\\s+", "");
+    public Claims parse(String token) {
+        Cache<String, VerifiedToken> cache = verifiedTokens;
+        if (cache == null) {
+            return verify(token);
+        }
+
+        String key = digest(token);
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > System.currentTimeMillis()) {
+                cacheHits.increment();
+                return cached.claims();
+            }
+            cache.invalidate(key);
+        }
+
+        Cache<String, JwtRejection> rejected = rejectedTokens;
+        JwtRejection previous = rejected == null ? null : rejected.getIfPresent(key);
+        if (previous != null) {
+            negativeCacheHits.increment();
+            rejections.get(previous).increment();
+            throw previous.exception();
+        }
+
+        cacheMisses.increment();
+        Claims claims;
+        try {
+            claims = verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            JwtRejection reason = JwtRejection.of(e);
+            rejections.get(reason).increment();
+            if (rejected != null) {
+                rejected.put(key, reason);
+            }
+            throw e;
+        }
+
+        // Tokens sem "exp" não são armazenados: não há como saber quando deixam de ser válidos
+        Date expiration = claims.getExpiration();
+        if (expiration != null && expiration.getTime() > System.currentTimeMillis()) {
+            cache.put(key, new VerifiedToken(claims, expiration.getTime()));
+        }
+        return claims;
     }
 
-    public Claims parse(String token) {
-        return Jwts.parser()
-                .verifyWith(publicKey)
-                .clockSkewSeconds(30)
-                .build()
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public long getCacheSize() {
+        Cache<String, VerifiedToken> cache = verifiedTokens;
+        return cache == null ? 0 : cache.size();
+    }
+
+    public long getNegativeCacheHits() {
+        return negativeCacheHits.sum();
+    }
+
+    public long getRejections(JwtRejection reason) {
+        return rejections.get(reason).sum();
+    }
+
+    public long getKeySetSize() {
+        return keySet.size();
+    }
+
+    public long getKeySetReloads() {
+        return keySetReloads.sum();
+    }
+
+    public long getKeySetReloadFailures() {
+        return keySetReloadFailures.sum();
+    }
+
+    private static Map<JwtRejection, LongAdder> rejectionCounters() {
+        Map<JwtRejection, LongAdder> counters = new EnumMap<>(JwtRejection.class);
+        for (JwtRejection reason : JwtRejection.values()) {
+            counters.put(reason, new LongAdder());
+        }
+        return counters;
+    }
+
+    private static String digest(String token) {
+        return Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+    }
+
+    private Claims verify(String token) {
+        return parser()
                 .parseSignedClaims(token)
                 .getPayload();
     }
-}
\ No newline at end of file
+
+    JwtParser parser() {
+        PublicKey key = publicKey;
+        KeyedParser current = keyedParser;
+        if (current == null || current.key() != key) {
+            current = buildParser(key);
+            keyedParser = current;
+        }
+        return current.parser();
+    }
+
+    private KeyedParser buildParser(PublicKey key) {
+        String defaultKid = publicKeyId == null || publicKeyId.isBlank() ? null : publicKeyId;
+        VerificationKey defaultKey = VerificationKey.of(defaultKid, key);
+
+        // O locator lê o conjunto atual a cada token, então recargas não exigem um novo parser
+        JwtParser parser = Jwts.parser()
+                .keyLocator(new JwtKeyLocator(defaultKey, () -> keySet))
+                .clockSkewSeconds(30)
+                .build();
+        return new KeyedParser(key, parser);
+    }
+
+    private record KeyedParser(PublicKey key, JwtParser parser) {
+    }
+
+    private record VerifiedToken(Claims claims, long expiresAtMillis) {
+    }
+}
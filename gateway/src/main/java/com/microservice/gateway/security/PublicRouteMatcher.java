@@ -0,0 +1,95 @@
+package com.microservice.gateway.security;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Identifica rotas públicas (sem autenticação JWT) a partir de uma trie de caracteres
+ * montada uma única vez. A comparação ignora maiúsculas/minúsculas e barras finais,
+ * percorrendo o path em uma única passada e sem alocar objetos.
+ */
+public final class PublicRouteMatcher {
+
+    private final Node root = new Node();
+
+    private PublicRouteMatcher() {
+    }
+
+    /**
+     * @param prefixes paths liberados por prefixo (ex.: {@code /swagger-ui})
+     * @param exact    paths liberados apenas na forma exata (ex.: {@code /api/accounts/login})
+     */
+    public static PublicRouteMatcher of(List<String> prefixes, List<String> exact) {
+        PublicRouteMatcher matcher = new PublicRouteMatcher();
+        prefixes.forEach(p -> matcher.insert(p).prefixEnd = true);
+        exact.forEach(p -> matcher.insert(p).exactEnd = true);
+        return matcher;
+    }
+
+    public boolean matches(String path) {
+        if (path == null) {
+            return false;
+        }
+
+        int end = path.length();
+        while (end > 0 && path.charAt(end - 1) == '/') {
+            end--;
+        }
+
+        Node node = root;
+        for (int i = 0; i < end; i++) {
+            if (node.prefixEnd) {
+                return true;
+            }
+            node = node.child(Character.toLowerCase(path.charAt(i)));
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.prefixEnd || node.exactEnd;
+    }
+
+    private Node insert(String route) {
+        int end = route.length();
+        while (end > 0 && route.charAt(end - 1) == '/') {
+            end--;
+        }
+
+        Node node = root;
+        for (int i = 0; i < end; i++) {
+            node = node.childOrCreate(Character.toLowerCase(route.charAt(i)));
+        }
+        return node;
+    }
+
+    private static final class Node {
+
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private boolean prefixEnd;
+        private boolean exactEnd;
+
+        Node child(char c) {
+            char[] k = keys;
+            for (int i = 0; i < k.length; i++) {
+                if (k[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node childOrCreate(char c) {
+            Node existing = child(c);
+            if (existing != null) {
+                return existing;
+            }
+            Node created = new Node();
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = c;
+            children[children.length - 1] = created;
+            return created;
+        }
+    }
+}
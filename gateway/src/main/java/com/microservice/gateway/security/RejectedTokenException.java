@@ -0,0 +1,31 @@
+package com.microservice.gateway.security;
+
+import io.jsonwebtoken.JwtException;
+
+import java.io.Serial;
+
+/**
+ * Lançada para tokens que já foram recusados recentemente (cache negativo do {@link JwtValidator}).
+ * Instâncias são pré-alocadas por {@link JwtRejection} e não capturam stack trace.
+ */
+public class RejectedTokenException extends JwtException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final transient JwtRejection reason;
+
+    RejectedTokenException(JwtRejection reason) {
+        super("Token recusado recentemente: " + reason.tag());
+        this.reason = reason;
+    }
+
+    public JwtRejection reason() {
+        return reason;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,33 @@
+package com.microservice.gateway.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Objects;
+
+/**
+ * Identidade do usuário autenticado, extraída uma única vez das claims do JWT
+ * e compartilhada entre os filtros através dos atributos do exchange.
+ */
+public record UserPrincipal(String id, String email, String role) {
+
+    public static final String EXCHANGE_ATTRIBUTE = "userPrincipal";
+
+    /** Prefixo dos headers de identidade; valores enviados pelo cliente nunca chegam aos serviços. */
+    public static final String HEADER_PREFIX = "X-User-";
+
+    public static final String HEADER_USER_ID = "X-User-Id";
+    public static final String HEADER_USER_EMAIL = "X-User-Email";
+    public static final String HEADER_USER_ROLE = "X-User-Role";
+
+    public static UserPrincipal from(Claims claims) {
+        return new UserPrincipal(
+                claims.getSubject(),
+                stringOrNull(claims.get("email")),
+                stringOrNull(claims.get("role"))
+        );
+    }
+
+    private static String stringOrNull(Object value) {
+        return Objects.isNull(value) ? null : value.toString();
+    }
+}
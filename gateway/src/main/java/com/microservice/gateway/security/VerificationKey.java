@@ -0,0 +1,41 @@
+package com.microservice.gateway.security;
+
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.EdECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Set;
+
+/**
+ * Chave pública aceita pelo gateway, identificada pelo {@code kid} do header do token,
+ * com os algoritmos JWS que ela pode verificar. Restringir o algoritmo pelo tipo da chave
+ * impede que um token escolha um algoritmo diferente do previsto para aquele {@code kid}.
+ */
+record VerificationKey(String kid, PublicKey key, Set<String> algorithms) {
+
+    static VerificationKey of(String kid, PublicKey key) {
+        return new VerificationKey(kid, key, algorithmsFor(key));
+    }
+
+    boolean supports(String algorithm) {
+        return algorithm != null && algorithms.contains(algorithm);
+    }
+
+    static Set<String> algorithmsFor(PublicKey key) {
+        if (key instanceof RSAPublicKey) {
+            return Set.of("RS256");
+        }
+        if (key instanceof ECPublicKey ec) {
+            return switch (ec.getParams().getCurve().getField().getFieldSize()) {
+                case 256 -> Set.of("ES256");
+                case 384 -> Set.of("ES384");
+                case 521 -> Set.of("ES512");
+                default -> Set.of();
+            };
+        }
+        if (key instanceof EdECPublicKey) {
+            return Set.of("EdDSA");
+        }
+        return Set.of();
+    }
+}
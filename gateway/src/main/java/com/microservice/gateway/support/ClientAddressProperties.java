@@ -0,0 +1,17 @@
+package com.microservice.gateway.support;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * @param trustedProxies IPs ou blocos CIDR dos proxies cujo {@code X-Forwarded-For} é aceito; o padrão
+ *                       (loopback) cobre as sub-requisições do {@code /api/batch}
+ */
+@ConfigurationProperties(prefix = "gateway.client-address")
+public record ClientAddressProperties(List<String> trustedProxies) {
+
+    public ClientAddressProperties {
+        trustedProxies = trustedProxies == null ? List.of("127.0.0.0/8", "::1") : List.copyOf(trustedProxies);
+    }
+}
@@ -0,0 +1,100 @@
+package com.microservice.gateway.support;
+
+import com.google.common.net.InetAddresses;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+
+/**
+ * Endereço do cliente que originou a requisição. Parte do par da conexão TCP e só consulta o
+ * {@code X-Forwarded-For} quando esse par é um proxy confiável ({@link ClientAddressProperties}),
+ * percorrendo a lista da direita para a esquerda até o primeiro endereço que não é de um proxy
+ * confiável. Assim um cliente não escolhe o próprio IP enviando o header.
+ */
+@Component
+@EnableConfigurationProperties(ClientAddressProperties.class)
+public class ClientAddressResolver {
+
+    static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    private final List<Range> trustedProxies;
+
+    public ClientAddressResolver(ClientAddressProperties properties) {
+        this.trustedProxies = properties.trustedProxies().stream().map(Range::parse).toList();
+    }
+
+    /**
+     * @return IP do cliente, ou {@code null} se a conexão não tiver endereço remoto
+     */
+    public String resolve(ServerHttpRequest request) {
+        InetSocketAddress remote = request.getRemoteAddress();
+        if (remote == null || remote.getAddress() == null) {
+            return null;
+        }
+
+        InetAddress client = remote.getAddress();
+        List<String> hops = request.getHeaders().getOrEmpty(FORWARDED_FOR).stream()
+                .flatMap(value -> List.of(value.split(",")).stream())
+                .map(String::trim)
+                .toList();
+        for (int i = hops.size() - 1; i >= 0 && isTrusted(client); i--) {
+            String hop = hops.get(i);
+            // Apenas literais: nunca resolve nomes vindos do header
+            if (!InetAddresses.isInetAddress(hop)) {
+                break;
+            }
+            client = InetAddresses.forString(hop);
+        }
+        return client.getHostAddress();
+    }
+
+    private boolean isTrusted(InetAddress address) {
+        byte[] bytes = address.getAddress();
+        for (Range range : trustedProxies) {
+            if (range.contains(bytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Range(byte[] network, int prefixLength) {
+
+        static Range parse(String cidr) {
+            String value = cidr.trim();
+            int slash = value.indexOf('/');
+            String address = slash < 0 ? value : value.substring(0, slash);
+            if (!InetAddresses.isInetAddress(address)) {
+                throw new IllegalArgumentException("Proxy confiável inválido: " + cidr);
+            }
+            byte[] network = InetAddresses.forString(address).getAddress();
+            int prefixLength = slash < 0 ? network.length * 8 : Integer.parseInt(value.substring(slash + 1));
+            if (prefixLength < 0 || prefixLength > network.length * 8) {
+                throw new IllegalArgumentException("Prefixo inválido para proxy confiável: " + cidr);
+            }
+            return new Range(network, prefixLength);
+        }
+
+        boolean contains(byte[] address) {
+            if (address.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (address[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = 0xFF << (8 - remainingBits);
+            return (address[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
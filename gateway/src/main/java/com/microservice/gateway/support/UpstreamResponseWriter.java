@@ -0,0 +1,68 @@
+package com.microservice.gateway.support;
+
+import io.netty.buffer.ByteBuf;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR;
+
+/**
+ * O corpo da resposta downstream é escrito pelo {@link NettyWriteResponseFilter} (ordem -1), que
+ * executa por fora dos filtros de rota e usa o response original do exchange. Filtros de rota que
+ * precisam ver o corpo (cache, coalescência) usam este utilitário para assumir essa escrita no
+ * response decorado, removendo a conexão do exchange para que o NettyWriteResponseFilter não a repita.
+ */
+public final class UpstreamResponseWriter {
+
+    private UpstreamResponseWriter() {
+    }
+
+    /**
+     * @return escrita do corpo no {@code target}, ou vazio se a resposta não veio do NettyRoutingFilter
+     * (ex.: forward para o /fallback, que já escreveu diretamente no response)
+     */
+    public static Mono<Void> writeBody(ServerWebExchange exchange, ServerHttpResponse target) {
+        Connection connection = exchange.getAttribute(CLIENT_RESPONSE_CONN_ATTR);
+        if (connection == null) {
+            return Mono.empty();
+        }
+        exchange.getAttributes().remove(CLIENT_RESPONSE_CONN_ATTR);
+
+        Flux<DataBuffer> body = connection.inbound().receive()
+                .retain()
+                .map(byteBuf -> wrap(byteBuf, target.bufferFactory()));
+
+        return target.writeWith(body)
+                .doOnError(e -> dispose(connection))
+                .doOnCancel(() -> dispose(connection));
+    }
+
+    public static void dispose(Connection connection) {
+        if (connection != null && !connection.isDisposed()) {
+            connection.dispose();
+        }
+    }
+
+    /**
+     * Converte sem cópia quando o response é Netty; caso contrário copia e libera o {@code byteBuf}.
+     */
+    public static DataBuffer wrap(ByteBuf byteBuf, DataBufferFactory bufferFactory) {
+        if (bufferFactory instanceof NettyDataBufferFactory netty) {
+            return netty.wrap(byteBuf);
+        }
+        try {
+            DataBuffer buffer = bufferFactory.allocateBuffer(byteBuf.readableBytes());
+            buffer.write(byteBuf.nioBuffer());
+            return buffer;
+        } finally {
+            byteBuf.release();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.microservice.gateway.upstream;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publica o estado de cada pool (uma por rota e instância do serviço) com os nomes e tags
+ * das demais métricas do gateway. Os gauges são removidos quando o Reactor Netty descarta o
+ * pool de uma instância que saiu do Eureka.
+ */
+final class PoolMetricsRegistrar implements ConnectionProvider.MeterRegistrar {
+
+    private final MeterRegistry registry;
+    private final Map<String, List<Meter>> meters = new ConcurrentHashMap<>();
+
+    PoolMetricsRegistrar(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+        Tags tags = Tags.of("route", poolName, "remote", format(remoteAddress));
+
+        List<Meter> registered = List.of(
+                Gauge.builder("gateway.upstream.pool.connections", metrics, ConnectionPoolMetrics::acquiredSize)
+                        .description("Conexões com o serviço por estado")
+                        .tags(tags).tag("state", "active")
+                        .strongReference(true)
+                        .register(registry),
+                Gauge.builder("gateway.upstream.pool.connections", metrics, ConnectionPoolMetrics::idleSize)
+                        .description("Conexões com o serviço por estado")
+                        .tags(tags).tag("state", "idle")
+                        .strongReference(true)
+                        .register(registry),
+                Gauge.builder("gateway.upstream.pool.pending", metrics, ConnectionPoolMetrics::pendingAcquireSize)
+                        .description("Requisições aguardando uma conexão livre")
+                        .tags(tags)
+                        .strongReference(true)
+                        .register(registry),
+                Gauge.builder("gateway.upstream.pool.max.connections", metrics, ConnectionPoolMetrics::maxAllocatedSize)
+                        .tags(tags)
+                        .strongReference(true)
+                        .register(registry),
+                Gauge.builder("gateway.upstream.pool.utilization", metrics, PoolMetricsRegistrar::utilization)
+                        .description("Fração das conexões permitidas em uso (1.0 = requisições passam a esperar)")
+                        .tags(tags)
+                        .strongReference(true)
+                        .register(registry));
+
+        meters.put(key(poolName, id, remoteAddress), registered);
+    }
+
+    @Override
+    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+        List<Meter> registered = meters.remove(key(poolName, id, remoteAddress));
+        if (registered != null) {
+            registered.forEach(registry::remove);
+        }
+    }
+
+    static double utilization(ConnectionPoolMetrics metrics) {
+        int max = metrics.maxAllocatedSize();
+        return max <= 0 ? 0 : (double) metrics.acquiredSize() / max;
+    }
+
+    private static String key(String poolName, String id, SocketAddress remoteAddress) {
+        return poolName + '|' + id + '|' + remoteAddress;
+    }
+
+    private static String format(SocketAddress address) {
+        if (address instanceof InetSocketAddress inet) {
+            return inet.getHostString() + ":" + inet.getPort();
+        }
+        return String.valueOf(address);
+    }
+}
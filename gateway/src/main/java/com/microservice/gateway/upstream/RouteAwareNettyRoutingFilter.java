@@ -0,0 +1,38 @@
+package com.microservice.gateway.upstream;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+
+/**
+ * {@link NettyRoutingFilter} que envia cada rota pelo seu próprio cliente
+ * ({@link UpstreamHttpClients}). O filtro padrão é desligado em
+ * {@code spring.cloud.gateway.server.webflux.global-filter.netty-routing.enabled}; se ele
+ * continuar ativo, o primeiro a executar marca o exchange como roteado e o outro não faz nada.
+ */
+@Component
+public class RouteAwareNettyRoutingFilter extends NettyRoutingFilter {
+
+    private final UpstreamHttpClients clients;
+
+    public RouteAwareNettyRoutingFilter(HttpClient httpClient,
+                                        ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                        HttpClientProperties properties,
+                                        UpstreamHttpClients clients) {
+        super(httpClient, headersFiltersProvider, properties);
+        this.clients = clients;
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        HttpClient client = clients.clientFor(route.getId());
+        return client != null ? client : super.getHttpClient(route, exchange);
+    }
+}
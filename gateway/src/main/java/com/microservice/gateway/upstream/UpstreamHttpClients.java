@@ -0,0 +1,109 @@
+package com.microservice.gateway.upstream;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR;
+
+/**
+ * Um {@link HttpClient} por rota, cada um com seu próprio pool de conexões, para que uma rajada
+ * em uma rota não consuma as conexões das outras. Tamanho do pool, fila de espera, expiração
+ * de conexões ociosas, timeouts e h2c vêm de {@code gateway.upstream}.
+ */
+@Component
+@EnableConfigurationProperties(UpstreamTransportProperties.class)
+public class UpstreamHttpClients {
+
+    private static final Logger log = LoggerFactory.getLogger(UpstreamHttpClients.class);
+
+    private final UpstreamTransportProperties properties;
+    private final List<HttpClientCustomizer> customizers;
+    private final PoolMetricsRegistrar registrar;
+    private final ConcurrentMap<String, ConnectionProvider> providers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, HttpClient> clients = new ConcurrentHashMap<>();
+
+    public UpstreamHttpClients(UpstreamTransportProperties properties,
+                               ObjectProvider<HttpClientCustomizer> customizers,
+                               MeterRegistry registry) {
+        this.properties = properties;
+        this.customizers = customizers.orderedStream().toList();
+        this.registrar = new PoolMetricsRegistrar(registry);
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * Metadados da rota lidos pelo {@code NettyRoutingFilter} (timeout de resposta).
+     */
+    public Map<String, Object> metadataFor(String routeId) {
+        Map<String, Object> metadata = new HashMap<>();
+        UpstreamTransportProperties.Settings settings = properties.settingsFor(routeId);
+        if (properties.enabled() && settings.responseTimeout() != null) {
+            metadata.put(RESPONSE_TIMEOUT_ATTR, settings.responseTimeout().toMillis());
+        }
+        return metadata;
+    }
+
+    /**
+     * @return o cliente da rota, ou {@code null} quando a configuração está desligada
+     * (o gateway usa então o cliente padrão)
+     */
+    public HttpClient clientFor(String routeId) {
+        if (!properties.enabled()) {
+            return null;
+        }
+        HttpClient existing = clients.get(routeId);
+        return existing != null ? existing : clients.computeIfAbsent(routeId, this::create);
+    }
+
+    private HttpClient create(String routeId) {
+        UpstreamTransportProperties.Settings settings = properties.settingsFor(routeId);
+        ConnectionProvider provider = providers.computeIfAbsent(routeId, id -> connectionProvider(id, settings));
+
+        HttpClient client = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(settings.connectTimeout().toMillis()))
+                .protocol(settings.h2c() ? HttpProtocol.H2C : HttpProtocol.HTTP11);
+        for (HttpClientCustomizer customizer : customizers) {
+            client = customizer.customize(client);
+        }
+
+        log.info("Pool de conexões da rota {}: max={} pending={} idle={} h2c={}", routeId,
+                settings.maxConnections(), settings.pendingAcquireMaxCount(), settings.maxIdleTime(), settings.h2c());
+        return client;
+    }
+
+    ConnectionProvider connectionProvider(String routeId, UpstreamTransportProperties.Settings settings) {
+        return ConnectionProvider.builder(routeId)
+                .maxConnections(settings.maxConnections())
+                .pendingAcquireMaxCount(settings.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(settings.pendingAcquireTimeout())
+                .maxIdleTime(settings.maxIdleTime())
+                .maxLifeTime(settings.maxLifeTime())
+                .evictInBackground(settings.evictionInterval())
+                .metrics(true, () -> registrar)
+                .build();
+    }
+
+    @PreDestroy
+    public void stop() {
+        providers.values().forEach(ConnectionProvider::dispose);
+    }
+}
@@ -0,0 +1,79 @@
+package com.microservice.gateway.upstream;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Transporte HTTP do gateway até os serviços: {@code defaults} vale para todas as rotas
+ * e {@code routes} sobrescreve, campo a campo, apenas os valores informados para a rota.
+ */
+@ConfigurationProperties(prefix = "gateway.upstream")
+public record UpstreamTransportProperties(boolean enabled, Settings defaults, Map<String, Settings> routes) {
+
+    public UpstreamTransportProperties {
+        defaults = defaults == null ? Settings.DEFAULT : defaults.over(Settings.DEFAULT);
+        Settings base = defaults;
+        Map<String, Settings> merged = new HashMap<>();
+        if (routes != null) {
+            routes.forEach((routeId, settings) -> merged.put(routeId, settings.over(base)));
+        }
+        routes = Map.copyOf(merged);
+    }
+
+    public Settings settingsFor(String routeId) {
+        return routes.getOrDefault(routeId, defaults);
+    }
+
+    /**
+     * Campos não informados ({@code null}) herdam o valor de {@code defaults}.
+     *
+     * @param maxConnections          conexões por instância do serviço (com h2c, conexões multiplexadas)
+     * @param pendingAcquireMaxCount  requisições aguardando conexão livre antes de falhar imediatamente
+     * @param pendingAcquireTimeout   espera máxima por uma conexão livre
+     * @param maxIdleTime             conexões ociosas por mais tempo são fechadas; deve ficar abaixo do
+     *                                keep-alive do Tomcat (20s) para não reutilizar conexões já encerradas
+     * @param maxLifeTime             idade máxima de uma conexão, para redistribuir carga entre réplicas novas
+     * @param evictionInterval        intervalo da limpeza em background de conexões ociosas/expiradas
+     * @param connectTimeout          tempo máximo para abrir a conexão TCP
+     * @param responseTimeout         tempo máximo até a resposta; {@code null} usa o do Spring Cloud Gateway
+     * @param h2c                     HTTP/2 sem TLS (prior knowledge), multiplexando requisições por conexão
+     */
+    public record Settings(
+            Integer maxConnections,
+            Integer pendingAcquireMaxCount,
+            Duration pendingAcquireTimeout,
+            Duration maxIdleTime,
+            Duration maxLifeTime,
+            Duration evictionInterval,
+            Duration connectTimeout,
+            Duration responseTimeout,
+            Boolean h2c) {
+
+        static final Settings DEFAULT = new Settings(100, 500, Duration.ofSeconds(1), Duration.ofSeconds(15),
+                Duration.ofMinutes(5), Duration.ofSeconds(10), Duration.ofSeconds(1), null, false);
+
+        public Settings {
+            if (maxConnections != null && maxConnections <= 0) maxConnections = null;
+            if (pendingAcquireMaxCount != null && pendingAcquireMaxCount <= 0) pendingAcquireMaxCount = null;
+        }
+
+        /**
+         * Estas configurações sobre {@code base}: cada campo não informado herda o valor da base.
+         */
+        Settings over(Settings base) {
+            return new Settings(
+                    maxConnections != null ? maxConnections : base.maxConnections,
+                    pendingAcquireMaxCount != null ? pendingAcquireMaxCount : base.pendingAcquireMaxCount,
+                    pendingAcquireTimeout != null ? pendingAcquireTimeout : base.pendingAcquireTimeout,
+                    maxIdleTime != null ? maxIdleTime : base.maxIdleTime,
+                    maxLifeTime != null ? maxLifeTime : base.maxLifeTime,
+                    evictionInterval != null ? evictionInterval : base.evictionInterval,
+                    connectTimeout != null ? connectTimeout : base.connectTimeout,
+                    responseTimeout != null ? responseTimeout : base.responseTimeout,
+                    h2c != null ? h2c : base.h2c);
+        }
+    }
+}
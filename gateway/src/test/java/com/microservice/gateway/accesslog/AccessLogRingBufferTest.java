@@ -0,0 +1,93 @@
+package com.microservice.gateway.accesslog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogRingBufferTest {
+
+    @Test
+    @DisplayName("Deve arredondar a capacidade para a próxima potência de dois")
+    void shouldRoundCapacityToPowerOfTwo() {
+        assertThat(new AccessLogRingBuffer(1000).capacity()).isEqualTo(1024);
+        assertThat(new AccessLogRingBuffer(1024).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    @DisplayName("Deve entregar os registros na ordem em que foram publicados")
+    void shouldDrainInPublicationOrder() {
+        AccessLogRingBuffer buffer = new AccessLogRingBuffer(8);
+
+        buffer.offer(1L, "GET", "product-service", 200, 1_000L, "1", 10L);
+        buffer.offer(2L, "POST", "sales-service", 201, 2_000L, "2", 20L);
+
+        List<String> lines = new ArrayList<>();
+        int drained = buffer.drain(entry -> {
+            StringBuilder line = new StringBuilder();
+            entry.appendTo(line);
+            lines.add(line.toString());
+        }, 10);
+
+        assertThat(drained).isEqualTo(2);
+        assertThat(lines).containsExactly(
+                "1 GET product-service 200 1 1 10\n",
+                "2 POST sales-service 201 2 2 20\n"
+        );
+    }
+
+    @Test
+    @DisplayName("Deve descartar e contabilizar registros quando a fila estiver cheia")
+    void shouldCountDropsWhenFull() {
+        AccessLogRingBuffer buffer = new AccessLogRingBuffer(4);
+
+        for (int i = 0; i < 6; i++) {
+            buffer.offer(i, "GET", null, 200, 0L, null, -1L);
+        }
+
+        assertThat(buffer.dropped()).isEqualTo(2);
+        assertThat(buffer.drain(entry -> { }, 10)).isEqualTo(4);
+
+        // Após drenar, os slots voltam a ficar disponíveis
+        assertThat(buffer.offer(7L, "GET", null, 200, 0L, null, -1L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Não deve perder nem duplicar registros com vários produtores concorrentes")
+    void shouldHandleConcurrentProducers() throws Exception {
+        AccessLogRingBuffer buffer = new AccessLogRingBuffer(1 << 16);
+        int producers = 4;
+        int perProducer = 10_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    buffer.offer(i, "GET", "route", 200, i, null, i);
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        int total = 0;
+        int drained;
+        while ((drained = buffer.drain(entry -> { }, 1024)) > 0) {
+            total += drained;
+        }
+
+        assertThat(buffer.dropped()).isZero();
+        assertThat(total).isEqualTo(producers * perProducer);
+    }
+}
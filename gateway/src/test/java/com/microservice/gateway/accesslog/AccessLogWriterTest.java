@@ -0,0 +1,82 @@
+package com.microservice.gateway.accesslog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Deve gravar os registros publicados no arquivo de access log")
+    void shouldWriteRecordsToFile() throws Exception {
+        Path file = tempDir.resolve("access.log");
+        AccessLogWriter writer = new AccessLogWriter(
+                new AccessLogProperties(true, file.toString(), 16, 1024 * 1024, 2));
+        writer.start();
+
+        assertThat(writer.record("GET", "product-service", 200, 1_500_000L, "42", 512L)).isTrue();
+        writer.stop();
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0)).endsWith(" GET product-service 200 1500 42 512");
+    }
+
+    @Test
+    @DisplayName("Não deve aceitar registros quando o access log estiver desabilitado")
+    void shouldIgnoreRecordsWhenDisabled() {
+        AccessLogWriter writer = new AccessLogWriter(
+                new AccessLogProperties(false, tempDir.resolve("access.log").toString(), 16, 1024, 2));
+        writer.start();
+
+        assertThat(writer.record("GET", "product-service", 200, 1L, null, -1L)).isFalse();
+        assertThat(Files.exists(tempDir.resolve("access.log"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve rotacionar o arquivo ao atingir o tamanho máximo")
+    void shouldRollFileWhenMaxSizeReached() throws Exception {
+        Path file = tempDir.resolve("access.log");
+        try (RollingFileWriter rolling = new RollingFileWriter(file, 20, 2)) {
+            rolling.write("0123456789012345\n");
+            rolling.write("abcdefghijklmnop\n");
+            rolling.write("ABCDEFGHIJKLMNOP\n");
+            rolling.flush();
+        }
+
+        assertThat(Files.readString(file)).isEqualTo("ABCDEFGHIJKLMNOP\n");
+        assertThat(Files.readString(tempDir.resolve("access.log.1"))).isEqualTo("abcdefghijklmnop\n");
+        assertThat(Files.readString(tempDir.resolve("access.log.2"))).isEqualTo("0123456789012345\n");
+    }
+
+    @Test
+    @DisplayName("Deve medir o tamanho do arquivo em bytes codificados, não em caracteres")
+    void shouldRollFileByEncodedBytes() throws Exception {
+        Path file = tempDir.resolve("access.log");
+        try (RollingFileWriter rolling = new RollingFileWriter(file, 20, 2)) {
+            rolling.write("ação-çãé\n");  // 9 caracteres, 14 bytes
+            rolling.write("ação-çãé\n");
+            rolling.flush();
+        }
+
+        assertThat(Files.size(file)).isEqualTo(14);
+        assertThat(Files.size(tempDir.resolve("access.log.1"))).isEqualTo(14);
+        assertThat(RollingFileWriter.utf8Length("a\u00e7\u20ac\uD83D\uDE00")).isEqualTo(1 + 2 + 3 + 4);
+    }
+
+    @Test
+    @DisplayName("Deve usar o histórico padrão quando maxHistory não for positivo")
+    void shouldDefaultMaxHistoryWhenNotPositive() {
+        assertThat(new AccessLogProperties(true, null, 0, 0, 0).maxHistory()).isEqualTo(5);
+        assertThat(new AccessLogProperties(true, null, 0, 0, -1).maxHistory()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,214 @@
+package com.microservice.gateway.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice.gateway.deadline.DeadlineGlobalFilter;
+import com.microservice.gateway.support.ClientAddressProperties;
+import com.microservice.gateway.support.ClientAddressResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BatchExecutorTest {
+
+    private final Queue<ClientRequest> requests = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Deve executar as sub-requisições respeitando o limite de concorrência do lote")
+    void shouldRespectConcurrencyCap() {
+        BatchExecutor executor = executor(3, request -> Mono.delay(Duration.ofMillis(20))
+                .thenReturn(json(HttpStatus.OK, "{\"id\":1}")));
+
+        List<BatchRequest.Item> items = IntStream.range(0, 10)
+                .mapToObj(i -> get("p" + i, "/api/products/" + i))
+                .toList();
+
+        StepVerifier.create(executor.execute(items, origin(MockServerHttpRequest.post("/api/batch"))))
+                .expectNextCount(10)
+                .verifyComplete();
+
+        assertThat(requests).hasSize(10);
+        assertThat(maxInFlight.get()).isEqualTo(3);
+        assertThat(registry.get("gateway.batch.size").summary().totalAmount()).isEqualTo(10.0);
+    }
+
+    @Test
+    @DisplayName("Deve repassar credenciais e IP do cliente e devolver o corpo JSON sem reprocessar")
+    void shouldPropagateIdentityAndReturnRawJson() {
+        BatchExecutor executor = executor(6, request -> Mono.just(json(HttpStatus.OK, "{\"id\":7,\"name\":\"Notebook\"}")));
+
+        MockServerHttpRequest.BaseBuilder<?> outer = MockServerHttpRequest.post("/api/batch")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer abc")
+                .remoteAddress(new InetSocketAddress("10.0.0.2", 40000))
+                .header("X-Forwarded-For", "198.51.100.1, 203.0.113.7");
+        BatchRequest.Item item = new BatchRequest.Item("p7", "GET", "/api/products/7?fields=name",
+                Map.of(HttpHeaders.AUTHORIZATION, "Bearer outro", "Accept", "application/json"), null);
+
+        StepVerifier.create(executor.execute(List.of(item), origin(outer)))
+                .assertNext(response -> {
+                    assertThat(response.id()).isEqualTo("p7");
+                    assertThat(response.status()).isEqualTo(200);
+                    assertThat(response.body()).isEqualTo("{\"id\":7,\"name\":\"Notebook\"}");
+                    assertThat(response.headers()).containsEntry(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+                })
+                .verifyComplete();
+
+        ClientRequest sent = requests.peek();
+        assertThat(sent).isNotNull();
+        assertThat(sent.url().toString()).isEqualTo("http://127.0.0.1:8080/api/products/7?fields=name");
+        assertThat(sent.headers().get(HttpHeaders.AUTHORIZATION)).containsExactly("Bearer abc");
+        // Só o endereço resolvido, sem a cadeia informada pelo cliente
+        assertThat(sent.headers().get("X-Forwarded-For")).containsExactly("203.0.113.7");
+        assertThat(sent.headers().getFirst("Accept")).isEqualTo("application/json");
+        assertThat(sent.headers().getFirst(BatchExecutor.LOOPBACK_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    @DisplayName("Deve isolar a falha de uma sub-requisição sem interromper o lote")
+    void shouldIsolateFailedCall() {
+        BatchExecutor executor = executor(6, request -> request.url().getPath().endsWith("/2")
+                ? Mono.error(new ConnectException("Connection refused"))
+                : Mono.just(json(HttpStatus.OK, "{}")));
+
+        List<BatchRequest.Item> items = List.of(
+                get("a", "/api/products/1"), get("b", "/api/products/2"), get("c", "/api/sales/user/1"));
+
+        List<BatchResponseItem> responses = new ArrayList<>();
+        StepVerifier.create(executor.execute(items, origin(MockServerHttpRequest.post("/api/batch"))))
+                .recordWith(() -> responses)
+                .expectNextCount(3)
+                .verifyComplete();
+
+        assertThat(responses).filteredOn(r -> r.id().equals("b"))
+                .singleElement()
+                .satisfies(r -> assertThat(r.status()).isEqualTo(502));
+        assertThat(responses).filteredOn(r -> r.status() == 200).hasSize(2);
+        assertThat(registry.get("gateway.batch.failed.calls").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve propagar o orçamento restante do cliente para cada sub-requisição")
+    void shouldPropagateRemainingDeadline() {
+        BatchExecutor executor = executor(6, request -> Mono.just(json(HttpStatus.OK, "{}")));
+
+        MockServerHttpRequest.BaseBuilder<?> outer = MockServerHttpRequest.post("/api/batch")
+                .header(DeadlineGlobalFilter.TIMEOUT_HEADER, "1500");
+
+        StepVerifier.create(executor.execute(List.of(get("a", "/api/products/1")), origin(outer)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        long forwarded = Long.parseLong(requests.peek().headers().getFirst(DeadlineGlobalFilter.TIMEOUT_HEADER));
+        assertThat(forwarded).isBetween(1L, 1500L);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar lotes vazios, grandes demais, aninhados ou com paths externos")
+    void shouldRejectInvalidBatches() {
+        BatchExecutor executor = executor(6, request -> Mono.just(json(HttpStatus.OK, "{}")));
+        BatchOrigin origin = origin(MockServerHttpRequest.post("/api/batch"));
+
+        List<BatchRequest.Item> tooMany = IntStream.range(0, 21)
+                .mapToObj(i -> get("p" + i, "/api/products/" + i))
+                .toList();
+
+        assertThrows(ResponseStatusException.class, () -> executor.execute(List.of(), origin));
+        assertThrows(ResponseStatusException.class, () -> executor.execute(tooMany, origin));
+        assertThrows(ResponseStatusException.class, () -> executor.execute(List.of(get("x", "/api/batch")), origin));
+        assertThrows(ResponseStatusException.class, () -> executor.execute(List.of(get("x", "/api/%62atch")), origin));
+        assertThrows(ResponseStatusException.class,
+                () -> executor.execute(List.of(get("x", "/api/products/../batch")), origin));
+        assertThrows(ResponseStatusException.class, () -> executor.execute(List.of(get("x", "/api//batch")), origin));
+        assertThrows(ResponseStatusException.class,
+                () -> executor.execute(List.of(get("x", "//evil.example.com/api")), origin));
+        assertThrows(ResponseStatusException.class,
+                () -> executor.execute(List.of(new BatchRequest.Item("x", "TRACE", "/api/products", null, null)), origin));
+        assertThat(requests).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve recusar no controller um lote recebido por loopback de outro lote")
+    void shouldRejectNestedBatchInController() {
+        BatchController controller = new BatchController(executor(6, request -> Mono.just(json(HttpStatus.OK, "{}"))),
+                clientAddressResolver());
+        MockServerWebExchange nested = MockServerWebExchange.from(MockServerHttpRequest.post("/api/%62atch")
+                .header(BatchExecutor.LOOPBACK_HEADER, "true"));
+        BatchRequest request = new BatchRequest(List.of(get("a", "/api/products/1")));
+
+        ResponseStatusException error = assertThrows(ResponseStatusException.class,
+                () -> controller.batch(request, nested));
+
+        assertThat(error.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(requests).isEmpty();
+    }
+
+    private BatchExecutor executor(int concurrency, Function<ClientRequest, Mono<ClientResponse>> upstream) {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            requests.add(request);
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            // Decrementa antes de emitir: em doFinally o flatMap já teria iniciado a próxima chamada
+            return upstream.apply(request)
+                    .doOnSuccess(response -> inFlight.decrementAndGet())
+                    .doOnError(e -> inFlight.decrementAndGet());
+        });
+        BatchExecutor executor = new BatchExecutor(new BatchProperties(true, 20, concurrency, 0),
+                builder, new ObjectMapper(), registry);
+        executor.setBaseUrl("http://127.0.0.1:8080");
+        return executor;
+    }
+
+    private static BatchOrigin origin(MockServerHttpRequest.BaseBuilder<?> request) {
+        return BatchOrigin.of(request.build(), clientAddressResolver());
+    }
+
+    private static ClientAddressResolver clientAddressResolver() {
+        return new ClientAddressResolver(new ClientAddressProperties(List.of("10.0.0.0/8")));
+    }
+
+    private static BatchRequest.Item get(String id, String path) {
+        return new BatchRequest.Item(id, "GET", path, null, null);
+    }
+
+    private static ClientResponse json(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+}
@@ -0,0 +1,238 @@
+package com.microservice.gateway.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.Connection;
+import reactor.netty.NettyInbound;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResponseCacheGatewayFilterTest {
+
+    private static final String BODY = "[{\"id\":1,\"name\":\"Notebook\"}]";
+
+    private SimpleMeterRegistry registry;
+    private ResponseCacheManager manager;
+    private GatewayFilter filter;
+    private AtomicInteger upstreamCalls;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        manager = new ResponseCacheManager(
+                new ResponseCacheProperties(true, 1024 * 1024, 64 * 1024,
+                        Map.of("product-service", Duration.ofSeconds(30))),
+                registry);
+        filter = manager.filterFor("product-service");
+        upstreamCalls = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Deve servir a segunda leitura do cache sem chamar o serviço downstream")
+    void shouldServeSecondGetFromCache() {
+        MockServerWebExchange first = get("/api/products");
+        StepVerifier.create(filter.filter(first, upstream(BODY, null))).verifyComplete();
+
+        MockServerWebExchange second = get("/api/products");
+        StepVerifier.create(filter.filter(second, upstream(BODY, null))).verifyComplete();
+
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+        assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilter.CACHE_STATUS_HEADER))
+                .isEqualTo("HIT");
+        StepVerifier.create(second.getResponse().getBodyAsString()).expectNext(BODY).verifyComplete();
+
+        assertThat(registry.get("gateway.response.cache.requests").tag("result", "hit").counter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("gateway.response.cache.requests").tag("result", "miss").counter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("gateway.response.cache.bytes.saved").counter().count())
+                .isEqualTo(BODY.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    @DisplayName("Deve armazenar o corpo recebido pela conexão do NettyRoutingFilter")
+    void shouldCacheBodyFromNettyConnection() {
+        MockServerWebExchange first = get("/api/products");
+        StepVerifier.create(filter.filter(first, nettyUpstream(BODY))).verifyComplete();
+
+        assertThat(first.getAttributes()).doesNotContainKey(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR);
+        StepVerifier.create(first.getResponse().getBodyAsString()).expectNext(BODY).verifyComplete();
+
+        MockServerWebExchange second = get("/api/products");
+        StepVerifier.create(filter.filter(second, nettyUpstream(BODY))).verifyComplete();
+
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+        StepVerifier.create(second.getResponse().getBodyAsString()).expectNext(BODY).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Deve diferenciar entradas pela query string")
+    void shouldKeyByQueryString() {
+        StepVerifier.create(filter.filter(get("/api/products?page=1"), upstream(BODY, null))).verifyComplete();
+        StepVerifier.create(filter.filter(get("/api/products?page=2"), upstream(BODY, null))).verifyComplete();
+
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 quando o If-None-Match coincidir com o ETag em cache")
+    void shouldReturnNotModifiedForMatchingEtag() {
+        MockServerWebExchange first = get("/api/products/1");
+        StepVerifier.create(filter.filter(first, upstream(BODY, null))).verifyComplete();
+        String etag = first.getResponse().getHeaders().getETag();
+        assertThat(etag).isNotNull();
+
+        MockServerWebExchange conditional = MockServerWebExchange.from(MockServerHttpRequest.get("/api/products/1")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .build());
+        StepVerifier.create(filter.filter(conditional, upstream(BODY, null))).verifyComplete();
+
+        assertThat(conditional.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Não deve armazenar respostas marcadas com no-store pelo serviço downstream")
+    void shouldNotCacheNoStoreResponses() {
+        StepVerifier.create(filter.filter(get("/api/products"), upstream(BODY, "no-store"))).verifyComplete();
+        StepVerifier.create(filter.filter(get("/api/products"), upstream(BODY, "no-store"))).verifyComplete();
+
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+        assertThat(manager.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o recurso e a coleção quando um PUT passar pelo gateway")
+    void shouldInvalidateOnWrite() {
+        StepVerifier.create(filter.filter(get("/api/products"), upstream(BODY, null))).verifyComplete();
+        StepVerifier.create(filter.filter(get("/api/products/1"), upstream(BODY, null))).verifyComplete();
+        StepVerifier.create(filter.filter(get("/api/products/2"), upstream(BODY, null))).verifyComplete();
+        assertThat(manager.size()).isEqualTo(3);
+
+        MockServerWebExchange put = MockServerWebExchange.from(MockServerHttpRequest.put("/api/products/1").build());
+        GatewayFilterChain okChain = exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.empty();
+        };
+        StepVerifier.create(filter.filter(put, okChain)).verifyComplete();
+
+        assertThat(manager.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Não deve armazenar respostas com Vary, pois a chave ignora os headers da requisição")
+    void shouldNotCacheResponsesWithVary() {
+        GatewayFilterChain varyingUpstream = exchange -> {
+            exchange.getResponse().getHeaders().set(HttpHeaders.VARY, HttpHeaders.ACCEPT_LANGUAGE);
+            return upstream(BODY, null).filter(exchange);
+        };
+
+        StepVerifier.create(filter.filter(get("/api/products"), varyingUpstream)).verifyComplete();
+        StepVerifier.create(filter.filter(get("/api/products"), varyingUpstream)).verifyComplete();
+
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+        assertThat(manager.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Não deve gravar no cache um GET iniciado antes de uma invalidação")
+    void shouldNotStoreGetStartedBeforeInvalidation() {
+        GatewayFilterChain okChain = exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.empty();
+        };
+        // O PUT conclui enquanto o GET ainda aguarda o corpo do serviço downstream
+        GatewayFilterChain racingUpstream = exchange -> {
+            MockServerWebExchange put = MockServerWebExchange.from(MockServerHttpRequest.put("/api/products/1").build());
+            return filter.filter(put, okChain).then(upstream(BODY, null).filter(exchange));
+        };
+
+        MockServerWebExchange stale = get("/api/products");
+        StepVerifier.create(filter.filter(stale, racingUpstream)).verifyComplete();
+
+        StepVerifier.create(stale.getResponse().getBodyAsString()).expectNext(BODY).verifyComplete();
+        assertThat(manager.size()).isZero();
+
+        StepVerifier.create(filter.filter(get("/api/products"), upstream(BODY, null))).verifyComplete();
+        assertThat(manager.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve devolver filtro de passagem para rotas sem TTL configurado")
+    void shouldPassThroughForUnconfiguredRoute() {
+        GatewayFilter passThrough = manager.filterFor("sales-service");
+
+        StepVerifier.create(passThrough.filter(get("/api/sales"), upstream(BODY, null))).verifyComplete();
+        StepVerifier.create(passThrough.filter(get("/api/sales"), upstream(BODY, null))).verifyComplete();
+
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve calcular o path da coleção pai")
+    void shouldResolveParentPath() {
+        assertThat(ResponseCacheManager.parentOf("/api/products/1")).isEqualTo("/api/products");
+        assertThat(ResponseCacheManager.parentOf("/api/products/1/")).isEqualTo("/api/products");
+    }
+
+    private static MockServerWebExchange get(String uri) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(uri).build());
+    }
+
+    /**
+     * Simula o NettyRoutingFilter: define status e headers e deixa o corpo na conexão,
+     * para ser escrito depois (normalmente pelo NettyWriteResponseFilter).
+     */
+    private GatewayFilterChain nettyUpstream(String body) {
+        return (ServerWebExchange exchange) -> {
+            upstreamCalls.incrementAndGet();
+            NettyInbound inbound = mock(NettyInbound.class);
+            when(inbound.receive()).thenReturn(ByteBufFlux.fromString(Mono.just(body)));
+            Connection connection = mock(Connection.class);
+            when(connection.inbound()).thenReturn(inbound);
+
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            exchange.getAttributes().put(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR, connection);
+            return Mono.empty();
+        };
+    }
+
+    private GatewayFilterChain upstream(String body, String cacheControl) {
+        return (ServerWebExchange exchange) -> {
+            upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().setContentLength(bytes.length);
+            if (cacheControl != null) {
+                response.getHeaders().setCacheControl(cacheControl);
+            }
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+        };
+    }
+}
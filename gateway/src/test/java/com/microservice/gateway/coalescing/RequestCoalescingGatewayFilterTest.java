@@ -0,0 +1,247 @@
+package com.microservice.gateway.coalescing;
+
+import com.microservice.gateway.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescingGatewayFilterTest {
+
+    private static final String BODY = "{\"id\":1,\"name\":\"Notebook\",\"price\":3500.0}";
+
+    private SimpleMeterRegistry registry;
+    private RequestCoalescingManager manager;
+    private AtomicInteger upstreamCalls;
+    private Sinks.Empty<Void> release;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        upstreamCalls = new AtomicInteger();
+        release = Sinks.empty();
+    }
+
+    @Test
+    @DisplayName("Deve compartilhar uma única chamada downstream entre GETs idênticos simultâneos")
+    void shouldCollapseConcurrentIdenticalGets() {
+        GatewayFilter filter = filter(1024, 100);
+
+        List<MockServerWebExchange> exchanges = new ArrayList<>();
+        List<Mono<Void>> executions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            MockServerWebExchange exchange = get("/api/products/1");
+            exchanges.add(exchange);
+            executions.add(filter.filter(exchange, slowUpstream(BODY)));
+        }
+
+        StepVerifier.create(Mono.when(executions))
+                .then(() -> release.tryEmitEmpty())
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+        for (MockServerWebExchange exchange : exchanges) {
+            assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+            StepVerifier.create(exchange.getResponse().getBodyAsString()).expectNext(BODY).verifyComplete();
+        }
+        assertThat(registry.get("gateway.request.coalescing").tag("role", "follower").counter().count())
+                .isEqualTo(4.0);
+        assertThat(manager.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o limite de requisições aguardando a mesma chamada")
+    void shouldBypassWhenWaiterLimitReached() {
+        GatewayFilter filter = filter(1024, 1);
+
+        List<Mono<Void>> executions = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            executions.add(filter.filter(get("/api/products/1"), slowUpstream(BODY)));
+        }
+
+        StepVerifier.create(Mono.when(executions))
+                .then(() -> release.tryEmitEmpty())
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        // líder + 1 requisição excedente; a outra aguardou o líder
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+        assertThat(registry.get("gateway.request.coalescing").tag("role", "bypass").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve liberar as esperas para chamadas próprias quando a resposta exceder o limite")
+    void shouldFallBackWhenResponseTooLarge() {
+        GatewayFilter filter = filter(8, 100);
+
+        List<MockServerWebExchange> exchanges = new ArrayList<>();
+        List<Mono<Void>> executions = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            MockServerWebExchange exchange = get("/api/products");
+            exchanges.add(exchange);
+            executions.add(filter.filter(exchange, slowUpstream(BODY)));
+        }
+
+        StepVerifier.create(Mono.when(executions))
+                .then(() -> release.tryEmitEmpty())
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(upstreamCalls.get()).isEqualTo(3);
+        for (MockServerWebExchange exchange : exchanges) {
+            StepVerifier.create(exchange.getResponse().getBodyAsString()).expectNext(BODY).verifyComplete();
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve compartilhar respostas de erro; cada espera faz a própria chamada")
+    void shouldNotShareNonSuccessResponses() {
+        GatewayFilter filter = filter(1024, 100);
+
+        List<MockServerWebExchange> exchanges = new ArrayList<>();
+        List<Mono<Void>> executions = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            MockServerWebExchange exchange = get("/api/products/1");
+            exchanges.add(exchange);
+            executions.add(filter.filter(exchange, slowUpstream(BODY, HttpStatus.SERVICE_UNAVAILABLE)));
+        }
+
+        StepVerifier.create(Mono.when(executions))
+                .then(() -> release.tryEmitEmpty())
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(upstreamCalls.get()).isEqualTo(3);
+        for (MockServerWebExchange exchange : exchanges) {
+            assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            assertThat(exchange.getResponse().getHeaders().containsKey(RequestCoalescingGatewayFilter.COALESCED_HEADER))
+                    .isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve coalescer GETs idênticos de usuários diferentes quando a resposta é pública")
+    void shouldCoalesceAcrossUsers() {
+        GatewayFilter filter = filter(1024, 100);
+
+        List<Mono<Void>> executions = new ArrayList<>();
+        for (String userId : List.of("user-1", "user-2", "user-3")) {
+            MockServerWebExchange exchange = get("/api/products/1");
+            exchange.getAttributes().put(UserPrincipal.EXCHANGE_ATTRIBUTE, new UserPrincipal(userId, null, null));
+            executions.add(filter.filter(exchange, slowUpstream(BODY)));
+        }
+
+        StepVerifier.create(Mono.when(executions))
+                .then(() -> release.tryEmitEmpty())
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+        assertThat(registry.get("gateway.request.coalescing").tag("role", "follower").counter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Não deve compartilhar respostas específicas do usuário (private, Set-Cookie, Vary: Authorization)")
+    void shouldNotSharePerUserResponses() {
+        for (Consumer<HttpHeaders> perUser : List.<Consumer<HttpHeaders>>of(
+                headers -> headers.setCacheControl("private, max-age=60"),
+                headers -> headers.add(HttpHeaders.SET_COOKIE, "session=abc"),
+                headers -> headers.setVary(List.of(HttpHeaders.AUTHORIZATION)))) {
+            setup();
+            GatewayFilter filter = filter(1024, 100);
+
+            List<Mono<Void>> executions = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                executions.add(filter.filter(get("/api/products/1"), slowUpstream(BODY, HttpStatus.OK, perUser)));
+            }
+
+            StepVerifier.create(Mono.when(executions))
+                    .then(() -> release.tryEmitEmpty())
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(5));
+
+            assertThat(upstreamCalls.get()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve coalescer métodos não idempotentes")
+    void shouldNotCoalescePost() {
+        GatewayFilter filter = filter(1024, 100);
+
+        List<Mono<Void>> executions = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            MockServerWebExchange post = MockServerWebExchange.from(MockServerHttpRequest.post("/api/products").build());
+            executions.add(filter.filter(post, slowUpstream(BODY)));
+        }
+
+        StepVerifier.create(Mono.when(executions))
+                .then(() -> release.tryEmitEmpty())
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    private GatewayFilter filter(long maxResponseBytes, int maxWaiters) {
+        manager = new RequestCoalescingManager(
+                new RequestCoalescingProperties(true, maxResponseBytes, maxWaiters, List.of("product-service")),
+                registry);
+        return manager.filterFor("product-service");
+    }
+
+    private static MockServerWebExchange get(String uri) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(uri).build());
+    }
+
+    /**
+     * Simula um serviço downstream que só responde quando o teste libera o sink,
+     * garantindo que todas as requisições cheguem enquanto a primeira está em andamento.
+     */
+    private GatewayFilterChain slowUpstream(String body) {
+        return slowUpstream(body, HttpStatus.OK);
+    }
+
+    private GatewayFilterChain slowUpstream(String body, HttpStatusCode status) {
+        return slowUpstream(body, status, headers -> {
+        });
+    }
+
+    private GatewayFilterChain slowUpstream(String body, HttpStatusCode status, Consumer<HttpHeaders> headers) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            return release.asMono().then(Mono.defer(() -> {
+                ServerHttpResponse response = exchange.getResponse();
+                byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                response.setStatusCode(status);
+                response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                headers.accept(response.getHeaders());
+                return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+            }));
+        };
+    }
+}
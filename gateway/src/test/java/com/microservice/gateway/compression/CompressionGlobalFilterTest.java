@@ -0,0 +1,203 @@
+package com.microservice.gateway.compression;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressionGlobalFilterTest {
+
+    private static final String PRODUCTS = IntStream.range(0, 200)
+            .mapToObj(i -> "{\"id\":" + i + ",\"name\":\"Produto " + i + "\",\"price\":19.90}")
+            .collect(Collectors.joining(",", "[", "]"));
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CompressionGlobalFilter filter = new CompressionGlobalFilter(
+            new CompressionProperties(true, 1024, null, 6, false), registry);
+
+    @Test
+    @DisplayName("Deve comprimir com gzip uma listagem JSON enviada em vários pedaços")
+    void shouldGzipChunkedJson() throws IOException {
+        MockServerWebExchange exchange = exchange("gzip, deflate, br");
+
+        StepVerifier.create(filter.filter(exchange, upstream(MediaType.APPLICATION_JSON, -1, PRODUCTS, 4)))
+                .verifyComplete();
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(headers.getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(headers.getContentLength()).isEqualTo(-1);
+
+        byte[] compressed = body(exchange);
+        assertThat(gunzip(compressed)).isEqualTo(PRODUCTS);
+        assertThat(compressed.length).isLessThan(PRODUCTS.length() / 4);
+
+        assertThat(registry.get("gateway.compression.ratio").tags("route", "product-service", "encoding", "gzip")
+                .summary().count()).isEqualTo(1);
+        assertThat(registry.get("gateway.compression.bytes").tags("route", "product-service", "direction", "in")
+                .tag("encoding", "gzip")
+                .counter().count()).isEqualTo(PRODUCTS.length());
+        assertThat(registry.get("gateway.compression.bytes").tags("route", "product-service", "direction", "out")
+                .tag("encoding", "gzip")
+                .counter().count()).isEqualTo(compressed.length);
+    }
+
+    @Test
+    @DisplayName("Não deve comprimir respostas com Content-Length abaixo do mínimo")
+    void shouldSkipSmallResponses() {
+        MockServerWebExchange exchange = exchange("gzip");
+        String small = "{\"id\":1}";
+
+        StepVerifier.create(filter.filter(exchange, upstream(MediaType.APPLICATION_JSON, small.length(), small, 1)))
+                .verifyComplete();
+
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(small);
+        assertThat(registry.get("gateway.compression.skipped").tags("reason", "too_small")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Não deve comprimir tipos fora da lista nem respostas já codificadas")
+    void shouldSkipOtherTypesAndEncodedResponses() {
+        MockServerWebExchange image = exchange("gzip");
+        StepVerifier.create(filter.filter(image, upstream(MediaType.IMAGE_PNG, -1, PRODUCTS, 2)))
+                .verifyComplete();
+        assertThat(image.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(image.getResponse().getHeaders().getVary()).isEmpty();
+
+        MockServerWebExchange encoded = exchange("gzip");
+        GatewayFilterChain chain = e -> {
+            e.getResponse().getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return upstream(MediaType.APPLICATION_JSON, -1, PRODUCTS, 1).filter(e);
+        };
+        StepVerifier.create(filter.filter(encoded, chain)).verifyComplete();
+        assertThat(encoded.getResponse().getBodyAsString().block()).isEqualTo(PRODUCTS);
+        assertThat(registry.get("gateway.compression.skipped").tags("reason", "already_encoded")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve enfraquecer o ETag forte de respostas comprimidas")
+    void shouldWeakenStrongEtag() {
+        MockServerWebExchange exchange = exchange("gzip");
+        GatewayFilterChain chain = e -> {
+            e.getResponse().getHeaders().setETag("\"abc\"");
+            return upstream(MediaType.APPLICATION_JSON, -1, PRODUCTS, 1).filter(e);
+        };
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        assertThat(exchange.getResponse().getHeaders().getETag()).isEqualTo("W/\"abc\"");
+    }
+
+    @Test
+    @DisplayName("Deve negociar a codificação pelo Accept-Encoding e seus pesos")
+    void shouldNegotiateEncoding() {
+        assertThat(CompressionGlobalFilter.negotiate(null, true)).isNull();
+        assertThat(CompressionGlobalFilter.negotiate(List.of("identity"), true)).isNull();
+        assertThat(CompressionGlobalFilter.negotiate(List.of("gzip;q=0"), true)).isNull();
+        assertThat(CompressionGlobalFilter.negotiate(List.of("*"), false)).isEqualTo(ContentCoding.GZIP);
+        assertThat(CompressionGlobalFilter.negotiate(List.of("gzip, br"), false)).isEqualTo(ContentCoding.GZIP);
+        assertThat(CompressionGlobalFilter.negotiate(List.of("gzip, br"), true)).isEqualTo(ContentCoding.BROTLI);
+        assertThat(CompressionGlobalFilter.negotiate(List.of("br;q=0.5", "gzip;q=0.8"), true))
+                .isEqualTo(ContentCoding.GZIP);
+        assertThat(CompressionGlobalFilter.negotiate(List.of("*;q=0.1, gzip;q=0"), true))
+                .isEqualTo(ContentCoding.BROTLI);
+    }
+
+    @Test
+    @DisplayName("Deve produzir bytes comprimidos a cada pedaço, sem esperar o fim do corpo")
+    void shouldStreamEachChunk() throws IOException {
+        StreamingCompressor compressor = new StreamingCompressor(ContentCoding.GZIP.newEncoder(6));
+        byte[] half = PRODUCTS.substring(0, PRODUCTS.length() / 2).getBytes(StandardCharsets.UTF_8);
+        byte[] rest = PRODUCTS.substring(PRODUCTS.length() / 2).getBytes(StandardCharsets.UTF_8);
+
+        ByteBuf first = compressor.encode(Unpooled.wrappedBuffer(half));
+        assertThat(first.readableBytes()).isPositive();
+        ByteBuf second = compressor.encode(Unpooled.wrappedBuffer(rest));
+        ByteBuf trailer = compressor.finish();
+
+        byte[] all = new byte[first.readableBytes() + second.readableBytes() + trailer.readableBytes()];
+        int offset = 0;
+        for (ByteBuf buf : List.of(first, second, trailer)) {
+            int length = buf.readableBytes();
+            buf.readBytes(all, offset, length);
+            offset += length;
+            buf.release();
+        }
+        assertThat(gunzip(all)).isEqualTo(PRODUCTS);
+    }
+
+    private static MockServerWebExchange exchange(String acceptEncoding) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/products")
+                .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding)
+                .build());
+        Route route = Route.async()
+                .id("product-service")
+                .uri("lb://product-service")
+                .predicate(e -> true)
+                .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+
+    private static GatewayFilterChain upstream(MediaType contentType, long contentLength, String body, int chunks) {
+        return e -> {
+            ServerHttpResponse response = e.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(contentType);
+            if (contentLength >= 0) {
+                response.getHeaders().setContentLength(contentLength);
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            int size = (bytes.length + chunks - 1) / chunks;
+            Flux<DataBuffer> parts = Flux.range(0, chunks)
+                    .map(i -> response.bufferFactory().wrap(Arrays.copyOfRange(
+                            bytes, i * size, Math.min(bytes.length, (i + 1) * size))));
+            return response.writeWith(parts);
+        };
+    }
+
+    private static byte[] body(MockServerWebExchange exchange) {
+        return DataBufferUtils.join(exchange.getResponse().getBody())
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .block();
+    }
+
+    private static String gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
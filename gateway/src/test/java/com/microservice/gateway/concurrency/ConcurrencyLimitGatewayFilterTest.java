@@ -0,0 +1,116 @@
+package com.microservice.gateway.concurrency;
+
+import com.microservice.gateway.metrics.UpstreamTimingGlobalFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitGatewayFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private ConcurrencyLimitManager manager;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        manager = new ConcurrencyLimitManager(
+                new ConcurrencyLimitProperties(true, 2, 1, 10, 0.2, 1.5, List.of("product-service")),
+                registry);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar com 503 imediatamente as requisições acima do limite")
+    void shouldShedExcessRequests() {
+        GatewayFilter filter = manager.filterFor("product-service");
+        Sinks.Empty<Void> release = Sinks.empty();
+        GatewayFilterChain slow = exchange -> release.asMono();
+
+        Mono<Void> first = filter.filter(get(), slow);
+        Mono<Void> second = filter.filter(get(), slow);
+        MockServerWebExchange third = get();
+
+        StepVerifier.create(Mono.when(first, second))
+                .then(() -> StepVerifier.create(filter.filter(third, slow)).verifyComplete())
+                .then(() -> release.tryEmitEmpty())
+                .verifyComplete();
+
+        assertThat(third.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(registry.get("gateway.concurrency.rejected").tag("route", "product-service").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve liberar a vaga e exportar o limite ajustado após cada resposta")
+    void shouldReleaseAndExportLimit() {
+        GatewayFilter filter = manager.filterFor("product-service");
+        GatewayFilterChain fast = exchange -> {
+            exchange.getAttributes().put(UpstreamTimingGlobalFilter.UPSTREAM_NANOS_ATTR,
+                    TimeUnit.MILLISECONDS.toNanos(10));
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.empty();
+        };
+
+        for (int i = 0; i < 20; i++) {
+            StepVerifier.create(filter.filter(get(), fast)).verifyComplete();
+        }
+
+        assertThat(registry.get("gateway.concurrency.limit").tag("route", "product-service").gauge().value())
+                .isGreaterThanOrEqualTo(2.0);
+        assertThat(registry.find("gateway.concurrency.rejected").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve reduzir o limite quando o downstream responde com timeout")
+    void shouldBackOffOnGatewayTimeout() {
+        manager = new ConcurrencyLimitManager(
+                new ConcurrencyLimitProperties(true, 10, 1, 10, 0.2, 1.5, List.of("product-service")),
+                registry);
+        GatewayFilter filter = manager.filterFor("product-service");
+        GatewayFilterChain timeout = exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.GATEWAY_TIMEOUT);
+            return Mono.empty();
+        };
+
+        StepVerifier.create(filter.filter(get(), timeout)).verifyComplete();
+
+        assertThat(registry.get("gateway.concurrency.limit").tag("route", "product-service").gauge().value())
+                .isEqualTo(9.0);
+    }
+
+    @Test
+    @DisplayName("Deve devolver filtro de passagem para rotas não configuradas")
+    void shouldPassThroughForUnconfiguredRoute() {
+        GatewayFilter passThrough = manager.filterFor("sales-service");
+        Sinks.Empty<Void> release = Sinks.empty();
+
+        Mono<Void> pending = Mono.when(
+                passThrough.filter(get(), exchange -> release.asMono()),
+                passThrough.filter(get(), exchange -> release.asMono()),
+                passThrough.filter(get(), exchange -> release.asMono()));
+
+        StepVerifier.create(pending)
+                .then(() -> release.tryEmitEmpty())
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        assertThat(registry.find("gateway.concurrency.rejected").counter()).isNull();
+    }
+
+    private static MockServerWebExchange get() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/products/1").build());
+    }
+}
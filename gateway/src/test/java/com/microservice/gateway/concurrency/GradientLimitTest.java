@@ -0,0 +1,67 @@
+package com.microservice.gateway.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradientLimitTest {
+
+    private static final long BASE_RTT = TimeUnit.MILLISECONDS.toNanos(20);
+
+    @Test
+    @DisplayName("Deve aumentar o limite enquanto a latência se mantém estável e o tráfego usa o limite")
+    void shouldGrowWhileLatencyIsStable() {
+        GradientLimit limit = new GradientLimit(10, 4, 200, 0.2, 1.5);
+
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(BASE_RTT, limit.limit());
+        }
+
+        assertThat(limit.limit()).isGreaterThan(50);
+    }
+
+    @Test
+    @DisplayName("Não deve aumentar o limite quando o tráfego está bem abaixo dele")
+    void shouldNotGrowWhenApplicationLimited() {
+        GradientLimit limit = new GradientLimit(40, 4, 200, 0.2, 1.5);
+
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(BASE_RTT, 5);
+        }
+
+        assertThat(limit.limit()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("Deve reduzir o limite quando a latência sobe acima da tolerância")
+    void shouldShrinkWhenLatencyDrifts() {
+        GradientLimit limit = new GradientLimit(10, 4, 200, 0.2, 1.5);
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(BASE_RTT, limit.limit());
+        }
+        int learned = limit.limit();
+
+        for (int i = 0; i < 30; i++) {
+            limit.onSample(BASE_RTT * 5, limit.limit());
+        }
+
+        assertThat(limit.limit()).isLessThan(learned / 2);
+    }
+
+    @Test
+    @DisplayName("Deve reduzir multiplicativamente em timeouts sem ficar abaixo do mínimo")
+    void shouldBackOffOnDropsDownToMinimum() {
+        GradientLimit limit = new GradientLimit(100, 4, 200, 0.2, 1.5);
+
+        limit.onDrop();
+        assertThat(limit.limit()).isEqualTo(90);
+
+        for (int i = 0; i < 100; i++) {
+            limit.onDrop();
+        }
+        assertThat(limit.limit()).isEqualTo(4);
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
 import reactor.test.StepVerifier;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -79,4 +80,16 @@ class GatewayRoutesConfigTest {
                 )
                 .verifyComplete();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve aplicar o timeout de resposta configurado em gateway.upstream à rota do product-service")
+    void testProductServiceResponseTimeout() {
+        StepVerifier.create(routeLocator.getRoutes()
+                        .filter(route -> route.getId().equals("product-service"))
+                        .single())
+                .assertNext(route ->
+                        assertThat(route.getMetadata()).containsEntry(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, 2000L)
+                )
+                .verifyComplete();
+    }
+}
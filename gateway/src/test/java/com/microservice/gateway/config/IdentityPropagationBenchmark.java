@@ -0,0 +1,107 @@
+package com.microservice.gateway.config;
+
+import com.microservice.gateway.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara as alocações por requisição do enriquecimento de identidade antigo
+ * (JwtAuthGlobalFilter e LoggingGlobalFilter mutando request/exchange duas vezes)
+ * com a propagação em passo único via {@link UserPrincipal}.
+ * A criação do exchange base é igual nos dois cenários; a diferença em
+ * {@code gc.alloc.rate.norm} corresponde às cópias de headers e builders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdentityPropagationBenchmark {
+
+    private Claims claims;
+
+    @Setup
+    public void setup() {
+        claims = Jwts.claims()
+                .subject("42")
+                .add("email", "user@test.com")
+                .add("role", "ADMIN")
+                .build();
+    }
+
+    @Benchmark
+    public ServerWebExchange legacyDoubleMutation() {
+        ServerWebExchange exchange = newExchange();
+
+        // JwtAuthGlobalFilter (versão anterior)
+        ServerHttpRequest authRequest = exchange.getRequest().mutate()
+                .header("X-User-Id", claims.getSubject())
+                .header("X-User-Email", String.valueOf(claims.get("email")))
+                .header("X-User-Role", String.valueOf(claims.get("role")))
+                .build();
+        ServerWebExchange authExchange = exchange.mutate().request(authRequest).build();
+        authExchange.getAttributes().put("jwtClaims", claims);
+
+        // LoggingGlobalFilter (versão anterior)
+        Claims fromAttribute = authExchange.getAttribute("jwtClaims");
+        ServerHttpRequest.Builder loggingRequest = authExchange.getRequest().mutate();
+        loggingRequest.header("X-User-Email", fromAttribute.get("email").toString());
+        loggingRequest.header("X-User-Id", fromAttribute.get("sub").toString());
+        loggingRequest.header("X-User-Role", fromAttribute.get("role").toString());
+        return authExchange.mutate().request(loggingRequest.build()).build();
+    }
+
+    @Benchmark
+    public ServerWebExchange singlePassPrincipal() {
+        ServerWebExchange exchange = newExchange();
+
+        UserPrincipal principal = UserPrincipal.from(claims);
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .header(UserPrincipal.HEADER_USER_ID, principal.id())
+                .header(UserPrincipal.HEADER_USER_EMAIL, principal.email())
+                .header(UserPrincipal.HEADER_USER_ROLE, principal.role())
+                .build();
+        ServerWebExchange mutated = exchange.mutate().request(request).build();
+        mutated.getAttributes().put(UserPrincipal.EXCHANGE_ATTRIBUTE, principal);
+
+        // LoggingGlobalFilter agora apenas lê o atributo
+        UserPrincipal fromAttribute = mutated.getAttribute(UserPrincipal.EXCHANGE_ATTRIBUTE);
+        return fromAttribute != null ? mutated : exchange;
+    }
+
+    private static ServerWebExchange newExchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest
+                .get("/api/products/42")
+                .header("Authorization", "Bearer token")
+                .header("Accept", "application/json")
+                .build());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IdentityPropagationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -1,14 +1,16 @@
 package com.microservice.gateway.config;
 
 import com.microservice.gateway.security.JwtValidator;
+import com.microservice.gateway.security.PublicRouteMatcher;
+import com.microservice.gateway.security.UserPrincipal;
 import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
@@ -21,6 +23,8 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -34,9 +38,17 @@ class JwtAuthGlobalFilterTest {
     @Mock
     private GatewayFilterChain chain;
 
-    @InjectMocks
     private JwtAuthGlobalFilter jwtAuthGlobalFilter;
 
+    @BeforeEach
+    void setup() {
+        PublicRouteMatcher publicRouteMatcher = PublicRouteMatcher.of(
+                List.of("/v3/api-docs", "/swagger-ui", "/webjars", "/actuator/health", "/fallback"),
+                List.of("/api/accounts/login", "/accounts/login", "/api/accounts/register", "/accounts/register")
+        );
+        jwtAuthGlobalFilter = new JwtAuthGlobalFilter(jwtValidator, publicRouteMatcher);
+    }
+
     @Test
     @DisplayName("Deve retornar a ordem correta (-1)")
     void shouldReturnCorrectOrder() {
@@ -171,8 +183,43 @@ class JwtAuthGlobalFilterTest {
 
         // Verifica os atributos do exchange
         assertThat(mutatedExchange.getAttributes().get("jwtClaims")).isEqualTo(mockClaims);
+        assertThat(mutatedExchange.getAttributes().get(UserPrincipal.EXCHANGE_ATTRIBUTE))
+                .isEqualTo(new UserPrincipal("user-123", "user@test.com", "ROLE_USER"));
 
         // Verifica que o status da resposta não foi alterado
         assertThat(mutatedExchange.getResponse().getStatusCode()).isNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve descartar headers X-User-* enviados pelo cliente, mesmo sem a claim correspondente")
+    void shouldStripClientSuppliedIdentityHeaders() {
+        // Arrange
+        Claims mockClaims = mock(Claims.class);
+        when(mockClaims.getSubject()).thenReturn("user-123");
+
+        String validToken = "valid.jwt.token";
+        var request = MockServerHttpRequest.get("/api/protected-route")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + validToken)
+                .header("X-User-Id", "admin")
+                .header("x-user-role", "ROLE_ADMIN")
+                .header("X-User-Email", "forjado@test.com")
+                .header("X-User-Tenant", "outro")
+                .build();
+        var exchange = MockServerWebExchange.from(request);
+
+        when(jwtValidator.parse(validToken)).thenReturn(mockClaims);
+        ArgumentCaptor<ServerWebExchange> exchangeCaptor = ArgumentCaptor.forClass(ServerWebExchange.class);
+        when(chain.filter(exchangeCaptor.capture())).thenReturn(Mono.empty());
+
+        // Act
+        StepVerifier.create(jwtAuthGlobalFilter.filter(exchange, chain))
+                .verifyComplete();
+
+        // Assert
+        HttpHeaders headers = exchangeCaptor.getValue().getRequest().getHeaders();
+        assertThat(headers.get("X-User-Id")).containsExactly("user-123");
+        assertThat(headers.containsKey("X-User-Role")).isFalse();
+        assertThat(headers.containsKey("X-User-Email")).isFalse();
+        assertThat(headers.containsKey("X-User-Tenant")).isFalse();
+    }
+}
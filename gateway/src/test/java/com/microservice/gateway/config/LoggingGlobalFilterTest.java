@@ -1,6 +1,7 @@
 package com.microservice.gateway.config;
 
-import io.jsonwebtoken.Claims;
+import com.microservice.gateway.accesslog.AccessLogWriter;
+import com.microservice.gateway.security.UserPrincipal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,19 +9,25 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
-import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 class LoggingGlobalFilterTest {
@@ -30,31 +37,26 @@ class LoggingGlobalFilterTest {
     @Mock
     private GatewayFilterChain chain;
 
-    private MockServerHttpResponse response;
+    @Mock
+    private AccessLogWriter accessLogWriter;
 
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
-        filter = new LoggingGlobalFilter();
-        response = new MockServerHttpResponse();
+        filter = new LoggingGlobalFilter(accessLogWriter);
     }
 
     @Test
-    @DisplayName("Deve registrar logs e adicionar headers de claims JWT no request")
-    void shouldAddHeadersWhenClaimsExist() {
+    @DisplayName("Deve repassar a requisição sem alterá-la quando o principal já estiver resolvido")
+    void shouldPassRequestThroughWhenPrincipalExists() {
         // Arrange
         MockServerHttpRequest request = MockServerHttpRequest
                 .method(HttpMethod.GET, URI.create("/api/test"))
                 .build();
 
         ServerWebExchange exchange = MockServerWebExchange.from(request);
-
-        Claims claims = mock(Claims.class);
-        when(claims.get("email")).thenReturn("user@test.com");
-        when(claims.get("sub")).thenReturn("123");
-        when(claims.get("role")).thenReturn("ADMIN");
-
-        exchange.getAttributes().put("jwtClaims", claims);
+        exchange.getAttributes().put(UserPrincipal.EXCHANGE_ATTRIBUTE,
+                new UserPrincipal("123", "user@test.com", "ADMIN"));
 
         when(chain.filter(any(ServerWebExchange.class))).thenReturn(Mono.empty());
 
@@ -66,11 +68,8 @@ class LoggingGlobalFilterTest {
         ArgumentCaptor<ServerWebExchange> captor = ArgumentCaptor.forClass(ServerWebExchange.class);
         verify(chain).filter(captor.capture());
 
-        ServerWebExchange mutatedExchange = captor.getValue();
-
-        assertThat(mutatedExchange.getRequest().getHeaders().getFirst("X-User-Email")).isEqualTo("user@test.com");
-        assertThat(mutatedExchange.getRequest().getHeaders().getFirst("X-User-Id")).isEqualTo("123");
-        assertThat(mutatedExchange.getRequest().getHeaders().getFirst("X-User-Role")).isEqualTo("ADMIN");
+        assertThat(captor.getValue().getRequest()).isSameAs(exchange.getRequest());
+        assertThat(captor.getValue().getAttributes()).isSameAs(exchange.getAttributes());
     }
 
     @Test
@@ -100,17 +99,53 @@ class LoggingGlobalFilterTest {
     }
 
     @Test
-    @DisplayName("Deve registrar log de resposta com tempo de execução")
-    void shouldLogResponseTime() {
+    @DisplayName("Deve publicar registro de acesso com rota, status, usuário e bytes")
+    void shouldRecordAccessLogEntry() {
+        // Arrange
+        MockServerHttpRequest request = MockServerHttpRequest
+                .method(HttpMethod.GET, URI.create("/api/products/1"))
+                .build();
+
+        ServerWebExchange exchange = MockServerWebExchange.from(request);
+        Route route = Route.async()
+                .id("product-service")
+                .uri(URI.create("lb://product-service"))
+                .predicate(e -> true)
+                .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        exchange.getAttributes().put(UserPrincipal.EXCHANGE_ATTRIBUTE,
+                new UserPrincipal("42", "user@test.com", "ADMIN"));
+
+        // Corpo em dois pedaços e sem Content-Length, como numa resposta chunked
+        when(chain.filter(any(ServerWebExchange.class))).thenAnswer(invocation -> {
+            ServerHttpResponse response = invocation.<ServerWebExchange>getArgument(0).getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            return response.writeWith(Flux.just("{\"id\":1,", "\"name\":\"Teclado\"}")
+                    .map(chunk -> response.bufferFactory().wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+        });
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, chain))
+                .verifyComplete();
+
+        // Assert
+        verify(accessLogWriter).record(eq("GET"), eq("product-service"), eq(200), anyLong(), eq("42"), eq(25L));
+    }
+
+    @Test
+    @DisplayName("Deve registrar requisição sem rota e sem usuário (ex.: rejeitada pela autenticação)")
+    void shouldRecordEntryWithoutRouteAndUser() {
         // Arrange
         MockServerHttpRequest request = MockServerHttpRequest
                 .method(HttpMethod.GET, URI.create("/api/time"))
                 .build();
 
         ServerWebExchange exchange = MockServerWebExchange.from(request);
-        response.setStatusCode(HttpStatus.OK);
 
-        when(chain.filter(any(ServerWebExchange.class))).thenAnswer(invocation -> Mono.empty());
+        when(chain.filter(any(ServerWebExchange.class))).thenAnswer(invocation -> {
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            return Mono.empty();
+        });
 
         // Act
         StepVerifier.create(filter.filter(exchange, chain))
@@ -118,6 +153,12 @@ class LoggingGlobalFilterTest {
 
         // Assert
         verify(chain, times(1)).filter(any(ServerWebExchange.class));
-        assertThat(filter.getOrder()).isZero(); // ensure order is 0
+        verify(accessLogWriter).record(eq("GET"), isNull(), eq(401), anyLong(), isNull(), eq(0L));
+    }
+
+    @Test
+    @DisplayName("Deve executar antes da autenticação e por fora da compressão")
+    void shouldRunBeforeAuthenticationAndCompression() {
+        assertThat(filter.getOrder()).isLessThan(-4);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,109 @@
+package com.microservice.gateway.deadline;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeadlineGlobalFilterTest {
+
+    private final DeadlineGlobalFilter deadlineFilter = new DeadlineGlobalFilter(
+            new DeadlineProperties(true, Duration.ofSeconds(5), Map.of("product-service", Duration.ofSeconds(2))));
+    private final DeadlineHeaderGlobalFilter headerFilter = new DeadlineHeaderGlobalFilter();
+
+    @Test
+    @DisplayName("Deve executar antes dos filtros da rota (ordem 0)")
+    void shouldRunBeforeRouteFilters() {
+        assertThat(deadlineFilter.getOrder()).isLessThan(0);
+    }
+
+    @Test
+    @DisplayName("Deve enviar ao serviço downstream o orçamento restante da rota")
+    void shouldStampRemainingRouteBudget() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/products/1"));
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+
+        StepVerifier.create(deadlineFilter.filter(exchange,
+                        e -> headerFilter.filter(e, capture(forwarded))))
+                .verifyComplete();
+
+        long stamped = Long.parseLong(forwarded.get().getRequest().getHeaders()
+                .getFirst(DeadlineGlobalFilter.TIMEOUT_HEADER));
+        assertThat(stamped).isBetween(1_000L, 2_000L);
+    }
+
+    @Test
+    @DisplayName("Deve usar o orçamento do cliente quando for menor que o da rota")
+    void shouldHonourSmallerClientBudget() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/products/1")
+                .header(DeadlineGlobalFilter.TIMEOUT_HEADER, "300"));
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+
+        StepVerifier.create(deadlineFilter.filter(exchange,
+                        e -> headerFilter.filter(e, capture(forwarded))))
+                .verifyComplete();
+
+        long stamped = Long.parseLong(forwarded.get().getRequest().getHeaders()
+                .getFirst(DeadlineGlobalFilter.TIMEOUT_HEADER));
+        assertThat(stamped).isBetween(1L, 300L);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar com 504 requisições que chegam com o orçamento esgotado")
+    void shouldRejectExpiredOnArrival() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/products/1")
+                .header(DeadlineGlobalFilter.TIMEOUT_HEADER, "0"));
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+
+        StepVerifier.create(deadlineFilter.filter(exchange, capture(forwarded))).verifyComplete();
+
+        assertThat(forwarded.get()).isNull();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    @Test
+    @DisplayName("Não deve chamar o serviço downstream quando o deadline vence antes do roteamento")
+    void shouldNotRouteAfterDeadline() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/products/1"));
+        exchange.getAttributes().put(DeadlineGlobalFilter.DEADLINE_NANOS_ATTR,
+                System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(1));
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+
+        StepVerifier.create(headerFilter.filter(exchange, capture(forwarded))).verifyComplete();
+
+        assertThat(forwarded.get()).isNull();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request.build());
+        Route route = Route.async()
+                .id("product-service")
+                .uri("lb://product-service")
+                .predicate(e -> true)
+                .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+
+    private static GatewayFilterChain capture(AtomicReference<ServerWebExchange> forwarded) {
+        return e -> {
+            forwarded.set(e);
+            return Mono.empty();
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.microservice.gateway.hedging;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgeBudgetTest {
+
+    @Test
+    @DisplayName("Deve permitir apenas a rajada inicial sem novos depósitos")
+    void shouldAllowOnlyInitialBurst() {
+        HedgeBudget budget = new HedgeBudget(10, 3);
+
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve limitar os hedges à porcentagem configurada das requisições")
+    void shouldCapHedgesToBudgetPercent() {
+        HedgeBudget budget = new HedgeBudget(10, 1);
+        budget.tryWithdraw();
+
+        int hedges = 0;
+        for (int i = 0; i < 1_000; i++) {
+            budget.deposit();
+            if (budget.tryWithdraw()) {
+                hedges++;
+            }
+        }
+
+        assertThat(hedges).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Não deve acumular saldo acima da rajada configurada")
+    void shouldNotAccumulateAboveBurst() {
+        HedgeBudget budget = new HedgeBudget(50, 2);
+        for (int i = 0; i < 1_000; i++) {
+            budget.deposit();
+        }
+
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+}
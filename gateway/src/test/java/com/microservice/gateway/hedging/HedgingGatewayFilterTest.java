@@ -0,0 +1,230 @@
+package com.microservice.gateway.hedging;
+
+import com.microservice.gateway.deadline.DeadlineGlobalFilter;
+import com.microservice.gateway.deadline.DeadlineHeaderGlobalFilter;
+import com.microservice.gateway.deadline.DeadlineProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgingGatewayFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private AtomicInteger attempts;
+    private AtomicBoolean primaryCancelled;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        attempts = new AtomicInteger();
+        primaryCancelled = new AtomicBoolean();
+    }
+
+    @Test
+    @DisplayName("Deve enviar o hedge quando a primária demora e usar a resposta mais rápida")
+    void shouldHedgeSlowPrimaryAndCancelLoser() {
+        GatewayFilter filter = filter(10);
+        MockServerWebExchange exchange = get();
+
+        StepVerifier.create(filter.filter(exchange, slowThenFast()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(primaryCancelled.get()).isTrue();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        StepVerifier.create(exchange.getResponse().getBodyAsString()).expectNext("hedge").verifyComplete();
+        assertThat(registry.get("gateway.hedging.requests").tag("result", "won").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve aguardar a primária quando o hedge falha rápido com 503")
+    void shouldIgnoreFastHedgeFailure() {
+        GatewayFilter filter = filter(10);
+        MockServerWebExchange exchange = get();
+
+        GatewayFilterChain fastFailingHedge = e -> attempts.incrementAndGet() == 1
+                ? write(e.getResponse(), HttpStatus.OK, "primary", Duration.ofMillis(200))
+                        .doOnCancel(() -> primaryCancelled.set(true))
+                : write(e.getResponse(), HttpStatus.SERVICE_UNAVAILABLE, "fallback", Duration.ZERO);
+
+        StepVerifier.create(filter.filter(exchange, fastFailingHedge))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(primaryCancelled.get()).isFalse();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        StepVerifier.create(exchange.getResponse().getBodyAsString()).expectNext("primary").verifyComplete();
+        assertThat(registry.get("gateway.hedging.requests").tag("result", "won").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve devolver a falha apenas quando as duas tentativas falharem")
+    void shouldReturnFailureWhenBothAttemptsFail() {
+        GatewayFilter filter = filter(10);
+        MockServerWebExchange exchange = get();
+
+        GatewayFilterChain bothFailing = e -> attempts.incrementAndGet() == 1
+                ? write(e.getResponse(), HttpStatus.BAD_GATEWAY, "primary", Duration.ofMillis(200))
+                : Mono.error(new IllegalStateException("conexão recusada"));
+
+        StepVerifier.create(filter.filter(exchange, bothFailing))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.BAD_GATEWAY);
+    }
+
+    @Test
+    @DisplayName("Não deve enviar hedge quando a primária falha antes da espera")
+    void shouldNotHedgeAfterFastPrimaryFailure() {
+        GatewayFilter filter = filter(10);
+        MockServerWebExchange exchange = get();
+
+        GatewayFilterChain failing = e -> {
+            attempts.incrementAndGet();
+            return write(e.getResponse(), HttpStatus.SERVICE_UNAVAILABLE, "indisponível", Duration.ZERO);
+        };
+
+        StepVerifier.create(filter.filter(exchange, failing))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(registry.get("gateway.hedging.requests").tag("result", "sent").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Não deve enviar hedge quando a primária responde antes da espera")
+    void shouldNotHedgeFastPrimary() {
+        GatewayFilter filter = filter(10);
+        MockServerWebExchange exchange = get();
+
+        StepVerifier.create(filter.filter(exchange, respond("primary", Duration.ZERO))).verifyComplete();
+
+        assertThat(attempts.get()).isEqualTo(1);
+        StepVerifier.create(exchange.getResponse().getBodyAsString()).expectNext("primary").verifyComplete();
+        assertThat(registry.get("gateway.hedging.requests").tag("result", "sent").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve aguardar a primária quando o orçamento de hedge estiver esgotado")
+    void shouldWaitForPrimaryWhenBudgetExhausted() {
+        GatewayFilter filter = filter(0);
+        MockServerWebExchange exchange = get();
+
+        // orçamento 0% com rajada 1: o primeiro hedge consome o saldo inicial
+        StepVerifier.create(filter.filter(get(), respond("primary", Duration.ofMillis(100)))).verifyComplete();
+        attempts.set(0);
+
+        StepVerifier.create(filter.filter(exchange, respond("primary", Duration.ofMillis(100))))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(attempts.get()).isEqualTo(1);
+        StepVerifier.create(exchange.getResponse().getBodyAsString()).expectNext("primary").verifyComplete();
+        assertThat(registry.get("gateway.hedging.requests").tag("result", "budget-exhausted").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve enviar ao hedge o orçamento restante do deadline, não um orçamento novo")
+    void shouldForwardReducedBudgetToHedge() {
+        GatewayFilter filter = filter(10);
+        DeadlineGlobalFilter deadlineFilter = new DeadlineGlobalFilter(
+                new DeadlineProperties(true, Duration.ofSeconds(2), Map.of()));
+        DeadlineHeaderGlobalFilter headerFilter = new DeadlineHeaderGlobalFilter();
+        List<Long> stampedBudgets = new CopyOnWriteArrayList<>();
+        GatewayFilterChain routing = slowThenFast();
+
+        // Mesma sequência da cadeia real: deadline (global) -> hedge (rota) -> header -> roteamento
+        MockServerWebExchange exchange = get();
+        StepVerifier.create(deadlineFilter.filter(exchange, e -> filter.filter(e,
+                        attempt -> headerFilter.filter(attempt, stamped -> {
+                            stampedBudgets.add(Long.parseLong(stamped.getRequest().getHeaders()
+                                    .getFirst(DeadlineGlobalFilter.TIMEOUT_HEADER)));
+                            return routing.filter(stamped);
+                        }))))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(stampedBudgets).hasSize(2);
+        assertThat(stampedBudgets.get(0)).isLessThanOrEqualTo(2_000L);
+        // O hedge parte pelo menos 10 ms (espera mínima) depois da primária
+        assertThat(stampedBudgets.get(1)).isLessThan(stampedBudgets.get(0));
+    }
+
+    @Test
+    @DisplayName("Não deve fazer hedge de métodos não idempotentes")
+    void shouldNotHedgePost() {
+        GatewayFilter filter = filter(10);
+        MockServerWebExchange post = MockServerWebExchange.from(MockServerHttpRequest.post("/api/products").build());
+
+        StepVerifier.create(filter.filter(post, respond("created", Duration.ofMillis(100)))).verifyComplete();
+
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    private GatewayFilter filter(double budgetPercent) {
+        HedgingManager manager = new HedgingManager(new HedgingProperties(true, List.of("product-service"), 0.95,
+                Duration.ofMillis(10), Duration.ofMillis(20), budgetPercent, 1), registry);
+        return manager.filterFor("product-service");
+    }
+
+    private static MockServerWebExchange get() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/products/1").build());
+    }
+
+    private GatewayFilterChain slowThenFast() {
+        return exchange -> {
+            if (attempts.incrementAndGet() == 1) {
+                return write(exchange.getResponse(), "primary", Duration.ofSeconds(2))
+                        .doOnCancel(() -> primaryCancelled.set(true));
+            }
+            return write(exchange.getResponse(), "hedge", Duration.ZERO);
+        };
+    }
+
+    private GatewayFilterChain respond(String body, Duration latency) {
+        return exchange -> {
+            attempts.incrementAndGet();
+            return write(exchange.getResponse(), body, latency);
+        };
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, String body, Duration latency) {
+        return write(response, HttpStatus.OK, body, latency);
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, HttpStatus status, String body, Duration latency) {
+        return Mono.delay(latency).then(Mono.defer(() -> {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            response.setStatusCode(status);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+        }));
+    }
+}
@@ -0,0 +1,169 @@
+package com.microservice.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Simulação em tempo virtual de três réplicas do product-service, uma delas lenta
+ * (como em uma pausa de GC), comparando o p99 do round-robin com o {@link LatencyAwareLoadBalancer}.
+ */
+class LatencyAwareLoadBalancerSimulationTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int REQUESTS = 20_000;
+    private static final long ARRIVAL_INTERVAL = 2 * MS;
+
+    private LoadBalancerProperties properties;
+    private InstanceStatsRegistry stats;
+    private LatencyAwareLoadBalancer loadBalancer;
+    private List<ServiceInstance> instances;
+    private Map<ServiceInstance, Long> baseLatency;
+
+    @BeforeEach
+    void setup() {
+        properties = new LoadBalancerProperties(true, Duration.ofSeconds(10), 3,
+                Duration.ofSeconds(30), Duration.ofMinutes(10));
+        stats = new InstanceStatsRegistry(properties, new SimpleMeterRegistry());
+        loadBalancer = new LatencyAwareLoadBalancer(null, "product-service", stats);
+
+        ServiceInstance fastA = instance("product-1", 8081);
+        ServiceInstance fastB = instance("product-2", 8082);
+        ServiceInstance slow = instance("product-3", 8083);
+        instances = List.of(fastA, fastB, slow);
+        baseLatency = Map.of(fastA, 10 * MS, fastB, 10 * MS, slow, 200 * MS);
+    }
+
+    @Test
+    @DisplayName("Deve reduzir a latência de cauda em relação ao round-robin com uma réplica lenta")
+    void shouldImproveTailLatencyOverRoundRobin() {
+        int[] next = {0};
+        long roundRobinP99 = simulate(now -> instances.get(next[0]++ % instances.size()));
+
+        setup();
+        long latencyAwareP99 = simulate(now -> loadBalancer.choose(instances, now));
+
+        assertThat(roundRobinP99).isGreaterThanOrEqualTo(200 * MS);
+        assertThat(latencyAwareP99).isLessThan(roundRobinP99 / 4);
+    }
+
+    @Test
+    @DisplayName("Deve ejetar temporariamente a instância após falhas consecutivas")
+    void shouldEjectFailingInstance() {
+        ServiceInstance failing = instances.get(2);
+        long now = TimeUnit.SECONDS.toNanos(1);
+        InstanceStats failingStats = stats.statsFor(failing);
+        for (int i = 0; i < properties.failureThreshold(); i++) {
+            failingStats.onStart();
+            failingStats.onComplete(MS, true, now, properties.failureThreshold(),
+                    properties.ejectionDuration().toNanos());
+        }
+
+        assertThat(failingStats.isEjected(now + MS)).isTrue();
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(loadBalancer.choose(instances, now + MS)).isNotEqualTo(failing);
+        }
+
+        // As réplicas saudáveis seguem atendendo com latência normal durante a ejeção
+        long afterEjection = now + properties.ejectionDuration().toNanos() + MS;
+        for (ServiceInstance healthy : instances.subList(0, 2)) {
+            InstanceStats healthyStats = stats.statsFor(healthy);
+            healthyStats.onStart();
+            healthyStats.onComplete(10 * MS, false, afterEjection, properties.failureThreshold(),
+                    properties.ejectionDuration().toNanos());
+        }
+
+        assertThat(failingStats.isEjected(afterEjection)).isFalse();
+        boolean chosenAgain = false;
+        for (int i = 0; i < 1_000 && !chosenAgain; i++) {
+            chosenAgain = failing.equals(loadBalancer.choose(instances, afterEjection));
+        }
+        assertThat(chosenAgain).isTrue();
+    }
+
+    @Test
+    @DisplayName("Não deve considerar ejetada uma instância nova, mesmo com System.nanoTime() negativo")
+    void shouldNotEjectFreshInstanceWithNegativeClock() {
+        InstanceStats fresh = stats.statsFor(instances.get(0));
+
+        assertThat(fresh.isEjected(-TimeUnit.SECONDS.toNanos(1))).isFalse();
+        assertThat(fresh.isEjected(Long.MIN_VALUE)).isFalse();
+        assertThat(fresh.isEjected(0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve usar as instâncias ejetadas quando não houver alternativa")
+    void shouldFallBackToEjectedWhenNoneAvailable() {
+        ServiceInstance only = instances.get(0);
+        InstanceStats onlyStats = stats.statsFor(only);
+        for (int i = 0; i < properties.failureThreshold(); i++) {
+            onlyStats.onStart();
+            onlyStats.onComplete(MS, true, MS, properties.failureThreshold(), properties.ejectionDuration().toNanos());
+        }
+
+        assertThat(loadBalancer.choose(List.of(only), 2 * MS)).isEqualTo(only);
+        assertThat(loadBalancer.choose(List.of(), 2 * MS)).isNull();
+    }
+
+    /**
+     * Chegadas a cada {@link #ARRIVAL_INTERVAL}; cada réplica responde na sua latência base
+     * (com jitter de ±20%) acrescida de 1% por requisição já em andamento nela.
+     *
+     * @return p99 da latência observada pelos clientes
+     */
+    private long simulate(LongFunction<ServiceInstance> picker) {
+        Random random = new Random(42);
+        PriorityQueue<Completion> pending = new PriorityQueue<>();
+        Map<ServiceInstance, Integer> active = new HashMap<>();
+        long[] latencies = new long[REQUESTS];
+
+        long now = TimeUnit.SECONDS.toNanos(1);
+        for (int i = 0; i < REQUESTS; i++, now += ARRIVAL_INTERVAL) {
+            while (!pending.isEmpty() && pending.peek().at <= now) {
+                Completion done = pending.poll();
+                active.merge(done.instance, -1, Integer::sum);
+                stats.statsFor(done.instance).onComplete(done.latency, false, done.at,
+                        properties.failureThreshold(), properties.ejectionDuration().toNanos());
+            }
+
+            ServiceInstance chosen = picker.apply(now);
+            int inFlight = active.merge(chosen, 1, Integer::sum) - 1;
+            stats.statsFor(chosen).onStart();
+
+            double jitter = 0.8 + random.nextDouble() * 0.4;
+            long latency = (long) (baseLatency.get(chosen) * jitter * (1 + 0.01 * inFlight));
+            latencies[i] = latency;
+            pending.add(new Completion(chosen, now + latency, latency));
+        }
+
+        Arrays.sort(latencies);
+        return latencies[(int) (REQUESTS * 0.99)];
+    }
+
+    private static ServiceInstance instance(String id, int port) {
+        return new DefaultServiceInstance(id, "product-service", "localhost", port, false);
+    }
+
+    private record Completion(ServiceInstance instance, long at, long latency) implements Comparable<Completion> {
+
+        @Override
+        public int compareTo(Completion other) {
+            return Long.compare(at, other.at);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.microservice.gateway.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+class RouteMetricsGlobalFilterTest {
+
+    @Mock
+    private GatewayFilterChain chain;
+
+    private SimpleMeterRegistry registry;
+    private RouteMetricsGlobalFilter filter;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        registry = new SimpleMeterRegistry();
+        filter = new RouteMetricsGlobalFilter(registry);
+    }
+
+    @Test
+    @DisplayName("Deve registrar latência total, downstream e do gateway por rota e status")
+    void shouldRecordLatencyPerRouteAndStatus() {
+        ServerWebExchange exchange = exchangeForRoute("product-service");
+
+        when(chain.filter(any(ServerWebExchange.class))).thenAnswer(invocation -> {
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getAttributes().put(UpstreamTimingGlobalFilter.UPSTREAM_NANOS_ATTR,
+                    TimeUnit.MILLISECONDS.toNanos(5));
+            return Mono.empty();
+        });
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        Timer total = registry.get("gateway.route.latency")
+                .tag("route", "product-service")
+                .tag("status", "200")
+                .timer();
+        assertThat(total.count()).isEqualTo(1);
+
+        Timer upstream = registry.get("gateway.route.upstream.latency").tag("route", "product-service").timer();
+        assertThat(upstream.count()).isEqualTo(1);
+        assertThat(upstream.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5.0);
+
+        assertThat(registry.get("gateway.route.overhead.latency").tag("route", "product-service").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve manter o contador de requisições em andamento durante a execução")
+    void shouldTrackInFlightRequests() {
+        ServerWebExchange exchange = exchangeForRoute("sales-service");
+        Sinks.Empty<Void> upstream = Sinks.empty();
+        when(chain.filter(any(ServerWebExchange.class))).thenReturn(upstream.asMono());
+
+        StepVerifier.create(filter.filter(exchange, chain))
+                .then(() -> {
+                    assertThat(registry.get("gateway.route.in.flight").tag("route", "sales-service").gauge().value())
+                            .isEqualTo(1.0);
+                    upstream.tryEmitEmpty();
+                })
+                .verifyComplete();
+
+        assertThat(registry.get("gateway.route.in.flight").tag("route", "sales-service").gauge().value())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Deve agrupar requisições sem rota em 'unmatched' sem medir downstream")
+    void shouldRecordUnmatchedRequests() {
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/unknown").build());
+        when(chain.filter(any(ServerWebExchange.class))).thenAnswer(invocation -> {
+            exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+            return Mono.empty();
+        });
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        assertThat(registry.get("gateway.route.latency")
+                .tag("route", RouteMetricsGlobalFilter.UNMATCHED_ROUTE)
+                .tag("status", "404")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.get("gateway.route.upstream.latency")
+                .tag("route", RouteMetricsGlobalFilter.UNMATCHED_ROUTE)
+                .timer().count()).isZero();
+    }
+
+    private static ServerWebExchange exchangeForRoute(String routeId) {
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/test").build());
+        Route route = Route.async()
+                .id(routeId)
+                .uri(URI.create("lb://" + routeId))
+                .predicate(e -> true)
+                .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+}
@@ -0,0 +1,35 @@
+package com.microservice.gateway.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpstreamTimingGlobalFilterTest {
+
+    private final UpstreamTimingGlobalFilter filter = new UpstreamTimingGlobalFilter();
+
+    @Test
+    @DisplayName("Deve executar imediatamente antes do NettyRoutingFilter")
+    void shouldRunRightBeforeNettyRoutingFilter() {
+        assertThat(filter.getOrder()).isEqualTo(NettyRoutingFilter.ORDER - 1);
+    }
+
+    @Test
+    @DisplayName("Deve gravar o tempo do downstream como atributo do exchange")
+    void shouldStoreUpstreamDuration() {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/products").build());
+        GatewayFilterChain chain = e -> Mono.empty();
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        Long upstreamNanos = exchange.getAttribute(UpstreamTimingGlobalFilter.UPSTREAM_NANOS_ATTR);
+        assertThat(upstreamNanos).isNotNull().isGreaterThanOrEqualTo(0L);
+    }
+}
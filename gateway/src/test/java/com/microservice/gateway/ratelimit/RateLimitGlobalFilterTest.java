@@ -0,0 +1,143 @@
+package com.microservice.gateway.ratelimit;
+
+import com.microservice.gateway.security.UserPrincipal;
+import com.microservice.gateway.support.ClientAddressProperties;
+import com.microservice.gateway.support.ClientAddressResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitGlobalFilterTest {
+
+    private RateLimiter rateLimiter;
+    private RateLimitGlobalFilter filter;
+    private AtomicInteger forwarded;
+    private GatewayFilterChain chain;
+
+    @BeforeEach
+    void setup() {
+        RateLimitProperties properties = new RateLimitProperties(
+                true,
+                new RateLimitProperties.Quota(100, 100),
+                Map.of("sales-service", new RateLimitProperties.Quota(1, 2)),
+                Duration.ofMinutes(5));
+        rateLimiter = new RateLimiter(properties, new SimpleMeterRegistry());
+        filter = new RateLimitGlobalFilter(rateLimiter,
+                new ClientAddressResolver(new ClientAddressProperties(List.of("10.0.0.0/8"))),
+                new SimpleMeterRegistry());
+        forwarded = new AtomicInteger();
+        chain = exchange -> {
+            forwarded.incrementAndGet();
+            return Mono.empty();
+        };
+    }
+
+    @Test
+    @DisplayName("Deve retornar 429 com Retry-After quando o usuário exceder a cota da rota")
+    void shouldRejectWhenQuotaExceeded() {
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(filter.filter(exchange("sales-service", "42"), chain)).verifyComplete();
+        }
+
+        MockServerWebExchange third = exchange("sales-service", "42");
+        StepVerifier.create(filter.filter(third, chain)).verifyComplete();
+
+        assertThat(forwarded.get()).isEqualTo(2);
+        assertThat(third.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(third.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("Deve manter cotas independentes por usuário")
+    void shouldIsolateUsers() {
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(filter.filter(exchange("sales-service", "42"), chain)).verifyComplete();
+        }
+
+        MockServerWebExchange otherUser = exchange("sales-service", "43");
+        StepVerifier.create(filter.filter(otherUser, chain)).verifyComplete();
+
+        assertThat(otherUser.getResponse().getStatusCode()).isNull();
+        assertThat(forwarded.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve usar o IP do cliente quando não houver usuário autenticado")
+    void shouldFallBackToClientIp() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/accounts/login")
+                .remoteAddress(new InetSocketAddress("203.0.113.9", 50000))
+                .build());
+
+        assertThat(filter.clientKey(exchange)).isEqualTo("ip:203.0.113.9");
+    }
+
+    @Test
+    @DisplayName("Deve ignorar X-Forwarded-For de conexões que não vêm de um proxy confiável")
+    void shouldIgnoreSpoofedForwardedFor() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/accounts/login")
+                .remoteAddress(new InetSocketAddress("203.0.113.9", 50000))
+                .header("X-Forwarded-For", "198.51.100.1")
+                .build());
+
+        assertThat(filter.clientKey(exchange)).isEqualTo("ip:203.0.113.9");
+    }
+
+    @Test
+    @DisplayName("Deve usar o primeiro endereço não confiável do X-Forwarded-For enviado por um proxy confiável")
+    void shouldTrustForwardedForFromProxy() {
+        // O cliente forjou 198.51.100.1; o balanceador (10.0.0.3) acrescentou o IP real
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/accounts/login")
+                .remoteAddress(new InetSocketAddress("10.0.0.2", 50000))
+                .header("X-Forwarded-For", "198.51.100.1, 203.0.113.9, 10.0.0.3")
+                .build());
+
+        assertThat(filter.clientKey(exchange)).isEqualTo("ip:203.0.113.9");
+    }
+
+    @Test
+    @DisplayName("Deve remover buckets ociosos")
+    void shouldEvictIdleBuckets() {
+        RateLimiter shortLived = new RateLimiter(new RateLimitProperties(
+                true, new RateLimitProperties.Quota(1000, 1), Map.of(), Duration.ofNanos(1)),
+                new SimpleMeterRegistry());
+        shortLived.tryAcquire("product-service", "42");
+        assertThat(shortLived.bucketCount()).isEqualTo(1);
+
+        // Com reposição de 1ms e ociosidade de 1ns, alguns milissegundos bastam
+        Mono.delay(Duration.ofMillis(20)).block();
+        shortLived.evictIdle();
+
+        assertThat(shortLived.bucketCount()).isZero();
+    }
+
+    private static MockServerWebExchange exchange(String routeId, String userId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/test").build());
+        Route route = Route.async()
+                .id(routeId)
+                .uri(URI.create("lb://" + routeId))
+                .predicate(e -> true)
+                .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        exchange.getAttributes().put(UserPrincipal.EXCHANGE_ATTRIBUTE, new UserPrincipal(userId, null, null));
+        return exchange;
+    }
+}
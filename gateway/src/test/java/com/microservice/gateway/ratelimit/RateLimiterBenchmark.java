@@ -0,0 +1,80 @@
+package com.microservice.gateway.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão do {@link RateLimiter} sob contenção com todos os núcleos disponíveis:
+ * um único usuário disputando o mesmo bucket (pior caso de CAS) e usuários distintos
+ * espalhados pelo mapa (caso típico).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(Threads.MAX)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Limiter {
+
+        RateLimiter rateLimiter;
+
+        @Setup
+        public void setup() {
+            // Cota alta para medir o custo do caminho de admissão, não das rejeições
+            rateLimiter = new RateLimiter(new RateLimitProperties(
+                    true,
+                    new RateLimitProperties.Quota(1_000_000_000d, 1_000_000),
+                    Map.of(),
+                    Duration.ofMinutes(5)),
+                    new SimpleMeterRegistry());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        String userId;
+
+        @Setup
+        public void setup() {
+            userId = Integer.toString(ThreadLocalRandom.current().nextInt(1_000_000));
+        }
+    }
+
+    @Benchmark
+    public long sameUserAllThreads(Limiter limiter) {
+        return limiter.rateLimiter.tryAcquire("sales-service", "42");
+    }
+
+    @Benchmark
+    public long distinctUsers(Limiter limiter, Client client) {
+        return limiter.rateLimiter.tryAcquire("sales-service", client.userId);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RateLimiterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,50 @@
+package com.microservice.gateway.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100); // 10 req/s
+    private static final long BURST = INTERVAL * 3;
+
+    @Test
+    @DisplayName("Deve admitir exatamente a rajada configurada e rejeitar a seguinte")
+    void shouldAllowBurstThenReject() {
+        long now = 1_000_000_000L;
+        TokenBucket bucket = new TokenBucket(now);
+
+        assertThat(bucket.tryAcquire(now, INTERVAL, BURST)).isZero();
+        assertThat(bucket.tryAcquire(now, INTERVAL, BURST)).isZero();
+        assertThat(bucket.tryAcquire(now, INTERVAL, BURST)).isZero();
+        assertThat(bucket.tryAcquire(now, INTERVAL, BURST)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    @DisplayName("Deve repor tokens conforme o tempo passa")
+    void shouldRefillOverTime() {
+        long now = 1_000_000_000L;
+        TokenBucket bucket = new TokenBucket(now);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire(now, INTERVAL, BURST);
+        }
+
+        assertThat(bucket.tryAcquire(now + INTERVAL, INTERVAL, BURST)).isZero();
+        assertThat(bucket.tryAcquire(now + INTERVAL, INTERVAL, BURST)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Deve ser considerado ocioso após o período de inatividade")
+    void shouldBeIdleAfterInactivity() {
+        long now = 1_000_000_000L;
+        TokenBucket bucket = new TokenBucket(now);
+        bucket.tryAcquire(now, INTERVAL, BURST);
+
+        assertThat(bucket.isIdle(now + INTERVAL, INTERVAL)).isFalse();
+        assertThat(bucket.isIdle(now + 3 * INTERVAL, INTERVAL)).isTrue();
+    }
+}
@@ -0,0 +1,58 @@
+package com.microservice.gateway.resilience;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerMetricsBinderTest {
+
+    @Test
+    @DisplayName("Deve abrir o circuito por taxa de chamadas lentas e contabilizar a transição")
+    void shouldCountTransitionOnSlowCalls() {
+        CircuitBreakerProperties.Settings settings = new CircuitBreakerProperties.Settings(
+                10, 10, 50f, 50f, Duration.ofMillis(100), Duration.ofSeconds(30), 2, Duration.ofSeconds(1));
+        CircuitBreakerProperties properties = new CircuitBreakerProperties(settings, Map.of());
+
+        CircuitBreakerRegistry circuitBreakers =
+                CircuitBreakerRegistry.of(ResilienceConfig.circuitBreakerConfig(properties.defaults()));
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        new CircuitBreakerMetricsBinder(circuitBreakers, meters).bind();
+
+        // criado depois do bind: deve ser registrado via onEntryAdded
+        CircuitBreaker breaker = circuitBreakers.circuitBreaker("product-service");
+        for (int i = 0; i < 10; i++) {
+            breaker.onSuccess(250, TimeUnit.MILLISECONDS);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(meters.get("gateway.circuit.breaker.transitions")
+                .tag("name", "product-service")
+                .tag("from", "CLOSED")
+                .tag("to", "OPEN")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve abrir o circuito pela taxa de falhas da janela deslizante")
+    void shouldOpenOnFailureRate() {
+        CircuitBreakerProperties.Settings settings = new CircuitBreakerProperties.Settings(
+                4, 4, 50f, 100f, Duration.ofSeconds(2), Duration.ofSeconds(30), 2, Duration.ofSeconds(1));
+        CircuitBreaker breaker = CircuitBreaker.of("sales-service", ResilienceConfig.circuitBreakerConfig(settings));
+
+        breaker.onSuccess(1, TimeUnit.MILLISECONDS);
+        breaker.onSuccess(1, TimeUnit.MILLISECONDS);
+        breaker.onError(1, TimeUnit.MILLISECONDS, new IllegalStateException());
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        breaker.onError(1, TimeUnit.MILLISECONDS, new IllegalStateException());
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+}
@@ -0,0 +1,49 @@
+package com.microservice.gateway.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerPropertiesTest {
+
+    @Test
+    @DisplayName("Deve herdar de defaults os campos não informados na rota")
+    void shouldMergeRouteOverDefaults() {
+        CircuitBreakerProperties.Settings defaults = new CircuitBreakerProperties.Settings(
+                40, 10, 30f, 70f, Duration.ofSeconds(1), Duration.ofSeconds(20), 3, Duration.ofSeconds(4));
+        CircuitBreakerProperties.Settings route = new CircuitBreakerProperties.Settings(
+                null, null, null, null, null, null, null, Duration.ofMillis(800));
+
+        CircuitBreakerProperties properties = new CircuitBreakerProperties(defaults,
+                Map.of("product-service", route));
+        CircuitBreakerProperties.Settings merged = properties.settingsFor("product-service");
+
+        assertThat(merged.timeout()).isEqualTo(Duration.ofMillis(800));
+        assertThat(merged.slidingWindowSize()).isEqualTo(40);
+        assertThat(merged.minimumNumberOfCalls()).isEqualTo(10);
+        assertThat(merged.failureRateThreshold()).isEqualTo(30f);
+        assertThat(merged.slowCallRateThreshold()).isEqualTo(70f);
+        assertThat(merged.slowCallDurationThreshold()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(merged.waitDurationInOpenState()).isEqualTo(Duration.ofSeconds(20));
+        assertThat(merged.permittedCallsInHalfOpenState()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve completar defaults parciais com os valores padrão")
+    void shouldFillPartialDefaults() {
+        CircuitBreakerProperties.Settings partial = new CircuitBreakerProperties.Settings(
+                10, 0, null, null, null, null, null, null);
+
+        CircuitBreakerProperties properties = new CircuitBreakerProperties(partial, null);
+        CircuitBreakerProperties.Settings settings = properties.settingsFor("sales-service");
+
+        assertThat(settings.slidingWindowSize()).isEqualTo(10);
+        assertThat(settings.minimumNumberOfCalls()).isEqualTo(20);
+        assertThat(settings.failureRateThreshold()).isEqualTo(50f);
+        assertThat(settings.timeout()).isEqualTo(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,62 @@
+package com.microservice.gateway.resilience;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FallbackControllerTest {
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setup() {
+        client = WebTestClient.bindToController(new FallbackController()).build();
+    }
+
+    @Test
+    @DisplayName("Deve responder 503 com corpo degradado e cabeçalhos de cache")
+    void shouldReturnCacheableDegradedResponse() {
+        client.get().uri("/fallback/product-service")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "max-age=5, public")
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "5")
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(503)
+                .jsonPath("$.service").isEqualTo("product-service");
+    }
+
+    @Test
+    @DisplayName("Deve aceitar qualquer método encaminhado pelo circuit breaker")
+    void shouldHandleNonGetMethods() {
+        client.post().uri("/fallback/sales-service")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                .expectBody()
+                .jsonPath("$.service").isEqualTo("sales-service");
+    }
+
+    @Test
+    @DisplayName("Deve classificar o motivo do fallback pela exceção do circuit breaker")
+    void shouldClassifyFallbackReason() {
+        CircuitBreaker breaker = CircuitBreaker.ofDefaults("product-service");
+        breaker.transitionToOpenState();
+
+        assertThat(FallbackController.reason(CallNotPermittedException.createCallNotPermittedException(breaker)))
+                .isEqualTo("circuit-open");
+        assertThat(FallbackController.reason(new TimeoutException())).isEqualTo("timeout");
+        assertThat(FallbackController.reason(new IllegalStateException())).isEqualTo("upstream-error");
+        assertThat(FallbackController.reason(null)).isEqualTo("unavailable");
+    }
+}
@@ -0,0 +1,109 @@
+package com.microservice.gateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara assinatura (login no account-service) e verificação (toda requisição no gateway)
+ * de RS256 (RSA-2048), ES256 (P-256) e EdDSA (Ed25519), com as mesmas claims do JwtService.
+ * <p>
+ * A verificação usa um parser sem o cache de tokens do {@link JwtValidator}, medindo só a
+ * criptografia. O tamanho de cada token (bytes no header Authorization) é impresso no setup.
+ * <p>
+ * Execução: {@code mvn test-compile} e em seguida rodar {@link #main(String[])} pela IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAlgorithmBenchmark {
+
+    @Param({"RS256", "ES256", "EdDSA"})
+    private String algorithm;
+
+    private KeyPair keyPair;
+    private SignatureAlgorithm signatureAlgorithm;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setup() throws Exception {
+        KeyPairGenerator keyGen;
+        switch (algorithm) {
+            case "RS256" -> {
+                keyGen = KeyPairGenerator.getInstance("RSA");
+                keyGen.initialize(2048);
+                signatureAlgorithm = Jwts.SIG.RS256;
+            }
+            case "ES256" -> {
+                keyGen = KeyPairGenerator.getInstance("EC");
+                keyGen.initialize(256);
+                signatureAlgorithm = Jwts.SIG.ES256;
+            }
+            case "EdDSA" -> {
+                keyGen = KeyPairGenerator.getInstance("Ed25519");
+                signatureAlgorithm = Jwts.SIG.EdDSA;
+            }
+            default -> throw new IllegalArgumentException(algorithm);
+        }
+        keyPair = keyGen.generateKeyPair();
+
+        parser = Jwts.parser()
+                .verifyWith(keyPair.getPublic())
+                .clockSkewSeconds(30)
+                .build();
+        token = sign();
+
+        System.out.printf("%n%s: token com %d bytes%n", algorithm, token.getBytes(StandardCharsets.US_ASCII).length);
+    }
+
+    @Benchmark
+    public String sign() {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .header().keyId(algorithm.toLowerCase(Locale.ROOT) + "-2026").and()
+                .subject("42")
+                .claim("email", "user@test.com")
+                .claim("role", "ADMIN")
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + 3_600_000))
+                .signWith(keyPair.getPrivate(), signatureAlgorithm)
+                .compact();
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAlgorithmBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
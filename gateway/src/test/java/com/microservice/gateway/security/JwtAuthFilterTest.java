@@ -37,7 +37,11 @@ class JwtAuthFilterTest {
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
-        jwtAuthFilter = new JwtAuthFilter(jwtValidator);
+        PublicRouteMatcher publicRouteMatcher = PublicRouteMatcher.of(
+                List.of("/v3/api-docs", "/swagger-ui", "/webjars", "/actuator/health", "/fallback"),
+                List.of("/api/accounts/login", "/accounts/login", "/api/accounts/register", "/accounts/register")
+        );
+        jwtAuthFilter = new JwtAuthFilter(jwtValidator, publicRouteMatcher);
         response = new MockServerHttpResponse();
 
         when(chain.filter(any(ServerWebExchange.class))).thenReturn(Mono.empty());
@@ -0,0 +1,89 @@
+package com.microservice.gateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o custo (tempo e bytes alocados por verificação) de construir um JwtParser
+ * a cada requisição com o parser compartilhado do {@link JwtValidator}.
+ * <p>
+ * Os tokens não possuem "exp", portanto nunca entram no cache de tokens verificados
+ * e toda chamada executa a verificação RS256 completa.
+ * <p>
+ * Execução: {@code mvn test-compile} e em seguida rodar {@link #main(String[])} pela IDE;
+ * a coluna {@code gc.alloc.rate.norm} mostra os bytes alocados por operação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtValidatorBenchmark {
+
+    private PublicKey publicKey;
+    private JwtValidator jwtValidator;
+    private String token;
+
+    @Setup
+    public void setup() throws Exception {
+        KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA");
+        keyGen.initialize(2048);
+        KeyPair keyPair = keyGen.generateKeyPair();
+
+        publicKey = keyPair.getPublic();
+        jwtValidator = new JwtValidator();
+        ReflectionTestUtils.setField(jwtValidator, "publicKey", publicKey);
+
+        token = Jwts.builder()
+                .subject("user123")
+                .claim("email", "user@test.com")
+                .claim("role", "ADMIN")
+                .issuedAt(new Date())
+                .signWith(keyPair.getPrivate(), Jwts.SIG.RS256)
+                .compact();
+    }
+
+    @Benchmark
+    public Claims parserPerRequest() {
+        return Jwts.parser()
+                .verifyWith(publicKey)
+                .clockSkewSeconds(30)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    @Benchmark
+    public Claims sharedParser() {
+        return jwtValidator.parse(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtValidatorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -1,19 +1,29 @@
 package com.microservice.gateway.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 import org.springframework.core.io.Resource;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.ByteArrayInputStream;
+import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
 import java.util.Base64;
 import java.util.Date;
 
@@ -50,6 +60,11 @@ class JwtValidatorTest {
         ReflectionTestUtils.setField(jwtValidator, "publicKeyResource", publicKeyResource);
     }
 
+    @AfterEach
+    void tearDown() {
+        jwtValidator.stop();
+    }
+
     @Test
     @DisplayName("Deve carregar chave pública RSA com sucesso")
     void shouldLoadPublicKeySuccessfully() {
@@ -102,4 +117,292 @@ class JwtValidatorTest {
 
         assertThrows(Exception.class, () -> jwtValidator.parse(invalidToken));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve reutilizar claims já verificadas quando o mesmo token for apresentado novamente")
+    void shouldServeRepeatedTokenFromCache() {
+        jwtValidator.init();
+
+        String token = Jwts.builder()
+                .subject("user123")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(keyPair.getPrivate(), Jwts.SIG.RS256)
+                .compact();
+
+        Claims first = jwtValidator.parse(token);
+        Claims second = jwtValidator.parse(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(jwtValidator.getCacheMisses()).isEqualTo(1);
+        assertThat(jwtValidator.getCacheHits()).isEqualTo(1);
+        assertThat(jwtValidator.getCacheSize()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Não deve armazenar no cache tokens sem claim 'exp'")
+    void shouldNotCacheTokenWithoutExpiration() {
+        jwtValidator.init();
+
+        String token = Jwts.builder()
+                .subject("user123")
+                .issuedAt(new Date())
+                .signWith(keyPair.getPrivate(), Jwts.SIG.RS256)
+                .compact();
+
+        jwtValidator.parse(token);
+        jwtValidator.parse(token);
+
+        assertThat(jwtValidator.getCacheHits()).isZero();
+        assertThat(jwtValidator.getCacheMisses()).isEqualTo(2);
+        assertThat(jwtValidator.getCacheSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Não deve armazenar no cache tokens com assinatura inválida")
+    void shouldNotCacheRejectedToken() throws Exception {
+        jwtValidator.init();
+
+        KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA");
+        keyGen.initialize(2048);
+        KeyPair otherKeyPair = keyGen.generateKeyPair();
+
+        String forged = Jwts.builder()
+                .subject("intruso")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(otherKeyPair.getPrivate(), Jwts.SIG.RS256)
+                .compact();
+
+        assertThrows(Exception.class, () -> jwtValidator.parse(forged));
+        assertThrows(Exception.class, () -> jwtValidator.parse(forged));
+
+        assertThat(jwtValidator.getCacheHits()).isZero();
+        assertThat(jwtValidator.getCacheSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar o mesmo JwtParser e reconstruí-lo apenas quando a chave mudar")
+    void shouldReuseParserUntilKeyChanges() throws Exception {
+        jwtValidator.init();
+
+        JwtParser first = jwtValidator.parser();
+        assertThat(jwtValidator.parser()).isSameAs(first);
+
+        KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA");
+        keyGen.initialize(2048);
+        ReflectionTestUtils.setField(jwtValidator, "publicKey", keyGen.generateKeyPair().getPublic());
+
+        assertThat(jwtValidator.parser()).isNotSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Deve carregar chave pública EC (P-256) pelo mesmo caminho configurado")
+    void shouldLoadEcPublicKey() throws Exception {
+        KeyPair ecKeyPair = generate("EC");
+        when(publicKeyResource.getInputStream())
+                .thenReturn(new ByteArrayInputStream(pem(ecKeyPair.getPublic()).getBytes(StandardCharsets.UTF_8)));
+
+        PublicKey key = jwtValidator.loadPublicKey();
+
+        assertThat(key.getAlgorithm()).isEqualTo("EC");
+    }
+
+    @Test
+    @DisplayName("Deve aceitar ES256 pelo kid e continuar aceitando RS256 legado sem kid durante a migração")
+    void shouldAcceptEs256ByKidAndLegacyRs256(@TempDir Path keysDir) throws Exception {
+        KeyPair ecKeyPair = generate("EC");
+        Files.writeString(keysDir.resolve("es256-2026.pem"), pem(ecKeyPair.getPublic()));
+        ReflectionTestUtils.setField(jwtValidator, "keySetPath", keysDir.toString());
+        jwtValidator.init();
+
+        Claims es256 = jwtValidator.parse(token(ecKeyPair.getPrivate(), "es256-2026", Jwts.SIG.ES256));
+        Claims legacy = jwtValidator.parse(token(keyPair.getPrivate(), null, Jwts.SIG.RS256));
+
+        assertThat(es256.getSubject()).isEqualTo("user123");
+        assertThat(legacy.getSubject()).isEqualTo("user123");
+    }
+
+    @Test
+    @DisplayName("Deve verificar tokens EdDSA quando a chave padrão for Ed25519")
+    void shouldVerifyEdDsaWithDefaultKey() throws Exception {
+        KeyPair edKeyPair = generate("Ed25519");
+        ReflectionTestUtils.setField(jwtValidator, "publicKey", edKeyPair.getPublic());
+
+        Claims claims = jwtValidator.parse(token(edKeyPair.getPrivate(), null, Jwts.SIG.EdDSA));
+
+        assertThat(claims.getSubject()).isEqualTo("user123");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar token com kid desconhecido")
+    void shouldRejectUnknownKid() {
+        jwtValidator.init();
+
+        String token = token(keyPair.getPrivate(), "desconhecida", Jwts.SIG.RS256);
+
+        assertThrows(UnsupportedJwtException.class, () -> jwtValidator.parse(token));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar algoritmo incompatível com o tipo da chave indicada pelo kid")
+    void shouldRejectAlgorithmNotMatchingKeyType(@TempDir Path keysDir) throws Exception {
+        Files.writeString(keysDir.resolve("es256-2026.pem"), pem(generate("EC").getPublic()));
+        ReflectionTestUtils.setField(jwtValidator, "keySetPath", keysDir.toString());
+        jwtValidator.init();
+
+        // RS256 apontando para o kid de uma chave EC
+        String token = token(keyPair.getPrivate(), "es256-2026", Jwts.SIG.RS256);
+
+        assertThrows(UnsupportedJwtException.class, () -> jwtValidator.parse(token));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar uma nova chave adicionada ao diretório sem reiniciar o gateway")
+    void shouldPickUpRotatedKeyOnReload(@TempDir Path keysDir) throws Exception {
+        KeyPair current = generate("EC");
+        Files.writeString(keysDir.resolve("es256-2026-01.pem"), pem(current.getPublic()));
+        ReflectionTestUtils.setField(jwtValidator, "keySetPath", keysDir.toString());
+        jwtValidator.init();
+        JwtParser parser = jwtValidator.parser();
+
+        KeyPair next = generate("EC");
+        String rotated = token(next.getPrivate(), "es256-2026-02", Jwts.SIG.ES256);
+        assertThrows(UnsupportedJwtException.class, () -> jwtValidator.parse(rotated));
+
+        Files.writeString(keysDir.resolve("es256-2026-02.pem"), pem(next.getPublic()));
+        jwtValidator.reloadKeySet();
+
+        assertThat(jwtValidator.parse(rotated).getSubject()).isEqualTo("user123");
+        assertThat(jwtValidator.parse(token(current.getPrivate(), "es256-2026-01", Jwts.SIG.ES256)).getSubject())
+                .isEqualTo("user123");
+        assertThat(jwtValidator.getKeySetSize()).isEqualTo(2);
+        assertThat(jwtValidator.getKeySetReloads()).isEqualTo(1);
+        // A troca do conjunto não recria o parser compartilhado
+        assertThat(jwtValidator.parser()).isSameAs(parser);
+    }
+
+    @Test
+    @DisplayName("Deve deixar de aceitar, inclusive pelo cache, tokens de uma chave removida")
+    void shouldRejectCachedTokenAfterKeyRemoval(@TempDir Path keysDir) throws Exception {
+        KeyPair retired = generate("EC");
+        Path retiredFile = keysDir.resolve("es256-2025.pem");
+        Files.writeString(retiredFile, pem(retired.getPublic()));
+        ReflectionTestUtils.setField(jwtValidator, "keySetPath", keysDir.toString());
+        jwtValidator.init();
+
+        String token = token(retired.getPrivate(), "es256-2025", Jwts.SIG.ES256);
+        jwtValidator.parse(token);
+        assertThat(jwtValidator.getCacheSize()).isEqualTo(1);
+
+        Files.delete(retiredFile);
+        jwtValidator.reloadKeySet();
+
+        assertThat(jwtValidator.getCacheSize()).isZero();
+        assertThrows(UnsupportedJwtException.class, () -> jwtValidator.parse(token));
+    }
+
+    @Test
+    @DisplayName("Deve manter o conjunto atual quando a nova versão da origem for inválida")
+    void shouldKeepCurrentKeySetWhenReloadFails(@TempDir Path keysDir) throws Exception {
+        KeyPair ecKeyPair = generate("EC");
+        Files.writeString(keysDir.resolve("es256-2026.pem"), pem(ecKeyPair.getPublic()));
+        ReflectionTestUtils.setField(jwtValidator, "keySetPath", keysDir.toString());
+        jwtValidator.init();
+
+        // Arquivo ainda incompleto no momento da leitura
+        Files.writeString(keysDir.resolve("es256-2027.pem"), "-----BEGIN PUBLIC KEY-----\nMFkwEwYH");
+        jwtValidator.reloadKeySet();
+
+        assertThat(jwtValidator.getKeySetReloadFailures()).isEqualTo(1);
+        assertThat(jwtValidator.getKeySetSize()).isEqualTo(1);
+        assertThat(jwtValidator.parse(token(ecKeyPair.getPrivate(), "es256-2026", Jwts.SIG.ES256)).getSubject())
+                .isEqualTo("user123");
+    }
+
+    @Test
+    @DisplayName("Deve carregar o conjunto de chaves de um arquivo JWKS")
+    void shouldLoadKeySetFromJwks(@TempDir Path keysDir) throws Exception {
+        KeyPair ecKeyPair = generate("EC");
+        ECPublicKey ecKey = (ECPublicKey) ecKeyPair.getPublic();
+        Path jwks = keysDir.resolve("jwks.json");
+        Files.writeString(jwks, """
+                {"keys":[{"kty":"EC","crv":"P-256","kid":"es256-jwks","x":"%s","y":"%s"}]}
+                """.formatted(coordinate(ecKey.getW().getAffineX()), coordinate(ecKey.getW().getAffineY())));
+        ReflectionTestUtils.setField(jwtValidator, "keySetPath", jwks.toString());
+        jwtValidator.init();
+
+        Claims claims = jwtValidator.parse(token(ecKeyPair.getPrivate(), "es256-jwks", Jwts.SIG.ES256));
+
+        assertThat(claims.getSubject()).isEqualTo("user123");
+    }
+
+    @Test
+    @DisplayName("Deve recusar pelo cache negativo, sem nova verificação, um token forjado repetido")
+    void shouldRejectRepeatedForgedTokenFromNegativeCache() throws Exception {
+        jwtValidator.init();
+        String forged = token(generate("RSA").getPrivate(), null, Jwts.SIG.RS256);
+
+        assertThrows(io.jsonwebtoken.security.SignatureException.class, () -> jwtValidator.parse(forged));
+        RejectedTokenException repeated = assertThrows(RejectedTokenException.class, () -> jwtValidator.parse(forged));
+        RejectedTokenException again = assertThrows(RejectedTokenException.class, () -> jwtValidator.parse(forged));
+
+        assertThat(repeated.reason()).isEqualTo(JwtRejection.BAD_SIGNATURE);
+        assertThat(again).isSameAs(repeated);
+        assertThat(repeated.getStackTrace()).isEmpty();
+        assertThat(jwtValidator.getCacheMisses()).isEqualTo(1);
+        assertThat(jwtValidator.getNegativeCacheHits()).isEqualTo(2);
+        assertThat(jwtValidator.getRejections(JwtRejection.BAD_SIGNATURE)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve contar as rejeições por motivo: expirado e malformado")
+    void shouldCountRejectionsByReason() {
+        jwtValidator.init();
+        String expired = Jwts.builder()
+                .subject("user123")
+                .expiration(new Date(System.currentTimeMillis() - 120_000))
+                .signWith(keyPair.getPrivate(), Jwts.SIG.RS256)
+                .compact();
+
+        assertThrows(Exception.class, () -> jwtValidator.parse(expired));
+        assertThrows(Exception.class, () -> jwtValidator.parse("token.invalido.aqui"));
+
+        assertThat(jwtValidator.getRejections(JwtRejection.EXPIRED)).isEqualTo(1);
+        assertThat(jwtValidator.getRejections(JwtRejection.MALFORMED)).isEqualTo(1);
+        assertThat(jwtValidator.getRejections(JwtRejection.BAD_SIGNATURE)).isZero();
+    }
+
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    private static KeyPair generate(String algorithm) throws Exception {
+        KeyPairGenerator keyGen = KeyPairGenerator.getInstance(algorithm);
+        if ("EC".equals(algorithm)) {
+            keyGen.initialize(256);
+        }
+        return keyGen.generateKeyPair();
+    }
+
+    private static String pem(PublicKey key) {
+        return "-----BEGIN PUBLIC KEY-----\n" +
+                Base64.getEncoder().encodeToString(key.getEncoded()) +
+                "\n-----END PUBLIC KEY-----";
+    }
+
+    private static String token(PrivateKey key, String kid, SignatureAlgorithm algorithm) {
+        var builder = Jwts.builder();
+        if (kid != null) {
+            builder = builder.header().keyId(kid).and();
+        }
+        return builder
+                .subject("user123")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(key, algorithm)
+                .compact();
+    }
+}
@@ -0,0 +1,95 @@
+package com.microservice.gateway.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a verificação de rotas públicas baseada em toLowerCase/replaceAll/startsWith
+ * (implementação anterior dos filtros) com o {@link PublicRouteMatcher}, sobre uma
+ * mistura de paths semelhante ao tráfego real do gateway (maioria protegida).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PublicRouteMatcherBenchmark {
+
+    private static final String[] PATHS = {
+            "/api/products",
+            "/api/products/42",
+            "/api/products/1337/",
+            "/api/sales/user/10",
+            "/api/sales",
+            "/api/accounts/me",
+            "/api/products/7",
+            "/api/accounts/login",
+            "/swagger-ui/index.html",
+            "/actuator/health"
+    };
+
+    private PublicRouteMatcher matcher;
+
+    @Setup
+    public void setup() {
+        matcher = PublicRouteMatcher.of(
+                List.of("/v3/api-docs", "/swagger-ui", "/webjars", "/actuator/health", "/fallback"),
+                List.of("/api/accounts/login", "/accounts/login", "/api/accounts/register", "/accounts/register")
+        );
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10)
+    public void legacyNormalizeAndCompare(Blackhole blackhole) {
+        for (String path : PATHS) {
+            blackhole.consume(legacyIsPublicPath(path));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10)
+    public void trieMatcher(Blackhole blackhole) {
+        for (String path : PATHS) {
+            blackhole.consume(matcher.matches(path));
+        }
+    }
+
+    private static boolean legacyIsPublicPath(String path) {
+        String normalized = path.toLowerCase().replaceAll("/+$", "");
+
+        return normalized.startsWith("/v3/api-docs")
+                || normalized.startsWith("/swagger-ui")
+                || normalized.startsWith("/webjars")
+                || normalized.equals("/api/accounts/login")
+                || normalized.equals("/accounts/login")
+                || normalized.equals("/api/accounts/register")
+                || normalized.equals("/accounts/register")
+                || normalized.startsWith("/actuator/health")
+                || normalized.startsWith("/fallback");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PublicRouteMatcherBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,77 @@
+package com.microservice.gateway.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PublicRouteMatcherTest {
+
+    private PublicRouteMatcher matcher;
+
+    @BeforeEach
+    void setup() {
+        matcher = PublicRouteMatcher.of(
+                List.of("/v3/api-docs", "/swagger-ui", "/webjars", "/actuator/health", "/fallback"),
+                List.of("/api/accounts/login", "/accounts/login", "/api/accounts/register", "/accounts/register")
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/accounts/login",
+            "/api/accounts/login/",
+            "/API/Accounts/Login",
+            "/accounts/register//",
+            "/v3/api-docs",
+            "/v3/api-docs/some-group",
+            "/swagger-ui.html",
+            "/swagger-ui/index.html",
+            "/webjars/swagger-ui/style.css",
+            "/actuator/health",
+            "/fallback/product-service"
+    })
+    @DisplayName("Deve reconhecer rotas públicas por prefixo ou forma exata")
+    void shouldMatchPublicPaths(String path) {
+        assertThat(matcher.matches(path)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/",
+            "",
+            "/api/accounts/login/extra",
+            "/api/accounts/loginx",
+            "/api/accounts",
+            "/api/products/1",
+            "/api/sales/user/10",
+            "/v3/api",
+            "/actuator/prometheus",
+            "/actuator/metrics"
+    })
+    @DisplayName("Não deve reconhecer rotas protegidas como públicas")
+    void shouldNotMatchProtectedPaths(String path) {
+        assertThat(matcher.matches(path)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve retornar false para path nulo")
+    void shouldNotMatchNullPath() {
+        assertThat(matcher.matches(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve ignorar barras finais na configuração das rotas")
+    void shouldNormalizeConfiguredRoutes() {
+        PublicRouteMatcher custom = PublicRouteMatcher.of(List.of("/Docs/"), List.of("/health/"));
+
+        assertThat(custom.matches("/docs/index")).isTrue();
+        assertThat(custom.matches("/health")).isTrue();
+        assertThat(custom.matches("/health/live")).isFalse();
+    }
+}
@@ -0,0 +1,49 @@
+package com.microservice.gateway.security;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserPrincipalTest {
+
+    @Test
+    @DisplayName("Deve extrair id, email e role das claims")
+    void shouldBuildPrincipalFromClaims() {
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("42");
+        when(claims.get("email")).thenReturn("user@test.com");
+        when(claims.get("role")).thenReturn("ADMIN");
+
+        UserPrincipal principal = UserPrincipal.from(claims);
+
+        assertThat(principal).isEqualTo(new UserPrincipal("42", "user@test.com", "ADMIN"));
+    }
+
+    @Test
+    @DisplayName("Deve manter campos nulos quando as claims estiverem ausentes")
+    void shouldKeepNullsForMissingClaims() {
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("42");
+
+        UserPrincipal principal = UserPrincipal.from(claims);
+
+        assertThat(principal.email()).isNull();
+        assertThat(principal.role()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve converter claim 'role' em lista para texto")
+    void shouldStringifyRoleList() {
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("42");
+        when(claims.get("role")).thenReturn(List.of("ROLE_USER", "ROLE_ADMIN"));
+
+        assertThat(UserPrincipal.from(claims).role()).isEqualTo("[ROLE_USER, ROLE_ADMIN]");
+    }
+}
@@ -0,0 +1,177 @@
+package com.microservice.gateway.upstream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelId;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de carga local: um serviço Netty com 20ms de latência recebe rajadas de requisições
+ * concorrentes, comparando conexões novas por requisição, o pool por rota e o h2c.
+ * Fora do build padrão; execute com {@code mvn test -Dgroups=load -Dtests.excluded-groups=}.
+ */
+@Tag("load")
+class UpstreamPoolLoadTest {
+
+    private static final Duration SERVICE_LATENCY = Duration.ofMillis(20);
+    private static final String ROUTE = "product-service";
+
+    private final Set<ChannelId> serverConnections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private final AtomicInteger maxActiveRequests = new AtomicInteger();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private DisposableServer server;
+    private UpstreamHttpClients clients;
+
+    @BeforeEach
+    void startService() {
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .doOnConnection(connection -> {
+                    // Com h2c cada stream é um canal filho; conta apenas a conexão TCP
+                    Channel channel = connection.channel();
+                    serverConnections.add((channel.parent() != null ? channel.parent() : channel).id());
+                })
+                .route(routes -> routes.get("/products", (request, response) -> {
+                    maxActiveRequests.accumulateAndGet(activeRequests.incrementAndGet(), Math::max);
+                    return Mono.delay(SERVICE_LATENCY)
+                            .doFinally(signal -> activeRequests.decrementAndGet())
+                            .then(response.sendString(Mono.just("[]")).then());
+                }))
+                .bindNow();
+    }
+
+    @AfterEach
+    void stop() {
+        if (clients != null) {
+            clients.stop();
+        }
+        server.disposeNow();
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar as conexões do pool da rota em vez de abrir uma por requisição")
+    void pooledClientShouldAvoidConnectionChurn() {
+        // Sem pool e com "Connection: close": cada requisição abre (e fecha) a própria conexão TCP
+        HttpClient unpooled = HttpClient.newConnection()
+                .headers(headers -> headers.set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE));
+        Result baseline = run(unpooled, 200, 50);
+        int unpooledConnections = serverConnections.size();
+
+        serverConnections.clear();
+        clients = clients(settings(10, 500, false));
+        Result pooled = run(clients.clientFor(ROUTE), 200, 50);
+
+        assertThat(baseline.failures()).isZero();
+        assertThat(pooled.failures()).isZero();
+        assertThat(unpooledConnections).isEqualTo(200);
+        assertThat(serverConnections.size()).isLessThanOrEqualTo(10);
+        assertThat(registry.get("gateway.upstream.pool.max.connections").tag("route", ROUTE).gauge().value())
+                .isEqualTo(10.0);
+    }
+
+    @Test
+    @DisplayName("Deve falhar imediatamente quando a fila de espera por conexões está cheia")
+    void shouldRejectBeyondPendingAcquireLimit() {
+        clients = clients(settings(2, 3, false));
+        AtomicInteger rejected = new AtomicInteger();
+
+        Result result = run(clients.clientFor(ROUTE), 20, 20, error -> {
+            // reactor-pool é embutido (shaded) no Reactor Netty
+            if (error.getClass().getSimpleName().equals("PoolAcquirePendingLimitException")) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertThat(serverConnections).hasSizeLessThanOrEqualTo(2);
+        assertThat(rejected.get()).isEqualTo(result.failures()).isGreaterThanOrEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Com h2c, uma conexão deve atender requisições concorrentes sem bloqueio de fila")
+    void h2cShouldMultiplexConcurrentRequests() {
+        clients = clients(settings(1, 500, false));
+        Result http11 = run(clients.clientFor(ROUTE), 30, 30);
+        int http11Concurrency = maxActiveRequests.get();
+        clients.stop();
+
+        serverConnections.clear();
+        maxActiveRequests.set(0);
+        clients = clients(settings(1, 500, true));
+        Result h2c = run(clients.clientFor(ROUTE), 30, 30);
+
+        // Compara a concorrência vista pelo serviço, não o tempo de parede (instável em CI)
+        assertThat(http11.failures()).isZero();
+        assertThat(h2c.failures()).isZero();
+        assertThat(serverConnections).hasSize(1);
+        assertThat(http11Concurrency).isEqualTo(1);
+        assertThat(maxActiveRequests.get()).isGreaterThan(1);
+    }
+
+    private UpstreamHttpClients clients(UpstreamTransportProperties.Settings settings) {
+        UpstreamTransportProperties properties = new UpstreamTransportProperties(true, null, Map.of(ROUTE, settings));
+        return new UpstreamHttpClients(properties,
+                new DefaultListableBeanFactory().getBeanProvider(HttpClientCustomizer.class), registry);
+    }
+
+    private static UpstreamTransportProperties.Settings settings(int maxConnections, int pending, boolean h2c) {
+        return new UpstreamTransportProperties.Settings(maxConnections, pending, Duration.ofSeconds(5),
+                Duration.ofSeconds(15), Duration.ofMinutes(5), Duration.ofSeconds(10), Duration.ofSeconds(1),
+                null, h2c);
+    }
+
+    private Result run(HttpClient client, int requests, int concurrency) {
+        return run(client, requests, concurrency, error -> {
+        });
+    }
+
+    private Result run(HttpClient client, int requests, int concurrency,
+                       Consumer<Throwable> onError) {
+        HttpClient target = client.baseUrl("http://127.0.0.1:" + server.port());
+        AtomicInteger failures = new AtomicInteger();
+
+        List<String> bodies = Flux.range(0, requests)
+                .flatMap(i -> target.get().uri("/products")
+                        .responseContent().aggregate().asString()
+                        .onErrorResume(error -> {
+                            failures.incrementAndGet();
+                            onError.accept(error);
+                            return Mono.empty();
+                        }), concurrency)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+
+        assertThat(bodies).hasSize(requests - failures.get());
+        return new Result(failures.get());
+    }
+
+    private record Result(int failures) {
+    }
+}
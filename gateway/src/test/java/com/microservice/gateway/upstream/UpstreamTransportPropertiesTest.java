@@ -0,0 +1,50 @@
+package com.microservice.gateway.upstream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpstreamTransportPropertiesTest {
+
+    @Test
+    @DisplayName("Deve herdar de defaults os campos não informados na rota")
+    void shouldMergeRouteOverDefaults() {
+        UpstreamTransportProperties.Settings defaults = new UpstreamTransportProperties.Settings(
+                50, 200, Duration.ofSeconds(2), Duration.ofSeconds(10), Duration.ofMinutes(3),
+                Duration.ofSeconds(5), Duration.ofMillis(800), Duration.ofSeconds(4), null);
+        UpstreamTransportProperties.Settings route = new UpstreamTransportProperties.Settings(
+                200, null, null, null, null, null, Duration.ofMillis(500), null, true);
+
+        UpstreamTransportProperties properties = new UpstreamTransportProperties(true, defaults,
+                Map.of("product-service", route));
+        UpstreamTransportProperties.Settings merged = properties.settingsFor("product-service");
+
+        assertThat(merged.maxConnections()).isEqualTo(200);
+        assertThat(merged.connectTimeout()).isEqualTo(Duration.ofMillis(500));
+        assertThat(merged.h2c()).isTrue();
+        assertThat(merged.pendingAcquireMaxCount()).isEqualTo(200);
+        assertThat(merged.pendingAcquireTimeout()).isEqualTo(Duration.ofSeconds(2));
+        assertThat(merged.maxIdleTime()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(merged.responseTimeout()).isEqualTo(Duration.ofSeconds(4));
+    }
+
+    @Test
+    @DisplayName("Deve completar defaults parciais com os valores padrão")
+    void shouldFillPartialDefaults() {
+        UpstreamTransportProperties.Settings partial = new UpstreamTransportProperties.Settings(
+                20, 0, null, null, null, null, null, null, null);
+
+        UpstreamTransportProperties properties = new UpstreamTransportProperties(true, partial, null);
+        UpstreamTransportProperties.Settings settings = properties.settingsFor("sales-service");
+
+        assertThat(settings.maxConnections()).isEqualTo(20);
+        assertThat(settings.pendingAcquireMaxCount()).isEqualTo(500);
+        assertThat(settings.connectTimeout()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(settings.h2c()).isFalse();
+        assertThat(settings.responseTimeout()).isNull();
+    }
+}
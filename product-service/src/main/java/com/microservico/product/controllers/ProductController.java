@@ -6,6 +6,7 @@ import com.microservico.product.services.ProductService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -27,6 +28,12 @@ public class ProductController implements IProductControllerDocs {
         return service.list();
     }
 
+    @GetMapping(params = "ids")
+    public List<ProductDTO> findByIds(
+            @RequestParam("ids") @NotNull @Size(max = ProductService.MAX_BATCH_IDS) List<@NotNull @Positive Long> ids) {
+        return service.findByIds(ids);
+    }
+
     @GetMapping("/{id}")
     public ProductDTO findById(@PathVariable(value = "id") @NotNull @Positive Long id) {
         return service.findById(id);
@@ -10,6 +10,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -33,6 +34,22 @@ public interface IProductControllerDocs {
     @GetMapping
     List<ProductDTO> list();
 
+    @Operation(
+            summary = "Buscar vários produtos por ID",
+            description = "Retorna, em uma única consulta, os produtos encontrados entre os IDs informados "
+                    + "(até 100). IDs inexistentes são omitidos da resposta."
+    )
+    @ApiResponse(responseCode = "200", description = "Produtos encontrados",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ProductDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Lista de IDs inválida", content = @Content)
+    @GetMapping(params = "ids")
+    List<ProductDTO> findByIds(
+            @Parameter(description = "IDs dos produtos, separados por vírgula ou repetidos", required = true,
+                    example = "1,2,3")
+            @RequestParam("ids") @NotNull @Size(max = 100) List<@NotNull @Positive Long> ids
+    );
+
     @Operation(
             summary = "Buscar produto por ID",
             description = "Retorna um único produto com base no seu ID."
@@ -0,0 +1,39 @@
+package com.microservico.product.deadline;
+
+import com.microservico.product.exceptions.DeadlineExceededException;
+import org.springframework.lang.NonNull;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.io.Serial;
+
+/**
+ * Limita o timeout de cada transação ao tempo restante do deadline da requisição.
+ * O Hibernate aplica esse timeout como query timeout em todos os statements da transação,
+ * inclusive nos métodos dos repositórios Spring Data (transacionais por padrão).
+ */
+public class DeadlineAwareJpaTransactionManager extends JpaTransactionManager {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected int determineTimeout(@NonNull TransactionDefinition definition) {
+        int configured = super.determineTimeout(definition);
+        Deadline deadline = DeadlineContext.current();
+        if (deadline == null) {
+            return configured;
+        }
+
+        long remainingMillis = deadline.remainingMillis();
+        if (remainingMillis <= 0) {
+            throw new DeadlineExceededException("starting a database transaction");
+        }
+
+        // Timeout de transação é em segundos: arredonda para cima para não cortar orçamentos < 1s
+        int remainingSeconds = (int) Math.min(Integer.MAX_VALUE, (remainingMillis + 999) / 1000);
+        return configured == TransactionDefinition.TIMEOUT_DEFAULT
+                ? remainingSeconds
+                : Math.min(configured, remainingSeconds);
+    }
+}
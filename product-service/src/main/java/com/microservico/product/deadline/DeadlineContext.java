@@ -0,0 +1,40 @@
+package com.microservico.product.deadline;
+
+import com.microservico.product.exceptions.DeadlineExceededException;
+
+/**
+ * Deadline da requisição em processamento na thread atual.
+ * Definido pelo {@link DeadlineInterceptor} e removido ao fim da requisição.
+ */
+public final class DeadlineContext {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private DeadlineContext() {
+    }
+
+    /**
+     * @return deadline atual ou {@code null} quando a requisição não trouxe orçamento
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    public static void set(Deadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @throws DeadlineExceededException se houver deadline e ele já tiver vencido
+     */
+    public static void checkRemaining(String operation) {
+        Deadline deadline = CURRENT.get();
+        if (deadline != null && deadline.isExpired()) {
+            throw new DeadlineExceededException(operation);
+        }
+    }
+}
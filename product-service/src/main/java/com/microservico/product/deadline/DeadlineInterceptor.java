@@ -0,0 +1,47 @@
+package com.microservico.product.deadline;
+
+import com.microservico.product.exceptions.DeadlineExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Lê o orçamento enviado pelo gateway (ou repassado pelo sales-service) e o disponibiliza em {@link DeadlineContext}.
+ * Requisições que chegam com o orçamento esgotado são rejeitadas antes do controller.
+ */
+public class DeadlineInterceptor implements HandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadlineInterceptor.class);
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        String header = request.getHeader(Deadline.HEADER);
+        if (header == null) {
+            return true;
+        }
+
+        long remainingMillis;
+        try {
+            remainingMillis = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            log.debug("Header {} inválido ignorado: {}", Deadline.HEADER, header);
+            return true;
+        }
+
+        if (remainingMillis <= 0) {
+            throw new DeadlineExceededException("processing the request");
+        }
+        DeadlineContext.set(Deadline.afterMillis(remainingMillis));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        DeadlineContext.clear();
+    }
+}
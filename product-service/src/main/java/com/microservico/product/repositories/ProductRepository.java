@@ -4,6 +4,14 @@ import com.microservico.product.models.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    /**
+     * Busca vários produtos em uma única consulta ({@code where id in (...)}); ids inexistentes são ignorados.
+     */
+    List<Product> findByIdIn(Collection<Long> ids);
 }
@@ -8,15 +8,20 @@ import com.microservico.product.repositories.ProductRepository;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 
 @Validated
 @Service
 public class ProductService {
 
+    /** Limite de ids por consulta em lote (URL e tamanho do IN). */
+    public static final int MAX_BATCH_IDS = 100;
+
     private final ProductRepository repository;
 
     private final ProductMapper productMapper;
@@ -36,6 +41,17 @@ public class ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException(id, Product.class.getSimpleName()));
     }
 
+    /**
+     * Produtos encontrados entre os ids informados, com uma única consulta; ids repetidos
+     * são consultados uma vez e ids inexistentes ficam fora da resposta.
+     */
+    public List<ProductDTO> findByIds(@NotNull @Size(max = MAX_BATCH_IDS) List<@NotNull @Positive Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return repository.findByIdIn(new LinkedHashSet<>(ids)).stream().map(productMapper::toDTO).toList();
+    }
+
     public ProductDTO create(@Valid @NotNull ProductDTO productDTO) {
         return productMapper.toDTO(
                 repository.save(productMapper.toEntity(productDTO))
@@ -0,0 +1,60 @@
+package com.microservico.product.deadline;
+
+import com.microservico.product.exceptions.DeadlineExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DeadlineInterceptorTest {
+
+    private final DeadlineInterceptor interceptor = new DeadlineInterceptor();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    void tearDown() {
+        DeadlineContext.clear();
+    }
+
+    @Test
+    @DisplayName("Deve disponibilizar o orçamento recebido do gateway durante a requisição")
+    void shouldExposeDeadlineFromHeader() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(Deadline.HEADER, "1500");
+
+        assertThat(interceptor.preHandle(request, response, new Object())).isTrue();
+
+        Deadline deadline = DeadlineContext.current();
+        assertThat(deadline).isNotNull();
+        assertThat(deadline.remainingMillis()).isBetween(1L, 1500L);
+
+        interceptor.afterCompletion(request, response, new Object(), null);
+        assertThat(DeadlineContext.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar na chegada requisições com o orçamento esgotado")
+    void shouldRejectExpiredRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(Deadline.HEADER, "0");
+
+        assertThrows(DeadlineExceededException.class, () -> interceptor.preHandle(request, response, new Object()));
+        assertThat(DeadlineContext.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve seguir sem deadline quando o header estiver ausente ou inválido")
+    void shouldIgnoreMissingOrInvalidHeader() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        assertThat(interceptor.preHandle(request, response, new Object())).isTrue();
+        assertThat(DeadlineContext.current()).isNull();
+
+        request.addHeader(Deadline.HEADER, "abc");
+        assertThat(interceptor.preHandle(request, response, new Object())).isTrue();
+        assertThat(DeadlineContext.current()).isNull();
+    }
+}
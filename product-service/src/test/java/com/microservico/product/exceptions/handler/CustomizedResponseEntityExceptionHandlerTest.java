@@ -1,5 +1,6 @@
 package com.microservico.product.exceptions.handler;
 
+import com.microservico.product.exceptions.DeadlineExceededException;
 import com.microservico.product.exceptions.ExceptionResponse;
 import com.microservico.product.exceptions.ResourceNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -54,4 +55,21 @@ class CustomizedResponseEntityExceptionHandlerTest {
         assertThat(Objects.requireNonNull(response.getBody()).message()).isEqualTo("Product not found with id: 1");
         assertThat(response.getBody().error()).isEqualTo("Resource not found");
     }
-}
\ No newline at end of file
+
+    @Test
+    void handlerDeadlineExceptions_ShouldReturnGatewayTimeout() {
+        // Arrange
+        var ex = new DeadlineExceededException("starting a database transaction");
+        var request = new ServletWebRequest(new MockHttpServletRequest());
+
+        // Act
+        var response = handler.handlerDeadlineExceptions(ex, request);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(Objects.requireNonNull(response.getBody()).message())
+                .isEqualTo("Request deadline exceeded before starting a database transaction");
+        assertThat(response.getBody().error()).isEqualTo("Deadline exceeded");
+    }
+}
@@ -104,6 +104,31 @@ class ProductRepositoryTest {
         assertEquals(product0.getId(), productSaved.getId());
     }
 
+    @DisplayName("Given Product List When FindByIdIn Then Return Only Existing Products")
+    @Test
+    void testGivenListProduct_WhenFindByIdIn_thenReturnOnlyExistingProducts() {
+        // Given / Arrange
+        Product product1 = new Product(
+                null,
+                "Other product",
+                CategoryEnum.COMPUTERS,
+                new BigDecimal("2.0"));
+        Product product2 = new Product(
+                null,
+                "Not requested",
+                CategoryEnum.COMPUTERS,
+                new BigDecimal("3.0"));
+        repository.saveAll(List.of(product0, product1, product2));
+
+        // When / Act
+        List<Product> found = repository.findByIdIn(List.of(product0.getId(), product1.getId(), 9999L));
+
+        // Then / Assert
+        assertEquals(2, found.size());
+        assertTrue(found.stream().anyMatch(p -> p.getId().equals(product0.getId())));
+        assertTrue(found.stream().anyMatch(p -> p.getId().equals(product1.getId())));
+    }
+
     @DisplayName("Given Product Object When Delete Product Then Remove Product")
     @Test
     void testGivenProductObject_WhenDeleteProduct_thenRemoveProduct() {
@@ -127,6 +127,32 @@ class ProductServiceTest {
     }
 
 
+    @DisplayName("Given repeated IDs when Find By Ids then Query Once With Distinct IDs")
+    @Test
+    void testGivenRepeatedIds_WhenFindByIds_thenQueryOnceWithDistinctIds() {
+        // Given
+        given(repository.findByIdIn(anyCollection())).willReturn(List.of(productEntity));
+
+        // When
+        List<ProductDTO> found = service.findByIds(List.of(1L, 1L, 2L));
+
+        // Then
+        assertEquals(1, found.size());
+        assertEquals(1L, found.getFirst().id());
+        verify(repository, times(1)).findByIdIn(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(1L, 2L))));
+    }
+
+    @DisplayName("Given empty ID list when Find By Ids then Return Empty List Without Query")
+    @Test
+    void testGivenEmptyIds_WhenFindByIds_thenReturnEmptyWithoutQuery() {
+        // When
+        List<ProductDTO> found = service.findByIds(List.of());
+
+        // Then
+        assertTrue(found.isEmpty());
+        verify(repository, never()).findByIdIn(anyCollection());
+    }
+
     @DisplayName("Given existing ID when Find By Id then Return ProductDTO")
     @Test
     void testGivenExistingId_WhenFindById_thenReturnProductDTO() {
@@ -0,0 +1,33 @@
+package com.microservico.sales.clients;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @param enabled       liga/desliga o near-cache; desligado, toda venda consulta o product-service
+ * @param maxSize       quantidade máxima de produtos em cache
+ * @param ttl           idade máxima de uma entrada, ou seja, a defasagem aceita em preço/nome
+ * @param refreshAfter  entradas lidas após este tempo são recarregadas em background (refresh-ahead)
+ * @param negativeTtl   tempo em cache de produtos inexistentes (404)
+ */
+@ConfigurationProperties(prefix = "sales.product-cache")
+public record ProductCacheProperties(
+        boolean enabled,
+        long maxSize,
+        Duration ttl,
+        Duration refreshAfter,
+        Duration negativeTtl) {
+
+    public ProductCacheProperties {
+        if (maxSize <= 0) maxSize = 10_000;
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) ttl = Duration.ofSeconds(60);
+        if (refreshAfter == null || refreshAfter.isNegative() || refreshAfter.isZero()
+                || refreshAfter.compareTo(ttl) >= 0) {
+            refreshAfter = ttl.multipliedBy(3).dividedBy(4);
+        }
+        if (negativeTtl == null || negativeTtl.isNegative() || negativeTtl.isZero()) {
+            negativeTtl = Duration.ofSeconds(10);
+        }
+    }
+}
@@ -4,10 +4,24 @@ import com.microservico.sales.models.dtos.ProductResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Collection;
+import java.util.List;
 
 @FeignClient(name = "product-service", url = "${feign.client.config.product-service.url}")
 public interface ProductClient {
+
+    /** Limite de ids por chamada de {@link #getProductsByIds}, o mesmo do product-service. */
+    int MAX_BATCH_IDS = 100;
+
     @GetMapping("/products/{id}")
     ProductResponse getProductById(@PathVariable("id") Long id);
 
-}
\ No newline at end of file
+    /**
+     * Uma única chamada (e uma única consulta {@code IN} no product-service) para vários produtos;
+     * ids inexistentes não aparecem na resposta. Aceita até {@link #MAX_BATCH_IDS} ids.
+     */
+    @GetMapping("/products")
+    List<ProductResponse> getProductsByIds(@RequestParam("ids") Collection<Long> ids);
+}
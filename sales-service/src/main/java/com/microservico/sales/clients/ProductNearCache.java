@@ -0,0 +1,222 @@
+package com.microservico.sales.clients;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.microservico.sales.models.dtos.ProductResponse;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Near-cache das consultas ao product-service entre o {@code SaleService} e o {@link ProductClient}.
+ * <ul>
+ *     <li>entradas expiram após {@code ttl}; produtos inexistentes (404) após {@code negative-ttl};</li>
+ *     <li>uma entrada lida depois de {@code refresh-after} é devolvida imediatamente e recarregada
+ *     em background, de modo que os produtos mais vendidos nunca esperam pelo HTTP;</li>
+ *     <li>falhas (timeout, 5xx) não são guardadas: a próxima venda tenta de novo.</li>
+ * </ul>
+ * Buscas de vários produtos ({@link #getProductsByIds}) trazem todas as faltas em uma única
+ * chamada ao product-service.
+ * Acertos, faltas e evicções são publicados em {@code cache.*{cache=sales.product}} e o tempo de
+ * carga em {@code sales.product.cache.load}.
+ */
+@Component
+@EnableConfigurationProperties(ProductCacheProperties.class)
+public class ProductNearCache {
+
+    static final String CACHE_NAME = "sales.product";
+
+    private final ProductClient client;
+    private final ProductCacheProperties properties;
+    private final LoadingCache<Long, Optional<ProductResponse>> cache;
+    private final Timer found;
+    private final Timer notFound;
+    private final Timer failed;
+    private final Timer batch;
+
+    /**
+     * Os refreshes em background (chamadas Feign bloqueantes) rodam no executor da aplicação,
+     * o mesmo do {@code @Async}: virtual threads com {@code spring.threads.virtual.enabled=true}.
+     */
+    @Autowired
+    public ProductNearCache(ProductClient client, ProductCacheProperties properties, MeterRegistry registry,
+                            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                            Executor refreshExecutor) {
+        this(client, properties, registry, Ticker.systemTicker(), refreshExecutor);
+    }
+
+    ProductNearCache(ProductClient client, ProductCacheProperties properties, MeterRegistry registry,
+                     Ticker ticker, Executor refreshExecutor) {
+        this.client = client;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maxSize())
+                .expireAfter(new ProductExpiry(properties.ttl(), properties.negativeTtl()))
+                .refreshAfterWrite(properties.refreshAfter())
+                .ticker(ticker)
+                .executor(refreshExecutor)
+                .recordStats()
+                .build(new ProductLoader());
+
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        this.found = loadTimer(registry, "found");
+        this.notFound = loadTimer(registry, "not_found");
+        this.failed = loadTimer(registry, "error");
+        this.batch = loadTimer(registry, "batch");
+    }
+
+    /**
+     * @return o produto, ou {@code null} se o product-service respondeu 404
+     */
+    public ProductResponse getProductById(Long id) {
+        if (!properties.enabled()) {
+            return load(id).orElse(null);
+        }
+        return cache.get(id).orElse(null);
+    }
+
+    /**
+     * @return os produtos encontrados, indexados pelo id; ids inexistentes ficam fora do mapa
+     */
+    public Map<Long, ProductResponse> getProductsByIds(Collection<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        Map<Long, Optional<ProductResponse>> entries = properties.enabled()
+                ? cache.getAll(distinct)
+                : loadAll(distinct);
+
+        Map<Long, ProductResponse> products = new HashMap<>();
+        entries.forEach((id, product) -> product.ifPresent(found -> products.put(id, found)));
+        return products;
+    }
+
+    /**
+     * Consulta apenas o cache, sem chamar o product-service (usado pelo {@link ReactiveProductClient}).
+     *
+     * @return {@code null} se o produto não está em cache; vazio se está em cache como inexistente
+     */
+    public Optional<ProductResponse> getIfPresent(Long id) {
+        return properties.enabled() ? cache.getIfPresent(id) : null;
+    }
+
+    /**
+     * Guarda o resultado de uma consulta feita fora do cache; {@code null} registra a ausência (404).
+     */
+    public void put(Long id, ProductResponse product) {
+        if (properties.enabled()) {
+            cache.put(id, Optional.ofNullable(product));
+        }
+    }
+
+    /**
+     * Remove o produto do cache (ex.: quando o chamador sabe que ele mudou).
+     */
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    private Optional<ProductResponse> load(Long id) {
+        long start = System.nanoTime();
+        Timer outcome = failed;
+        try {
+            Optional<ProductResponse> product = Optional.ofNullable(client.getProductById(id));
+            outcome = product.isPresent() ? found : notFound;
+            return product;
+        } catch (FeignException.NotFound e) {
+            outcome = notFound;
+            return Optional.empty();
+        } finally {
+            outcome.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Busca em lotes de até {@link ProductClient#MAX_BATCH_IDS}; ids ausentes da resposta viram
+     * ausências em cache, como um 404 da busca individual.
+     */
+    private Map<Long, Optional<ProductResponse>> loadAll(Set<? extends Long> ids) {
+        long start = System.nanoTime();
+        try {
+            Map<Long, Optional<ProductResponse>> loaded = new HashMap<>();
+            List<Long> pending = new ArrayList<>(ids);
+            for (int from = 0; from < pending.size(); from += ProductClient.MAX_BATCH_IDS) {
+                List<Long> chunk = pending.subList(from, Math.min(pending.size(), from + ProductClient.MAX_BATCH_IDS));
+                for (ProductResponse product : client.getProductsByIds(chunk)) {
+                    if (product != null && product.id() != null) {
+                        loaded.put(product.id(), Optional.of(product));
+                    }
+                }
+            }
+            for (Long id : ids) {
+                loaded.putIfAbsent(id, Optional.empty());
+            }
+            return loaded;
+        } finally {
+            batch.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private static Timer loadTimer(MeterRegistry registry, String result) {
+        return Timer.builder("sales.product.cache.load")
+                .description("Tempo das consultas ao product-service feitas pelo near-cache")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private class ProductLoader implements CacheLoader<Long, Optional<ProductResponse>> {
+
+        @Override
+        public Optional<ProductResponse> load(Long id) {
+            return ProductNearCache.this.load(id);
+        }
+
+        @Override
+        public Map<Long, Optional<ProductResponse>> loadAll(Set<? extends Long> ids) {
+            return ProductNearCache.this.loadAll(ids);
+        }
+    }
+
+    /**
+     * TTL por entrada: produtos existentes ficam {@code ttl}, ausências ficam {@code negativeTtl}.
+     * Um refresh conta como nova escrita; leituras não prolongam a entrada.
+     */
+    private record ProductExpiry(Duration ttl, Duration negativeTtl) implements Expiry<Long, Optional<ProductResponse>> {
+
+        @Override
+        public long expireAfterCreate(Long key, Optional<ProductResponse> value, long currentTime) {
+            return (value.isPresent() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, Optional<ProductResponse> value, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, Optional<ProductResponse> value, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.microservico.sales.clients;
+
+import com.microservico.sales.deadline.Deadline;
+import com.microservico.sales.deadline.DeadlineContext;
+import com.microservico.sales.exceptions.DeadlineExceededException;
+import com.microservico.sales.exceptions.ProductServiceCommunicationException;
+import com.microservico.sales.models.dtos.ProductResponse;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Cliente não bloqueante do product-service sobre o {@code WebClient.Builder} com
+ * {@link LoadBalanced}: a thread que faz a chamada não fica presa esperando a resposta.
+ * <ul>
+ *     <li>pool de conexões próprio, com limite de conexões e de chamadas aguardando conexão;</li>
+ *     <li>timeout de conexão e de resposta por tentativa;</li>
+ *     <li>novas tentativas com backoff apenas para falhas transitórias (conexão, timeout, 502/503/504);</li>
+ *     <li>o deadline da requisição é capturado na chamada, repassado no header e limita todas as tentativas
+ *     a partir da inscrição.</li>
+ * </ul>
+ */
+@Component
+@EnableConfigurationProperties(ReactiveProductClientProperties.class)
+public class ReactiveProductClient {
+
+    static final String POOL_NAME = "product-service";
+
+    private final ReactiveProductClientProperties properties;
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+
+    public ReactiveProductClient(@LoadBalanced WebClient.Builder webClientBuilder,
+                                 ReactiveProductClientProperties properties) {
+        this.properties = properties;
+        this.connectionProvider = ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(properties.maxConnections())
+                .pendingAcquireMaxCount(properties.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.pendingAcquireTimeout())
+                .maxIdleTime(properties.maxIdleTime())
+                .metrics(true)
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.connectTimeout().toMillis())
+                .responseTimeout(properties.responseTimeout());
+
+        // clone() preserva o filtro do load balancer registrado no builder compartilhado
+        this.webClient = webClientBuilder.clone()
+                .baseUrl(properties.baseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * Deve ser chamado na thread da requisição, para capturar o deadline atual.
+     *
+     * @return o produto, ou vazio se o product-service respondeu 404
+     */
+    public Mono<ProductResponse> getProductById(Long id) {
+        Deadline deadline = DeadlineContext.current();
+
+        Mono<ProductResponse> call = Mono.defer(() -> webClient.get()
+                        .uri("/products/{id}", id)
+                        .headers(headers -> {
+                            if (deadline != null) {
+                                headers.set(Deadline.HEADER, Long.toString(Math.max(0, deadline.remainingMillis())));
+                            }
+                        })
+                        .retrieve()
+                        .bodyToMono(ProductResponse.class))
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty())
+                .retryWhen(Retry.backoff(properties.maxRetries(), properties.retryBackoff())
+                        .filter(ReactiveProductClient::isTransient)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+
+        if (deadline != null) {
+            Mono<ProductResponse> attempts = call;
+            // O orçamento restante é medido na inscrição, não na montagem do Mono
+            call = Mono.defer(() -> {
+                long remainingMillis = deadline.remainingMillis();
+                if (remainingMillis <= 0) {
+                    return Mono.error(new DeadlineExceededException("calling product-service"));
+                }
+                return attempts.timeout(Duration.ofMillis(remainingMillis),
+                        Mono.error(() -> new DeadlineExceededException("receiving a response from product-service")));
+            });
+        }
+
+        return call.onErrorMap(e -> !(e instanceof DeadlineExceededException),
+                e -> new ProductServiceCommunicationException(
+                        String.format("Failed to fetch product %d from product-service", id), e));
+    }
+
+    @PreDestroy
+    public void stop() {
+        connectionProvider.disposeLater().block(Duration.ofSeconds(5));
+    }
+
+    private static boolean isTransient(Throwable error) {
+        if (error instanceof WebClientRequestException) {
+            return true;
+        }
+        if (error instanceof WebClientResponseException response) {
+            int status = response.getStatusCode().value();
+            return status == 502 || status == 503 || status == 504;
+        }
+        return false;
+    }
+}
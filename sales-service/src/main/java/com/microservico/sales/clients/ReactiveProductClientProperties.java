@@ -0,0 +1,52 @@
+package com.microservico.sales.clients;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @param enabled                liga o modo assíncrono de criação de vendas; desligado, a consulta
+ *                               ao produto usa o {@link ProductClient} (Feign) na thread do Tomcat
+ * @param baseUrl                endereço do product-service, resolvido pelo load balancer (Eureka)
+ * @param connectTimeout         timeout de conexão
+ * @param responseTimeout        tempo máximo de cada tentativa
+ * @param maxRetries             novas tentativas para falhas de conexão, timeouts e 502/503/504
+ * @param retryBackoff           espera antes da primeira nova tentativa (dobra a cada tentativa)
+ * @param maxConnections         conexões simultâneas do pool com o product-service
+ * @param pendingAcquireMaxCount chamadas aguardando conexão livre antes de falhar
+ * @param pendingAcquireTimeout  espera máxima por uma conexão livre
+ * @param maxIdleTime            conexões ociosas por mais tempo são fechadas
+ */
+@ConfigurationProperties(prefix = "sales.reactive-product-client")
+public record ReactiveProductClientProperties(
+        boolean enabled,
+        String baseUrl,
+        Duration connectTimeout,
+        Duration responseTimeout,
+        int maxRetries,
+        Duration retryBackoff,
+        int maxConnections,
+        int pendingAcquireMaxCount,
+        Duration pendingAcquireTimeout,
+        Duration maxIdleTime) {
+
+    public ReactiveProductClientProperties {
+        if (baseUrl == null || baseUrl.isBlank()) baseUrl = "http://product-service";
+        if (connectTimeout == null || connectTimeout.isNegative() || connectTimeout.isZero()) {
+            connectTimeout = Duration.ofSeconds(1);
+        }
+        if (responseTimeout == null || responseTimeout.isNegative() || responseTimeout.isZero()) {
+            responseTimeout = Duration.ofSeconds(2);
+        }
+        if (maxRetries < 0) maxRetries = 0;
+        if (retryBackoff == null || retryBackoff.isNegative()) retryBackoff = Duration.ofMillis(50);
+        if (maxConnections <= 0) maxConnections = 100;
+        if (pendingAcquireMaxCount <= 0) pendingAcquireMaxCount = 1_000;
+        if (pendingAcquireTimeout == null || pendingAcquireTimeout.isNegative() || pendingAcquireTimeout.isZero()) {
+            pendingAcquireTimeout = Duration.ofSeconds(1);
+        }
+        if (maxIdleTime == null || maxIdleTime.isNegative() || maxIdleTime.isZero()) {
+            maxIdleTime = Duration.ofSeconds(15);
+        }
+    }
+}
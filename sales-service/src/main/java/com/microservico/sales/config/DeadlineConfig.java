@@ -0,0 +1,59 @@
+package com.microservico.sales.config;
+
+import com.microservico.sales.deadline.Deadline;
+import com.microservico.sales.deadline.DeadlineAwareFeignClient;
+import com.microservico.sales.deadline.DeadlineAwareJpaTransactionManager;
+import com.microservico.sales.deadline.DeadlineContext;
+import com.microservico.sales.deadline.DeadlineInterceptor;
+import feign.Capability;
+import feign.Client;
+import feign.RequestInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Propagação do deadline recebido do gateway: leitura do header, timeout das transações JPA
+ * e das chamadas Feign ao product-service, que também recebe o orçamento restante.
+ */
+@Configuration
+public class DeadlineConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(new DeadlineInterceptor());
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager(
+            ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+        DeadlineAwareJpaTransactionManager transactionManager = new DeadlineAwareJpaTransactionManager();
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+
+    @Bean
+    public Capability deadlineCapability() {
+        return new Capability() {
+            @Override
+            public Client enrich(Client client) {
+                return new DeadlineAwareFeignClient(client);
+            }
+        };
+    }
+
+    @Bean
+    public RequestInterceptor deadlineRequestInterceptor() {
+        return template -> {
+            Deadline deadline = DeadlineContext.current();
+            if (deadline != null) {
+                template.header(Deadline.HEADER, Long.toString(Math.max(0, deadline.remainingMillis())));
+            }
+        };
+    }
+}
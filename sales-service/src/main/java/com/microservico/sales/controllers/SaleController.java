@@ -1,16 +1,20 @@
 package com.microservico.sales.controllers;
 
 import com.microservico.sales.controllers.interfaces.ISaleControllerDocs;
+import com.microservico.sales.models.dtos.SaleBatchResponse;
 import com.microservico.sales.models.dtos.SaleRequest;
 import com.microservico.sales.models.dtos.SaleResponse;
 import com.microservico.sales.services.SaleService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/sales")
@@ -23,12 +27,20 @@ public class SaleController implements ISaleControllerDocs {
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public SaleResponse create(
+    public CompletableFuture<SaleResponse> create(
             @Valid @RequestBody SaleRequest request,
             @NotNull @Positive @RequestHeader(value = "X-User-Id", required = true) String userIdHeader
     ) {
         request.setUserId(Long.parseLong(userIdHeader));
-        return service.createSale(request);
+        return service.createSaleAsync(request);
+    }
+
+    @PostMapping("/batch")
+    public SaleBatchResponse createBatch(
+            @NotEmpty @Size(max = SaleService.MAX_BATCH_SIZE) @RequestBody List<@NotNull SaleRequest> requests,
+            @NotNull @Positive @RequestHeader(value = "X-User-Id", required = true) String userIdHeader
+    ) {
+        return service.createSales(Long.parseLong(userIdHeader), requests);
     }
 
     @GetMapping("/user/{userId}")
@@ -1,24 +1,30 @@
 package com.microservico.sales.controllers.interfaces;
 
 
+import com.microservico.sales.models.dtos.SaleBatchResponse;
 import com.microservico.sales.models.dtos.SaleRequest;
 import com.microservico.sales.models.dtos.SaleResponse;
+import com.microservico.sales.services.SaleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Tag(
         name = "Sales API",
@@ -78,11 +84,64 @@ public interface ISaleControllerDocs {
     )
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.CREATED)
-    SaleResponse create(
+    CompletableFuture<SaleResponse> create(
             @Valid @org.springframework.web.bind.annotation.RequestBody SaleRequest request,
             @NotNull @Positive @RequestHeader(value = "X-User-Id", required = true) String userIdHeader
     );
 
+    @Operation(
+            summary = "Cria várias vendas em uma única requisição",
+            description = """
+                    Registra até 500 vendas de uma vez (ex.: integrações de PDV).  
+                    Cada item é validado isoladamente: itens inválidos ou com produto inexistente
+                    são devolvidos com o erro, sem impedir a gravação dos demais.  
+                    O cabeçalho `X-User-Id` é obrigatório e vale para todos os itens.
+                    """,
+            requestBody = @RequestBody(
+                    required = true,
+                    description = "Lista de vendas a serem criadas.",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            array = @ArraySchema(schema = @Schema(implementation = SaleRequest.class))
+                    )
+            ),
+            parameters = {
+                    @Parameter(
+                            name = "X-User-Id",
+                            description = "Identificador do usuário que está realizando as vendas.",
+                            required = true,
+                            in = ParameterIn.HEADER,
+                            example = "10"
+                    )
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Lote processado; o status de cada item (201, 400 ou 404) vem em `items`.",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = SaleBatchResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Lista vazia, com itens nulos ou acima do limite.",
+                            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Erro interno no servidor ou falha ao consultar o serviço de produtos.",
+                            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+                    )
+            }
+    )
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    SaleBatchResponse createBatch(
+            @NotEmpty @Size(max = SaleService.MAX_BATCH_SIZE) @org.springframework.web.bind.annotation.RequestBody List<@NotNull SaleRequest> requests,
+            @NotNull @Positive @RequestHeader(value = "X-User-Id", required = true) String userIdHeader
+    );
+
     @Operation(
             summary = "Lista todas as vendas de um usuário",
             description = "Retorna todas as vendas associadas ao identificador do usuário informado.",
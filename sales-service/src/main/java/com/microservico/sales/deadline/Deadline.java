@@ -0,0 +1,24 @@
+package com.microservico.sales.deadline;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Orçamento de tempo da requisição atual, recebido do gateway em {@link #HEADER}
+ * como milissegundos restantes e convertido em um instante local (nanoTime).
+ */
+public record Deadline(long deadlineNanos) {
+
+    public static final String HEADER = "X-Request-Timeout-Ms";
+
+    public static Deadline afterMillis(long millis) {
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+}
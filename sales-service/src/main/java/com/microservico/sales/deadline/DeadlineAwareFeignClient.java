@@ -0,0 +1,49 @@
+package com.microservico.sales.deadline;
+
+import com.microservico.sales.exceptions.DeadlineExceededException;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decora o {@link Client} do Feign reduzindo os timeouts de conexão e leitura ao tempo
+ * restante do deadline. Se o orçamento já acabou, a chamada nem é feita; se acabar durante
+ * a chamada, o timeout é convertido em {@link DeadlineExceededException}.
+ */
+public class DeadlineAwareFeignClient implements Client {
+
+    private final Client delegate;
+
+    public DeadlineAwareFeignClient(Client delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        Deadline deadline = DeadlineContext.current();
+        if (deadline == null) {
+            return delegate.execute(request, options);
+        }
+
+        long remainingMillis = deadline.remainingMillis();
+        if (remainingMillis <= 0) {
+            throw new DeadlineExceededException("calling " + request.url());
+        }
+
+        Request.Options bounded = new Request.Options(
+                Math.min(options.connectTimeoutMillis(), remainingMillis), TimeUnit.MILLISECONDS,
+                Math.min(options.readTimeoutMillis(), remainingMillis), TimeUnit.MILLISECONDS,
+                options.isFollowRedirects());
+        try {
+            return delegate.execute(request, bounded);
+        } catch (IOException e) {
+            if (deadline.isExpired()) {
+                throw new DeadlineExceededException("receiving a response from " + request.url());
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.microservico.sales.deadline;
+
+import com.microservico.sales.exceptions.DeadlineExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Lê o orçamento enviado pelo gateway e o disponibiliza em {@link DeadlineContext}.
+ * Requisições que chegam com o orçamento esgotado são rejeitadas antes do controller.
+ * Em controllers assíncronos a thread do Tomcat é liberada sem {@code afterCompletion}, então o
+ * contexto é limpo em {@code afterConcurrentHandlingStarted}; no dispatch de retorno o mesmo
+ * deadline é restaurado a partir do atributo da requisição.
+ */
+public class DeadlineInterceptor implements AsyncHandlerInterceptor {
+
+    static final String DEADLINE_ATTRIBUTE = DeadlineInterceptor.class.getName() + ".deadline";
+
+    private static final Logger log = LoggerFactory.getLogger(DeadlineInterceptor.class);
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (request.getAttribute(DEADLINE_ATTRIBUTE) instanceof Deadline deadline) {
+            DeadlineContext.set(deadline);
+            return true;
+        }
+
+        String header = request.getHeader(Deadline.HEADER);
+        if (header == null) {
+            return true;
+        }
+
+        long remainingMillis;
+        try {
+            remainingMillis = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            log.debug("Header {} inválido ignorado: {}", Deadline.HEADER, header);
+            return true;
+        }
+
+        if (remainingMillis <= 0) {
+            throw new DeadlineExceededException("processing the request");
+        }
+        Deadline deadline = Deadline.afterMillis(remainingMillis);
+        request.setAttribute(DEADLINE_ATTRIBUTE, deadline);
+        DeadlineContext.set(deadline);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request,
+                                               @NonNull HttpServletResponse response, @NonNull Object handler) {
+        DeadlineContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        DeadlineContext.clear();
+    }
+}
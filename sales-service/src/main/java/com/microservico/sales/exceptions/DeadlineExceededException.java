@@ -0,0 +1,17 @@
+package com.microservico.sales.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+@ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+public class DeadlineExceededException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public DeadlineExceededException(String operation) {
+        super(String.format("Request deadline exceeded before %s", operation));
+    }
+}
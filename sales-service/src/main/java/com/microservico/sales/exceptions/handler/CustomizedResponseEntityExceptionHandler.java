@@ -1,11 +1,14 @@
 package com.microservico.sales.exceptions.handler;
 
+import com.microservico.sales.exceptions.DeadlineExceededException;
 import com.microservico.sales.exceptions.ExceptionResponse;
 import com.microservico.sales.exceptions.ResourceNotFoundException;
 import io.micrometer.common.lang.NonNull;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -44,6 +47,20 @@ public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExce
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    @ExceptionHandler({DeadlineExceededException.class, TransactionTimedOutException.class,
+            QueryTimeoutException.class})
+    public final ResponseEntity<ExceptionResponse> handlerDeadlineExceptions(Exception ex, WebRequest request) {
+
+        var response = new ExceptionResponse(
+                Instant.now(),
+                HttpStatus.GATEWAY_TIMEOUT.value(),
+                "Deadline exceeded",
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(response);
+    }
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(
             @NonNull MethodArgumentNotValidException ex,
@@ -16,8 +16,12 @@ public class Sale implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
 
+    /** Ids reservados em blocos do tamanho do lote JDBC; IDENTITY impediria inserts em lote. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sales_seq")
+    @SequenceGenerator(name = "sales_seq", sequenceName = "sales_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotNull
@@ -0,0 +1,13 @@
+package com.microservico.sales.models.dtos;
+
+/**
+ * Resultado de um item de {@code POST /sales/batch}, na mesma posição ({@code index}) do pedido.
+ * {@code status} segue o código que o item teria em {@code POST /sales}: 201 com a venda criada,
+ * 400 ou 404 com a mensagem de erro.
+ */
+public record SaleBatchItemResponse(
+        int index,
+        int status,
+        SaleResponse sale,
+        String error) {
+}
@@ -0,0 +1,9 @@
+package com.microservico.sales.models.dtos;
+
+import java.util.List;
+
+public record SaleBatchResponse(
+        int created,
+        int failed,
+        List<SaleBatchItemResponse> items) {
+}
@@ -1,35 +1,63 @@
 package com.microservico.sales.services;
 
-import com.microservico.sales.clients.ProductClient;
+import com.microservico.sales.clients.ProductNearCache;
+import com.microservico.sales.clients.ReactiveProductClient;
+import com.microservico.sales.deadline.Deadline;
+import com.microservico.sales.deadline.DeadlineContext;
 import com.microservico.sales.exceptions.ResourceNotFoundException;
 import com.microservico.sales.models.Sale;
 import com.microservico.sales.models.dtos.ProductResponse;
+import com.microservico.sales.models.dtos.SaleBatchItemResponse;
+import com.microservico.sales.models.dtos.SaleBatchResponse;
 import com.microservico.sales.models.dtos.SaleRequest;
 import com.microservico.sales.models.dtos.SaleResponse;
 import com.microservico.sales.models.mapper.SaleMapper;
 import com.microservico.sales.repositories.SaleRepository;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Validated
 @Service
 public class SaleService {
 
+    /** Limite de itens por chamada de {@code POST /sales/batch}. */
+    public static final int MAX_BATCH_SIZE = 500;
+
     private final SaleRepository repository;
-    private final ProductClient productClient;
+    private final ProductNearCache productCache;
+    private final Validator validator;
+    private final ReactiveProductClient reactiveProductClient;
 
-    public SaleService(SaleRepository repository, ProductClient productClient) {
+    public SaleService(SaleRepository repository, ProductNearCache productCache, Validator validator,
+                       ReactiveProductClient reactiveProductClient) {
         this.repository = repository;
-        this.productClient = productClient;
+        this.productCache = productCache;
+        this.validator = validator;
+        this.reactiveProductClient = reactiveProductClient;
     }
 
     public SaleResponse createSale(@Valid @NotNull SaleRequest saleRequest) {
-        ProductResponse product = productClient.getProductById(saleRequest.getProductId());
+        ProductResponse product = productCache.getProductById(saleRequest.getProductId());
 
         if (Objects.isNull(product)) {
             throw new ResourceNotFoundException(saleRequest.getProductId(), ProductResponse.class.getSimpleName());
@@ -42,10 +70,115 @@ public class SaleService {
         return SaleMapper.toDto(sale);
     }
 
+    /**
+     * Variante de {@link #createSale} que não prende a thread do Tomcat enquanto o product-service
+     * responde: com o {@link ReactiveProductClient} habilitado, a consulta ao produto (quando não está
+     * no near-cache) é não bloqueante e a gravação roda no scheduler de I/O bloqueante, com o mesmo
+     * deadline da requisição. Desabilitado, executa {@link #createSale} e devolve o resultado pronto.
+     */
+    public CompletableFuture<SaleResponse> createSaleAsync(@Valid @NotNull SaleRequest saleRequest) {
+        if (!reactiveProductClient.isEnabled()) {
+            return CompletableFuture.completedFuture(createSale(saleRequest));
+        }
+
+        Long productId = saleRequest.getProductId();
+        Deadline deadline = DeadlineContext.current();
+        Optional<ProductResponse> cached = productCache.getIfPresent(productId);
+
+        Mono<Optional<ProductResponse>> product = cached != null
+                ? Mono.just(cached)
+                : reactiveProductClient.getProductById(productId)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .doOnNext(found -> productCache.put(productId, found.orElse(null)));
+
+        return product
+                .publishOn(Schedulers.boundedElastic())
+                .map(found -> {
+                    if (found.isEmpty()) {
+                        throw new ResourceNotFoundException(productId, ProductResponse.class.getSimpleName());
+                    }
+                    return saveWithDeadline(saleRequest, deadline);
+                })
+                .toFuture();
+    }
+
+    /**
+     * Registra as vendas de uma rajada (ex.: integração de PDV). Cada item é validado isoladamente
+     * e falha sozinho; os produtos distintos são resolvidos de uma vez e as vendas válidas são
+     * gravadas em uma única transação, com inserts em lote JDBC.
+     */
+    public SaleBatchResponse createSales(@NotNull @Positive Long userId,
+                                         @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@NotNull SaleRequest> requests) {
+        SaleBatchItemResponse[] items = new SaleBatchItemResponse[requests.size()];
+        List<Integer> valid = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            SaleRequest request = requests.get(i);
+            request.setUserId(userId);
+            Set<ConstraintViolation<SaleRequest>> violations = validator.validate(request);
+            if (violations.isEmpty()) {
+                valid.add(i);
+            } else {
+                items[i] = failure(i, HttpStatus.BAD_REQUEST, describe(violations));
+            }
+        }
+
+        Map<Long, ProductResponse> products = valid.isEmpty()
+                ? Map.of()
+                : productCache.getProductsByIds(valid.stream().map(i -> requests.get(i).getProductId()).toList());
+
+        List<Sale> sales = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i : valid) {
+            Long productId = requests.get(i).getProductId();
+            if (!products.containsKey(productId)) {
+                items[i] = failure(i, HttpStatus.NOT_FOUND,
+                        new ResourceNotFoundException(productId, ProductResponse.class.getSimpleName()).getMessage());
+                continue;
+            }
+            sales.add(SaleMapper.toEntity(requests.get(i)));
+            positions.add(i);
+        }
+
+        if (!sales.isEmpty()) {
+            repository.saveAll(sales);
+        }
+
+        for (int k = 0; k < sales.size(); k++) {
+            int index = positions.get(k);
+            items[index] = new SaleBatchItemResponse(index, HttpStatus.CREATED.value(), SaleMapper.toDto(sales.get(k)), null);
+        }
+
+        return new SaleBatchResponse(sales.size(), requests.size() - sales.size(), Arrays.asList(items));
+    }
+
     public List<SaleResponse> listByUser(Long userId) {
         return repository.findByUserId(userId)
                 .stream()
                 .map(SaleMapper::toDto)
                 .toList();
     }
+
+    private SaleResponse saveWithDeadline(SaleRequest saleRequest, Deadline deadline) {
+        DeadlineContext.set(deadline);
+        try {
+            Sale sale = SaleMapper.toEntity(saleRequest);
+            repository.save(Objects.requireNonNull(sale));
+            return SaleMapper.toDto(sale);
+        } finally {
+            DeadlineContext.clear();
+        }
+    }
+
+    private static SaleBatchItemResponse failure(int index, HttpStatus status, String error) {
+        return new SaleBatchItemResponse(index, status.value(), null, error);
+    }
+
+    private static String describe(Set<ConstraintViolation<SaleRequest>> violations) {
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
 }
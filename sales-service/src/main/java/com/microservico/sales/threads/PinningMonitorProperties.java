@@ -0,0 +1,23 @@
+package com.microservico.sales.threads;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @param threshold   bloqueios presos à carrier mais curtos que isto são ignorados
+ * @param stackDepth  quantidade de frames da pilha incluídos no log
+ * @param logInterval cada ponto de código é registrado em log no máximo uma vez por intervalo
+ */
+@ConfigurationProperties(prefix = "virtual-threads.pinning")
+public record PinningMonitorProperties(
+        Duration threshold,
+        int stackDepth,
+        Duration logInterval) {
+
+    public PinningMonitorProperties {
+        if (threshold == null || threshold.isNegative()) threshold = Duration.ofMillis(20);
+        if (stackDepth <= 0) stackDepth = 8;
+        if (logInterval == null || logInterval.isNegative()) logInterval = Duration.ofMinutes(1);
+    }
+}
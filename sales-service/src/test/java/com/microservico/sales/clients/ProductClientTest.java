@@ -11,6 +11,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -97,4 +99,24 @@ class ProductClientTest {
             assertThat(ex.getMessage()).contains("Internal Server Error");
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve buscar vários produtos em uma única requisição GET /products?ids=")
+    void shouldReturnProducts_WhenSearchingByIds() {
+        // Arrange
+        WireMock.stubFor(WireMock.get(WireMock.urlEqualTo("/products?ids=1&ids=2"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("""
+                                [{ "id": 1, "name": "Teclado Mecânico", "price": 250.50 }]
+                                """)
+                        .withStatus(200)));
+
+        // Act
+        List<ProductResponse> response = productClient.getProductsByIds(List.of(1L, 2L));
+
+        // Assert
+        assertThat(response).extracting(ProductResponse::id).containsExactly(1L);
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/products")));
+    }
+}
@@ -0,0 +1,180 @@
+package com.microservico.sales.clients;
+
+import com.microservico.sales.models.dtos.ProductResponse;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ProductNearCacheTest {
+
+    @Mock
+    private ProductClient productClient;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ProductResponse keyboard = new ProductResponse(10L, "Teclado", 199.99);
+
+    private ProductNearCache cache;
+
+    @BeforeEach
+    void setUp() {
+        ProductCacheProperties properties = new ProductCacheProperties(true, 100,
+                Duration.ofSeconds(60), Duration.ofSeconds(45), Duration.ofSeconds(10));
+        // Relógio controlado e refresh síncrono para tornar o teste determinístico
+        cache = new ProductNearCache(productClient, properties, registry, nanos::get, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Deve consultar o product-service apenas uma vez para o mesmo produto")
+    void shouldServeRepeatedLookupsFromCache() {
+        given(productClient.getProductById(10L)).willReturn(keyboard);
+
+        assertThat(cache.getProductById(10L)).isEqualTo(keyboard);
+        assertThat(cache.getProductById(10L)).isEqualTo(keyboard);
+
+        verify(productClient, times(1)).getProductById(10L);
+        assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("sales.product.cache.load").tag("result", "found").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve recarregar em background produtos lidos após o refresh-after, sem bloquear a leitura")
+    void shouldRefreshHotEntriesAhead() {
+        ProductResponse repriced = new ProductResponse(10L, "Teclado", 179.99);
+        given(productClient.getProductById(10L)).willReturn(keyboard, repriced);
+        // Executor drenado manualmente: o refresh só roda quando o teste manda
+        Queue<Runnable> background = new ArrayDeque<>();
+        ProductNearCache refreshing = new ProductNearCache(productClient, new ProductCacheProperties(true, 100,
+                Duration.ofSeconds(60), Duration.ofSeconds(45), Duration.ofSeconds(10)),
+                new SimpleMeterRegistry(), nanos::get, background::add);
+
+        refreshing.getProductById(10L);
+        drain(background);
+        advance(Duration.ofSeconds(50));
+
+        // Devolve o valor atual e apenas agenda o refresh
+        assertThat(refreshing.getProductById(10L)).isEqualTo(keyboard);
+        verify(productClient, times(1)).getProductById(10L);
+
+        drain(background);
+        assertThat(refreshing.getProductById(10L)).isEqualTo(repriced);
+        verify(productClient, times(2)).getProductById(10L);
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o TTL máximo para produtos que não foram lidos")
+    void shouldExpireAfterTtl() {
+        given(productClient.getProductById(10L)).willReturn(keyboard);
+
+        cache.getProductById(10L);
+        advance(Duration.ofSeconds(61));
+        cache.getProductById(10L);
+
+        verify(productClient, times(2)).getProductById(10L);
+    }
+
+    @Test
+    @DisplayName("Deve guardar 404 como ausência pelo negative-ttl")
+    void shouldCacheNotFoundForNegativeTtl() {
+        given(productClient.getProductById(99L)).willThrow(notFound(99L));
+
+        assertThat(cache.getProductById(99L)).isNull();
+        assertThat(cache.getProductById(99L)).isNull();
+        verify(productClient, times(1)).getProductById(99L);
+
+        advance(Duration.ofSeconds(11));
+        assertThat(cache.getProductById(99L)).isNull();
+        verify(productClient, times(2)).getProductById(99L);
+        assertThat(registry.get("sales.product.cache.load").tag("result", "not_found").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Não deve guardar falhas de comunicação com o product-service")
+    void shouldNotCacheFailures() {
+        given(productClient.getProductById(10L))
+                .willThrow(new IllegalStateException("product-service indisponível"))
+                .willReturn(keyboard);
+
+        assertThrows(IllegalStateException.class, () -> cache.getProductById(10L));
+        assertThat(cache.getProductById(10L)).isEqualTo(keyboard);
+        verify(productClient, times(2)).getProductById(10L);
+    }
+
+    @Test
+    @DisplayName("Deve buscar em uma única chamada apenas os produtos fora do cache e guardar os inexistentes")
+    void shouldLoadMissingProductsInOneBatch() {
+        ProductResponse mouse = new ProductResponse(20L, "Mouse", 89.90);
+        given(productClient.getProductById(10L)).willReturn(keyboard);
+        given(productClient.getProductsByIds(List.of(20L, 99L))).willReturn(List.of(mouse));
+
+        cache.getProductById(10L);
+        Map<Long, ProductResponse> products = cache.getProductsByIds(List.of(10L, 20L, 99L, 20L));
+
+        assertThat(products).containsOnly(Map.entry(10L, keyboard), Map.entry(20L, mouse));
+        verify(productClient, times(1)).getProductsByIds(List.of(20L, 99L));
+
+        // Tudo em cache, inclusive a ausência do 99
+        assertThat(cache.getProductsByIds(List.of(10L, 20L, 99L))).hasSize(2);
+        assertThat(cache.getProductById(99L)).isNull();
+        verify(productClient, times(1)).getProductsByIds(List.of(20L, 99L));
+        verify(productClient, times(1)).getProductById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve dividir buscas maiores que o limite do product-service em várias chamadas")
+    void shouldSplitLargeBatches() {
+        List<Long> ids = LongStream.rangeClosed(1, 150).boxed().toList();
+        given(productClient.getProductsByIds(ids.subList(0, 100))).willReturn(List.of());
+        given(productClient.getProductsByIds(ids.subList(100, 150))).willReturn(List.of());
+
+        assertThat(cache.getProductsByIds(ids)).isEmpty();
+
+        verify(productClient).getProductsByIds(ids.subList(0, 100));
+        verify(productClient).getProductsByIds(ids.subList(100, 150));
+        verify(productClient, never()).getProductById(anyLong());
+    }
+
+    private static void drain(Queue<Runnable> tasks) {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private static FeignException notFound(Long id) {
+        Request request = Request.create(Request.HttpMethod.GET, "http://product-service/products/" + id,
+                Map.of(), null, StandardCharsets.UTF_8, null);
+        return FeignException.errorStatus("ProductClient#getProductById(Long)",
+                Response.builder().status(404).reason("Not Found").request(request).headers(Map.of()).build());
+    }
+}
@@ -0,0 +1,137 @@
+package com.microservico.sales.clients;
+
+import com.microservico.sales.deadline.Deadline;
+import com.microservico.sales.deadline.DeadlineContext;
+import com.microservico.sales.exceptions.DeadlineExceededException;
+import com.microservico.sales.exceptions.ProductServiceCommunicationException;
+import com.microservico.sales.models.dtos.ProductResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cliente reativo contra um product-service local (Reactor Netty) que simula 404, falhas
+ * transitórias e respostas lentas.
+ */
+class ReactiveProductClientTest {
+
+    private final AtomicInteger flakyCalls = new AtomicInteger();
+    private final Queue<String> receivedDeadlines = new ConcurrentLinkedQueue<>();
+
+    private DisposableServer server;
+    private ReactiveProductClient client;
+
+    @BeforeEach
+    void startService() {
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes
+                        .get("/products/1", (request, response) -> {
+                            receivedDeadlines.add(String.valueOf(request.requestHeaders().get(Deadline.HEADER)));
+                            return json(response, "{\"id\":1,\"name\":\"Teclado\",\"price\":199.99}");
+                        })
+                        .get("/products/2", (request, response) -> flakyCalls.incrementAndGet() < 3
+                                ? response.status(HttpResponseStatus.SERVICE_UNAVAILABLE).send()
+                                : json(response, "{\"id\":2,\"name\":\"Mouse\",\"price\":89.9}"))
+                        .get("/products/3", (request, response) ->
+                                Mono.delay(Duration.ofSeconds(2)).then(json(response, "{\"id\":3}")))
+                        .get("/products/4", (request, response) -> {
+                            flakyCalls.incrementAndGet();
+                            return response.status(HttpResponseStatus.INTERNAL_SERVER_ERROR).send();
+                        })
+                        .get("/products/99", (request, response) -> response.status(HttpResponseStatus.NOT_FOUND).send()))
+                .bindNow();
+
+        client = new ReactiveProductClient(WebClient.builder(), new ReactiveProductClientProperties(true,
+                "http://127.0.0.1:" + server.port(), null, Duration.ofMillis(300), 2, Duration.ofMillis(10),
+                10, 0, null, null));
+    }
+
+    @AfterEach
+    void stop() {
+        DeadlineContext.clear();
+        client.stop();
+        server.disposeNow();
+    }
+
+    @Test
+    @DisplayName("Deve devolver o produto e tratar 404 como ausência")
+    void shouldReturnProductOrEmpty() {
+        StepVerifier.create(client.getProductById(1L))
+                .expectNext(new ProductResponse(1L, "Teclado", 199.99))
+                .verifyComplete();
+        StepVerifier.create(client.getProductById(99L)).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Deve tentar de novo falhas transitórias até o limite configurado")
+    void shouldRetryTransientFailures() {
+        StepVerifier.create(client.getProductById(2L))
+                .expectNextMatches(product -> product.id() == 2L)
+                .verifyComplete();
+        assertThat(flakyCalls.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Não deve repetir erros não transitórios e deve encapsulá-los")
+    void shouldNotRetryServerErrors() {
+        StepVerifier.create(client.getProductById(4L))
+                .expectError(ProductServiceCommunicationException.class)
+                .verify(Duration.ofSeconds(5));
+        assertThat(flakyCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve falhar após o timeout de resposta de cada tentativa")
+    void shouldTimeOutSlowResponses() {
+        StepVerifier.create(client.getProductById(3L))
+                .expectError(ProductServiceCommunicationException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Deve repassar o deadline capturado na chamada e respeitá-lo entre as tentativas")
+    void shouldPropagateAndEnforceDeadline() {
+        // Aquece o pool para que o custo da primeira conexão não consuma o orçamento
+        client.getProductById(1L).block(Duration.ofSeconds(5));
+        receivedDeadlines.clear();
+
+        DeadlineContext.set(Deadline.afterMillis(5000));
+        Mono<ProductResponse> found = client.getProductById(1L);
+        DeadlineContext.clear();
+
+        StepVerifier.create(found).expectNextCount(1).verifyComplete();
+        assertThat(Long.parseLong(receivedDeadlines.peek())).isBetween(1L, 5000L);
+
+        DeadlineContext.set(Deadline.afterMillis(150));
+        Mono<ProductResponse> slow = client.getProductById(3L);
+        DeadlineContext.clear();
+
+        // 150 ms vence antes do timeout de 300 ms da tentativa: quem corta é o deadline
+        StepVerifier.create(slow)
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(DeadlineExceededException.class)
+                        .hasMessageContaining("receiving a response"))
+                .verify(Duration.ofSeconds(5));
+    }
+
+    private static Mono<Void> json(HttpServerResponse response, String body) {
+        return response.header("Content-Type", "application/json").sendString(Mono.just(body)).then();
+    }
+}
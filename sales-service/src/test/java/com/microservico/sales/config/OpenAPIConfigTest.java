@@ -10,6 +10,7 @@ import org.springframework.context.annotation.Bean;
 
 import static io.restassured.RestAssured.given;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
 
 @SpringBootTest(
         webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
@@ -26,7 +27,7 @@ class OpenAPIConfigTest {
     static class StubConfig {
         @Bean
         ProductClient productClient() {
-            return id -> null; // implementação mínima apenas para satisfazer o contexto
+            return mock(ProductClient.class); // implementação mínima apenas para satisfazer o contexto
         }
     }
 
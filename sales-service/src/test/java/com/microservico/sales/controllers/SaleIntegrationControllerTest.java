@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.microservico.sales.clients.ProductClient;
 import com.microservico.sales.models.dtos.ProductResponse;
+import com.microservico.sales.models.dtos.SaleBatchResponse;
 import com.microservico.sales.models.dtos.SaleRequest;
 import com.microservico.sales.models.dtos.SaleResponse;
 import io.restassured.builder.RequestSpecBuilder;
@@ -151,6 +152,55 @@ class SaleIntegrationControllerTest {
                 .statusCode(400);
     }
 
+    @Test
+    @DisplayName("IntegrationTest — Should create a batch of sales and report each item")
+    void testD_CreateSalesBatch_ShouldReturnPerItemResults() throws JsonProcessingException {
+        // O produto 1 pode já estar no near-cache; o lote busca apenas os que faltam
+        when(productClient.getProductsByIds(Mockito.anyCollection()))
+                .thenReturn(List.of(new ProductResponse(1L, "Mocked Product", 100.0)));
+
+        List<SaleRequest> requests = List.of(
+                new SaleRequest(1L, null, 2),
+                new SaleRequest(3L, null, 1),
+                new SaleRequest(1L, null, 5));
+
+        String content = given()
+                .spec(specification)
+                .header("X-User-Id", "20")
+                .contentType("application/json")
+                .body(requests)
+                .when()
+                .post("/batch")
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .asString();
+
+        SaleBatchResponse response = objectMapper.readValue(content, SaleBatchResponse.class);
+
+        assertEquals(2, response.created());
+        assertEquals(1, response.failed());
+        assertEquals(201, response.items().get(0).status());
+        assertEquals(404, response.items().get(1).status());
+        assertTrue(response.items().get(2).sale().id() > 0);
+        assertEquals(20L, response.items().get(2).sale().userId());
+    }
+
+    @Test
+    @DisplayName("IntegrationTest — Should return 400 Bad Request for an empty batch")
+    void testE_CreateEmptyBatch_ShouldReturnBadRequest() {
+        given()
+                .spec(specification)
+                .header("X-User-Id", "20")
+                .contentType("application/json")
+                .body("[]")
+                .when()
+                .post("/batch")
+                .then()
+                .statusCode(400);
+    }
+
     @TestConfiguration
     static class MockConfig {
         @Bean
@@ -0,0 +1,97 @@
+package com.microservico.sales.deadline;
+
+import com.microservico.sales.exceptions.DeadlineExceededException;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DeadlineAwareFeignClientTest {
+
+    private static final Request.Options DEFAULT_OPTIONS =
+            new Request.Options(10, TimeUnit.SECONDS, 60, TimeUnit.SECONDS, true);
+
+    private final AtomicReference<Request.Options> used = new AtomicReference<>();
+
+    @AfterEach
+    void tearDown() {
+        DeadlineContext.clear();
+    }
+
+    @Test
+    @DisplayName("Deve limitar os timeouts do Feign ao orçamento restante")
+    void shouldBoundTimeoutsToRemainingBudget() throws Exception {
+        DeadlineContext.set(Deadline.afterMillis(800));
+        Client client = new DeadlineAwareFeignClient(recording());
+
+        client.execute(request(), DEFAULT_OPTIONS);
+
+        assertThat(used.get().readTimeoutMillis()).isBetween(1, 800);
+        assertThat(used.get().connectTimeoutMillis()).isBetween(1, 800);
+        assertThat(used.get().isFollowRedirects()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve manter os timeouts configurados quando não houver deadline")
+    void shouldKeepOptionsWithoutDeadline() throws Exception {
+        Client client = new DeadlineAwareFeignClient(recording());
+
+        client.execute(request(), DEFAULT_OPTIONS);
+
+        assertThat(used.get()).isSameAs(DEFAULT_OPTIONS);
+    }
+
+    @Test
+    @DisplayName("Não deve chamar o product-service com o orçamento esgotado")
+    void shouldNotCallWhenExpired() {
+        DeadlineContext.set(new Deadline(System.nanoTime() - 1));
+        Client client = new DeadlineAwareFeignClient(recording());
+
+        assertThrows(DeadlineExceededException.class, () -> client.execute(request(), DEFAULT_OPTIONS));
+        assertThat(used.get()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve converter o timeout de leitura em DeadlineExceededException quando o orçamento acabar")
+    void shouldTranslateTimeoutAfterDeadline() {
+        DeadlineContext.set(Deadline.afterMillis(20));
+        Client client = new DeadlineAwareFeignClient((request, options) -> {
+            try {
+                Thread.sleep(options.readTimeoutMillis() + 10L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new SocketTimeoutException("Read timed out");
+        });
+
+        assertThrows(DeadlineExceededException.class, () -> client.execute(request(), DEFAULT_OPTIONS));
+    }
+
+    private Client recording() {
+        return (request, options) -> {
+            used.set(options);
+            return Response.builder()
+                    .status(200)
+                    .request(request)
+                    .headers(Map.of())
+                    .body("{}", StandardCharsets.UTF_8)
+                    .build();
+        };
+    }
+
+    private static Request request() {
+        return Request.create(Request.HttpMethod.GET, "http://product-service/products/1",
+                Map.of(), null, StandardCharsets.UTF_8, null);
+    }
+}
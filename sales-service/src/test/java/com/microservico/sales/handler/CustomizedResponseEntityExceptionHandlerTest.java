@@ -1,5 +1,6 @@
 package com.microservico.sales.handler;
 
+import com.microservico.sales.exceptions.DeadlineExceededException;
 import com.microservico.sales.exceptions.ExceptionResponse;
 import com.microservico.sales.exceptions.ResourceNotFoundException;
 import com.microservico.sales.exceptions.handler.CustomizedResponseEntityExceptionHandler;
@@ -55,4 +56,21 @@ class CustomizedResponseEntityExceptionHandlerTest {
         assertThat(Objects.requireNonNull(response.getBody()).message()).isEqualTo("Product not found with id: 1");
         assertThat(response.getBody().error()).isEqualTo("Resource not found");
     }
-}
\ No newline at end of file
+
+    @Test
+    void handlerDeadlineExceptions_ShouldReturnGatewayTimeout() {
+        // Arrange
+        var ex = new DeadlineExceededException("calling product-service");
+        var request = new ServletWebRequest(new MockHttpServletRequest());
+
+        // Act
+        var response = handler.handlerDeadlineExceptions(ex, request);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(Objects.requireNonNull(response.getBody()).message())
+                .isEqualTo("Request deadline exceeded before calling product-service");
+        assertThat(response.getBody().error()).isEqualTo("Deadline exceeded");
+    }
+}
@@ -0,0 +1,120 @@
+package com.microservico.sales.repositories;
+
+import com.microservico.sales.models.Sale;
+import com.microservico.sales.services.SaleService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Gravação de vendas uma a uma, cada uma em sua transação (caminho de {@code POST /sales}),
+ * contra lotes de {@link SaleService#MAX_BATCH_SIZE} gravados com {@code saveAll} (caminho de
+ * {@code POST /sales/batch}). A contagem de statements JDBC roda no build padrão; a comparação
+ * de linhas por segundo é um teste de carga ({@code mvn test -Dgroups=load -Dtests.excluded-groups=}).
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SaleBatchInsertTest {
+
+    private static final int ROWS = 2_000;
+
+    @Autowired
+    private SaleRepository repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAllInBatch();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Inserts em lote devem preparar muito menos statements que o caminho unitário")
+    void batchInsertsShouldPrepareFewerStatements() {
+        Run single = insertOneByOne();
+        Run batch = insertInBatches();
+
+        assertThat(repository.count()).isEqualTo(2L * ROWS);
+        assertThat(single.statements()).isGreaterThanOrEqualTo(ROWS);
+        // Um insert preparado por lote JDBC de 50 linhas e uma chamada à sequence por bloco de ids
+        assertThat(batch.statements()).isLessThanOrEqualTo(2L * ROWS / Sale.ID_ALLOCATION_SIZE + 10);
+    }
+
+    @Test
+    @Tag("load")
+    @DisplayName("Inserts em lote devem gravar mais linhas por segundo que o caminho unitário")
+    void batchInsertsShouldOutperformSingleItemPath() {
+        // Aquecimento do Hibernate e do H2 antes das medições
+        repository.saveAll(sales(200));
+        repository.deleteAllInBatch();
+
+        Run single = insertOneByOne();
+        Run batch = insertInBatches();
+
+        assertThat(batch.rowsPerSecond()).isGreaterThan(single.rowsPerSecond());
+    }
+
+    private Run insertOneByOne() {
+        statistics.clear();
+        long start = System.nanoTime();
+        for (Sale sale : sales(ROWS)) {
+            repository.save(sale);
+        }
+        return new Run(System.nanoTime() - start, statistics.getPrepareStatementCount());
+    }
+
+    private Run insertInBatches() {
+        List<Sale> sales = sales(ROWS);
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int from = 0; from < ROWS; from += SaleService.MAX_BATCH_SIZE) {
+            repository.saveAll(sales.subList(from, Math.min(ROWS, from + SaleService.MAX_BATCH_SIZE)));
+        }
+        return new Run(System.nanoTime() - start, statistics.getPrepareStatementCount());
+    }
+
+    private static List<Sale> sales(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new Sale(1L + i % 20, 1L + i % 7, 1 + i % 5))
+                .toList();
+    }
+
+    private record Run(long elapsedNanos, long statements) {
+
+        double rowsPerSecond() {
+            return ROWS * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+    }
+}
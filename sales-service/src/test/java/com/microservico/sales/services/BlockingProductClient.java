@@ -0,0 +1,46 @@
+package com.microservico.sales.services;
+
+import com.microservico.sales.clients.ProductClient;
+import com.microservico.sales.models.dtos.ProductResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Faz o papel do Feign nos testes de carga: a thread chamadora fica bloqueada até a resposta
+ * do product-service local chegar.
+ */
+class BlockingProductClient implements ProductClient {
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final String baseUrl;
+
+    BlockingProductClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    @Override
+    public ProductResponse getProductById(Long id) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/products/" + id)).build();
+        try {
+            http.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return new ProductResponse(id, "Produto", 10.0);
+    }
+
+    @Override
+    public List<ProductResponse> getProductsByIds(Collection<Long> ids) {
+        return ids.stream().map(this::getProductById).toList();
+    }
+}
@@ -0,0 +1,134 @@
+package com.microservico.sales.services;
+
+import com.microservico.sales.clients.ProductCacheProperties;
+import com.microservico.sales.clients.ProductClient;
+import com.microservico.sales.clients.ProductNearCache;
+import com.microservico.sales.clients.ReactiveProductClient;
+import com.microservico.sales.clients.ReactiveProductClientProperties;
+import com.microservico.sales.models.Sale;
+import com.microservico.sales.models.dtos.SaleRequest;
+import com.microservico.sales.models.dtos.SaleResponse;
+import com.microservico.sales.repositories.SaleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Benchmark de vazão de {@code POST /sales} com um product-service local lento (50ms por consulta)
+ * e 20 threads no papel do pool do Tomcat: o caminho bloqueante (Feign) segura a thread durante toda
+ * a consulta, o assíncrono devolve a thread assim que a chamada reativa é disparada.
+ * Fora do build padrão; execute com {@code mvn test -Dgroups=load -Dtests.excluded-groups=}.
+ */
+@Tag("load")
+class SaleServiceAsyncLoadTest {
+
+    private static final Duration PRODUCT_LATENCY = Duration.ofMillis(50);
+    private static final int REQUEST_THREADS = 20;
+    private static final int SALES = 600;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final SaleRepository repository = mock(SaleRepository.class, withSettings().stubOnly());
+
+    private DisposableServer productService;
+    private ReactiveProductClient reactiveClient;
+    private ExecutorService requestThreads;
+
+    @BeforeEach
+    void setUp() {
+        productService = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes.get("/products/{id}", (request, response) -> Mono.delay(PRODUCT_LATENCY)
+                        .then(response.header("Content-Type", "application/json")
+                                .sendString(Mono.just("{\"id\":" + request.param("id") + ",\"name\":\"Produto\",\"price\":10.0}"))
+                                .then())))
+                .bindNow();
+
+        reactiveClient = new ReactiveProductClient(WebClient.builder(), new ReactiveProductClientProperties(true,
+                baseUrl(), null, null, 0, null, 200, 0, null, null));
+        requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+        given(repository.save(any(Sale.class))).willAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        requestThreads.shutdownNow();
+        reactiveClient.stop();
+        productService.disposeNow();
+    }
+
+    @Test
+    @DisplayName("O modo assíncrono deve criar mais vendas por segundo com o mesmo número de threads")
+    void asyncCreateSaleShouldOutperformBlockingPath() throws Exception {
+        SaleService blocking = service(new BlockingProductClient(baseUrl()), disabled());
+        SaleService async = service(new BlockingProductClient(baseUrl()), reactiveClient);
+
+        // Aquecimento das conexões e do JIT
+        run(request -> CompletableFuture.completedFuture(blocking.createSale(request)), 100);
+        run(async::createSaleAsync, 100);
+
+        double blockingRate = run(request -> CompletableFuture.completedFuture(blocking.createSale(request)), SALES);
+        double asyncRate = run(async::createSaleAsync, SALES);
+
+        // Bloqueante: no máximo uma consulta em andamento por thread
+        assertThat(blockingRate).isLessThanOrEqualTo(REQUEST_THREADS * 1000.0 / PRODUCT_LATENCY.toMillis());
+        assertThat(asyncRate).isGreaterThan(blockingRate * 3);
+    }
+
+    /**
+     * @return vendas por segundo
+     */
+    private double run(Function<SaleRequest, CompletableFuture<SaleResponse>> createSale, int sales) throws Exception {
+        long start = System.nanoTime();
+        List<Future<CompletableFuture<SaleResponse>>> accepted = new ArrayList<>();
+        for (int i = 0; i < sales; i++) {
+            SaleRequest request = new SaleRequest(1L + i, 7L, 1);
+            accepted.add(requestThreads.submit(() -> createSale.apply(request)));
+        }
+        for (Future<CompletableFuture<SaleResponse>> future : accepted) {
+            assertThat(future.get(30, TimeUnit.SECONDS).get(30, TimeUnit.SECONDS).productId()).isPositive();
+        }
+        return sales * (double) TimeUnit.SECONDS.toNanos(1) / (System.nanoTime() - start);
+    }
+
+    private SaleService service(ProductClient productClient, ReactiveProductClient reactive) {
+        ProductNearCache uncached = new ProductNearCache(productClient,
+                new ProductCacheProperties(false, 0, null, null, null), new SimpleMeterRegistry(), Runnable::run);
+        return new SaleService(repository, uncached, validator, reactive);
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + productService.port();
+    }
+
+    private ReactiveProductClient disabled() {
+        ReactiveProductClient client = mock(ReactiveProductClient.class);
+        given(client.isEnabled()).willReturn(false);
+        return client;
+    }
+}
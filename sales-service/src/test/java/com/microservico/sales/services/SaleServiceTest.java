@@ -1,12 +1,21 @@
 package com.microservico.sales.services;
 
+import com.microservico.sales.clients.ProductCacheProperties;
 import com.microservico.sales.clients.ProductClient;
+import com.microservico.sales.clients.ProductNearCache;
+import com.microservico.sales.clients.ReactiveProductClient;
 import com.microservico.sales.exceptions.ResourceNotFoundException;
 import com.microservico.sales.models.Sale;
 import com.microservico.sales.models.dtos.ProductResponse;
+import com.microservico.sales.models.dtos.SaleBatchItemResponse;
+import com.microservico.sales.models.dtos.SaleBatchResponse;
 import com.microservico.sales.models.dtos.SaleRequest;
 import com.microservico.sales.models.dtos.SaleResponse;
 import com.microservico.sales.repositories.SaleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,38 +24,60 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class SaleServiceTest {
+    private static Validator validator;
+
     @Mock
     private SaleRepository repository;
 
     @Mock
     private ProductClient productClient;
 
+    @Mock
+    private ReactiveProductClient reactiveProductClient;
+
     @Captor
     private ArgumentCaptor<Sale> saleCaptor;
 
+    private ProductNearCache productCache;
+
     private SaleService service;
 
     private SaleRequest request;
     private Sale saleEntity;
     private ProductResponse productResponse;
 
+    @Captor
+    private ArgumentCaptor<List<Sale>> salesCaptor;
+
+    @BeforeAll
+    static void setUpValidator() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
     @BeforeEach
     void setUp() {
-        service = new SaleService(repository, productClient);
+        productCache = new ProductNearCache(productClient,
+                new ProductCacheProperties(true, 0, null, null, null), new SimpleMeterRegistry(), Runnable::run);
+        service = new SaleService(repository, productCache, validator, reactiveProductClient);
 
         request = new SaleRequest();
         request.setProductId(10L);
@@ -104,13 +135,29 @@ class SaleServiceTest {
         verify(repository, never()).save(any(Sale.class));
     }
 
+    @DisplayName("Should reuse the cached product when creating consecutive sales")
+    @Test
+    void testCreateSale_WhenSameProductTwice_ShouldCallProductServiceOnce() {
+        // Given
+        given(productClient.getProductById(10L)).willReturn(productResponse);
+        given(repository.save(any(Sale.class))).willReturn(saleEntity);
+
+        // When
+        service.createSale(request);
+        service.createSale(request);
+
+        // Then
+        verify(productClient, times(1)).getProductById(10L);
+        verify(repository, times(2)).save(any(Sale.class));
+    }
+
     @DisplayName("Should throw NullPointerException when SaleMapper returns null")
     @Test
     void testCreateSale_WhenMapperReturnsNull_ShouldThrowNullPointerException() {
         // Given
         lenient().when(productClient.getProductById(10L)).thenReturn(productResponse);
 
-        SaleService faultyService = new SaleService(repository, productClient) {
+        SaleService faultyService = new SaleService(repository, productCache, validator, reactiveProductClient) {
             @Override
             public SaleResponse createSale(SaleRequest req) {
                 Sale sale = null; // simula erro do mapper
@@ -144,6 +191,105 @@ class SaleServiceTest {
         assertThat(captured.getQuantity()).isEqualTo(3);
     }
 
+    @DisplayName("Should run the blocking path when the reactive product client is disabled")
+    @Test
+    void testCreateSaleAsync_WhenReactiveClientDisabled_ShouldReturnCompletedFuture() {
+        // Given
+        given(productClient.getProductById(10L)).willReturn(productResponse);
+
+        // When
+        CompletableFuture<SaleResponse> future = service.createSaleAsync(request);
+
+        // Then
+        assertThat(future).isCompleted();
+        assertThat(future.join().productId()).isEqualTo(10L);
+        verify(reactiveProductClient, never()).getProductById(anyLong());
+        verify(repository).save(any(Sale.class));
+    }
+
+    @DisplayName("Should check the product through the reactive client and persist off the calling thread")
+    @Test
+    void testCreateSaleAsync_WhenReactiveClientEnabled_ShouldComposeProductCheck() throws Exception {
+        // Given
+        given(reactiveProductClient.isEnabled()).willReturn(true);
+        given(reactiveProductClient.getProductById(10L)).willReturn(Mono.just(productResponse));
+        Thread caller = Thread.currentThread();
+        given(repository.save(any(Sale.class))).willAnswer(invocation -> {
+            assertThat(Thread.currentThread()).isNotSameAs(caller);
+            return invocation.getArgument(0);
+        });
+
+        // When
+        SaleResponse response = service.createSaleAsync(request).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(response.productId()).isEqualTo(10L);
+        assertThat(response.userId()).isEqualTo(5L);
+        verify(productClient, never()).getProductById(anyLong());
+    }
+
+    @DisplayName("Should complete exceptionally with ResourceNotFoundException when the reactive client finds no product")
+    @Test
+    void testCreateSaleAsync_WhenProductNotFound_ShouldFailFuture() {
+        // Given
+        given(reactiveProductClient.isEnabled()).willReturn(true);
+        given(reactiveProductClient.getProductById(10L)).willReturn(Mono.empty());
+
+        // When
+        CompletableFuture<SaleResponse> future = service.createSaleAsync(request);
+
+        // Then
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertThat(exception.getCause()).isInstanceOf(ResourceNotFoundException.class);
+        verify(repository, never()).save(any(Sale.class));
+    }
+
+    @DisplayName("Should resolve distinct products once and persist valid sales in a single saveAll")
+    @Test
+    void testCreateSales_ShouldReturnPerItemResults() {
+        // Given
+        given(productClient.getProductsByIds(List.of(10L, 99L))).willReturn(List.of(productResponse));
+        given(repository.saveAll(anyList())).willAnswer(invocation -> invocation.getArgument(0));
+
+        List<SaleRequest> requests = List.of(
+                new SaleRequest(10L, null, 1),
+                new SaleRequest(99L, null, 2),
+                new SaleRequest(10L, null, null),
+                new SaleRequest(10L, null, 4));
+
+        // When
+        SaleBatchResponse response = service.createSales(5L, requests);
+
+        // Then
+        assertThat(response.created()).isEqualTo(2);
+        assertThat(response.failed()).isEqualTo(2);
+        assertThat(response.items()).extracting(SaleBatchItemResponse::index).containsExactly(0, 1, 2, 3);
+        assertThat(response.items()).extracting(SaleBatchItemResponse::status).containsExactly(201, 404, 400, 201);
+        assertThat(response.items().get(1).error()).contains("ProductResponse not found with id: 99");
+        assertThat(response.items().get(2).error()).contains("quantity");
+        assertThat(response.items().get(3).sale().quantity()).isEqualTo(4);
+
+        verify(productClient, times(1)).getProductsByIds(List.of(10L, 99L));
+        verify(productClient, never()).getProductById(anyLong());
+        verify(repository, times(1)).saveAll(salesCaptor.capture());
+        assertThat(salesCaptor.getValue()).hasSize(2)
+                .allSatisfy(sale -> assertThat(sale.getUserId()).isEqualTo(5L));
+    }
+
+    @DisplayName("Should not touch the database when no item of the batch is valid")
+    @Test
+    void testCreateSales_WhenAllItemsInvalid_ShouldNotPersist() {
+        // When
+        SaleBatchResponse response = service.createSales(5L, List.of(new SaleRequest(null, null, 1)));
+
+        // Then
+        assertThat(response.created()).isZero();
+        assertThat(response.items()).singleElement()
+                .satisfies(item -> assertThat(item.status()).isEqualTo(400));
+        verify(productClient, never()).getProductsByIds(anyList());
+        verify(repository, never()).saveAll(anyList());
+    }
+
     @DisplayName("Given existing user with sales when listByUser then return list of SaleResponse")
     @Test
     void testGivenUserWithSales_WhenListByUser_ShouldReturnList() {
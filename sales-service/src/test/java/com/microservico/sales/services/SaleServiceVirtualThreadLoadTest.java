@@ -0,0 +1,126 @@
+package com.microservico.sales.services;
+
+import com.microservico.sales.clients.ProductCacheProperties;
+import com.microservico.sales.clients.ProductNearCache;
+import com.microservico.sales.clients.ReactiveProductClient;
+import com.microservico.sales.models.Sale;
+import com.microservico.sales.models.dtos.SaleRequest;
+import com.microservico.sales.repositories.SaleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Teste de carga do caminho bloqueante de {@code POST /sales} (Feign) com muitos clientes
+ * simultâneos e um product-service local lento: o pool de plataforma do Tomcat (200 threads)
+ * contra uma virtual thread por requisição, como em {@code spring.threads.virtual.enabled=true}.
+ * Fora do build padrão; execute com {@code mvn test -Dgroups=load -Dtests.excluded-groups=}.
+ */
+@Tag("load")
+class SaleServiceVirtualThreadLoadTest {
+
+    private static final Duration PRODUCT_LATENCY = Duration.ofMillis(50);
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int CONCURRENT_CLIENTS = 600;
+    private static final int SALES = 3_000;
+
+    private final SaleRepository repository = mock(SaleRepository.class, withSettings().stubOnly());
+
+    private DisposableServer productService;
+    private SaleService service;
+
+    @BeforeEach
+    void setUp() {
+        productService = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes.get("/products/{id}", (request, response) ->
+                        Mono.delay(PRODUCT_LATENCY).then(response.sendString(Mono.just("{}")).then())))
+                .bindNow();
+
+        given(repository.save(any(Sale.class))).willAnswer(invocation -> invocation.getArgument(0));
+        ProductNearCache uncached = new ProductNearCache(
+                new BlockingProductClient("http://127.0.0.1:" + productService.port()),
+                new ProductCacheProperties(false, 0, null, null, null), new SimpleMeterRegistry(), Runnable::run);
+        service = new SaleService(repository, uncached,
+                Validation.buildDefaultValidatorFactory().getValidator(), mock(ReactiveProductClient.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        productService.disposeNow();
+    }
+
+    @Test
+    @DisplayName("Virtual threads devem atender mais vendas por segundo que o pool de plataforma sob alta concorrência")
+    void virtualThreadsShouldOutperformPlatformPool() throws InterruptedException {
+        double platformRate;
+        try (ExecutorService platform = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS)) {
+            run(platform, 500);
+            platformRate = run(platform, SALES);
+        }
+
+        double virtualRate;
+        try (ExecutorService virtual = Executors.newVirtualThreadPerTaskExecutor()) {
+            run(virtual, 500);
+            virtualRate = run(virtual, SALES);
+        }
+
+        // Com o pool de plataforma, no máximo uma consulta ao produto em andamento por thread
+        assertThat(platformRate).isLessThanOrEqualTo(TOMCAT_MAX_THREADS * 1000.0 / PRODUCT_LATENCY.toMillis());
+        assertThat(virtualRate).isGreaterThan(platformRate * 2);
+    }
+
+    /**
+     * Cada cliente envia a próxima venda assim que recebe a resposta da anterior.
+     *
+     * @return vendas por segundo
+     */
+    private double run(ExecutorService requestThreads, int sales) throws InterruptedException {
+        Semaphore clients = new Semaphore(CONCURRENT_CLIENTS);
+        CountDownLatch done = new CountDownLatch(sales);
+        AtomicInteger failures = new AtomicInteger();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < sales; i++) {
+            clients.acquire();
+            SaleRequest request = new SaleRequest(1L + i, 7L, 1);
+            requestThreads.execute(() -> {
+                try {
+                    service.createSale(request);
+                } catch (RuntimeException e) {
+                    failures.incrementAndGet();
+                } finally {
+                    clients.release();
+                    done.countDown();
+                }
+            });
+        }
+        assertThat(done.await(60, TimeUnit.SECONDS)).isTrue();
+        double rate = sales * (double) TimeUnit.SECONDS.toNanos(1) / (System.nanoTime() - start);
+
+        assertThat(failures.get()).isZero();
+        return rate;
+    }
+}
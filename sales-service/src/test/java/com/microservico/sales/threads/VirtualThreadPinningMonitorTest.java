@@ -0,0 +1,60 @@
+package com.microservico.sales.threads;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(
+            new PinningMonitorProperties(Duration.ofMillis(10), 4, Duration.ofMinutes(1)), registry);
+
+    private final Object lock = new Object();
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    @DisplayName("Deve registrar virtual threads bloqueadas dentro de synchronized")
+    void shouldReportPinnedVirtualThreads() throws InterruptedException {
+        // A partir do JDK 24 (JEP 491) synchronized não prende mais a virtual thread à carrier
+        assumeTrue(Runtime.version().feature() < 24);
+
+        monitor.start();
+        assertThat(monitor.isRunning()).isTrue();
+
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                sleep(Duration.ofMillis(50));
+            }
+        }).join();
+
+        Timer pinned = registry.get("jvm.threads.virtual.pinned").timer();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pinned.count() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+
+        assertThat(pinned.count()).isGreaterThanOrEqualTo(1);
+        assertThat(pinned.max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(40);
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}